@@ -0,0 +1,73 @@
+package com.example.seatrans.features.auth.controller;
+
+import java.util.Map;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.seatrans.shared.dto.ApiResponse;
+import com.example.seatrans.shared.security.VerifiedTokenCache;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Admin Controller - Kill switch cho cache token đã verify (Internal)
+ * Tắt cache lúc runtime mà không cần restart; trạng thái khởi động lấy từ app.jwt.cache.enabled
+ */
+@RestController
+@RequestMapping("/api/v1/admin/token-cache")
+@RequiredArgsConstructor
+@PreAuthorize("hasAuthority('ROLE_ADMIN')")
+public class AdminTokenCacheController {
+
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    /**
+     * GET /api/v1/admin/token-cache
+     * Trạng thái cache (bật/tắt, số entry)
+     */
+    @GetMapping
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getStatus() {
+        return ResponseEntity.ok(ApiResponse.success(status()));
+    }
+
+    /**
+     * PUT /api/v1/admin/token-cache/enable
+     */
+    @PutMapping("/enable")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> enable() {
+        verifiedTokenCache.enable();
+        return ResponseEntity.ok(ApiResponse.success("Token cache enabled", status()));
+    }
+
+    /**
+     * PUT /api/v1/admin/token-cache/disable
+     * Mọi token được verify đầy đủ cho đến khi bật lại
+     */
+    @PutMapping("/disable")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> disable() {
+        verifiedTokenCache.disable();
+        return ResponseEntity.ok(ApiResponse.success("Token cache disabled", status()));
+    }
+
+    /**
+     * DELETE /api/v1/admin/token-cache
+     * Xóa toàn bộ entry, cache vẫn bật
+     */
+    @DeleteMapping
+    public ResponseEntity<ApiResponse<Map<String, Object>>> clear() {
+        verifiedTokenCache.invalidateAll();
+        return ResponseEntity.ok(ApiResponse.success("Token cache cleared", status()));
+    }
+
+    private Map<String, Object> status() {
+        return Map.of(
+            "enabled", verifiedTokenCache.isEnabled(),
+            "size", verifiedTokenCache.size());
+    }
+}
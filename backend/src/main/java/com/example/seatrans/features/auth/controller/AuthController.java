@@ -85,10 +85,14 @@ public class AuthController {
 
     /**
      * POST /api/auth/logout
-     * Đăng xuất (client removes token)
+     * Đăng xuất - thu hồi phiên của token (access và refresh token của phiên đều hết hiệu lực)
      */
     @PostMapping("/logout")
-    public ResponseEntity<ApiResponse<Void>> logout() {
+    public ResponseEntity<ApiResponse<Void>> logout(HttpServletRequest request) {
+        String authHeader = request.getHeader("Authorization");
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            authService.logout(authHeader.substring(7));
+        }
         return ResponseEntity.ok(ApiResponse.success("Logout successful", null));
     }
 
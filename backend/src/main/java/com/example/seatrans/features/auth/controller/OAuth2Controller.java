@@ -117,8 +117,9 @@ public class OAuth2Controller {
             User user = userService.findOrCreateOAuthUser(email, name, "google", googleId);
             
             // Generate JWT tokens
-            String jwtToken = tokenProvider.generateToken(user);
-            String refreshToken = tokenProvider.generateRefreshToken(user);
+            String familyId = tokenProvider.newTokenFamily();
+            String jwtToken = tokenProvider.generateToken(user, familyId);
+            String refreshToken = tokenProvider.generateRefreshToken(user, familyId);
             
             UserDTO userDTO = entityMapper.toUserDTO(user);
             
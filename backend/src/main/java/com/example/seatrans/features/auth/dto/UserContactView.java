@@ -0,0 +1,12 @@
+package com.example.seatrans.features.auth.dto;
+
+/**
+ * Slim projection of user contact fields (no role join)
+ */
+public interface UserContactView {
+    Long getId();
+    String getFullName();
+    String getEmail();
+    String getPhone();
+    String getCompany();
+}
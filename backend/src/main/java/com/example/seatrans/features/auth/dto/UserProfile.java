@@ -0,0 +1,27 @@
+package com.example.seatrans.features.auth.dto;
+
+import java.time.LocalDateTime;
+
+import com.example.seatrans.features.auth.model.enums.RoleGroup;
+
+import lombok.Value;
+
+/**
+ * Immutable snapshot of a user's profile and role, held by UserProfileCache
+ * Field order matches the JPQL constructor expressions in UserRepository
+ */
+@Value
+public class UserProfile implements UserContactView {
+    Long id;
+    String email;
+    String fullName;
+    String phone;
+    String company;
+    Boolean isActive;
+    LocalDateTime createdAt;
+    LocalDateTime updatedAt;
+    LocalDateTime lastLogin;
+    Long roleId;
+    String roleName;
+    RoleGroup roleGroup;
+}
@@ -48,7 +48,8 @@ public class User {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
-    @Column(name = "last_login")
+    // Written only by LastLoginRecorder (batched JDBC), so a stale entity save cannot roll it back
+    @Column(name = "last_login", updatable = false)
     private LocalDateTime lastLogin;
     
     // OAuth2 fields
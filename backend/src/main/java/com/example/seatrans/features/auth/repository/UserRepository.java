@@ -1,5 +1,6 @@
 package com.example.seatrans.features.auth.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -8,6 +9,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.example.seatrans.features.auth.dto.UserProfile;
 import com.example.seatrans.features.auth.model.User;
 import com.example.seatrans.features.auth.model.enums.RoleGroup;
 
@@ -41,4 +43,17 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Long countByRoleGroup(@Param("roleGroup") RoleGroup roleGroup);
 
     Long countByIsActiveTrue();
-}
\ No newline at end of file
+
+    String PROFILE_SELECT = "SELECT new com.example.seatrans.features.auth.dto.UserProfile("
+        + "u.id, u.email, u.fullName, u.phone, u.company, u.isActive, u.createdAt, u.updatedAt, u.lastLogin, "
+        + "r.id, r.name, r.roleGroup) FROM User u LEFT JOIN u.role r ";
+
+    @Query(PROFILE_SELECT + "WHERE u.id = :id")
+    Optional<UserProfile> findProfileById(@Param("id") Long id);
+
+    @Query(PROFILE_SELECT + "WHERE u.email = :email")
+    Optional<UserProfile> findProfileByEmail(@Param("email") String email);
+
+    @Query(PROFILE_SELECT + "WHERE u.id IN :ids")
+    List<UserProfile> findProfilesByIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -9,5 +9,6 @@ public interface AuthService {
     AuthResponseDTO login(LoginDTO loginDTO);
     AuthResponseDTO refreshToken(RefreshTokenRequest request);
     AuthResponseDTO register(RegisterDTO registerDTO);
+    void logout(String token);
     UserDTO getCurrentUser(String token);
 }
@@ -10,10 +10,12 @@ import com.example.seatrans.features.auth.dto.LoginDTO;
 import com.example.seatrans.features.auth.dto.RefreshTokenRequest;
 import com.example.seatrans.features.auth.dto.RegisterDTO;
 import com.example.seatrans.features.auth.dto.UserDTO;
+import com.example.seatrans.features.auth.model.RevokedToken;
 import com.example.seatrans.features.auth.model.User;
 import com.example.seatrans.features.auth.repository.UserRepository;
 import com.example.seatrans.shared.exception.UserNotFoundException;
 import com.example.seatrans.shared.mapper.EntityMapper;
+import com.example.seatrans.shared.security.TokenClaims;
 import com.example.seatrans.shared.security.TokenProvider;
 
 import lombok.RequiredArgsConstructor;
@@ -26,6 +28,8 @@ public class AuthServiceImpl implements AuthService {
     private final EntityMapper entityMapper;
     private final TokenProvider tokenProvider;
     private final UserService userService;
+    private final TokenRevocationService tokenRevocationService;
+    private final LastLoginRecorder lastLoginRecorder;
 
     @Override
     public AuthResponseDTO login(LoginDTO loginDTO) {
@@ -41,13 +45,22 @@ public class AuthServiceImpl implements AuthService {
             return null;
         }
 
-        user.setLastLogin(LocalDateTime.now());
-        userRepository.save(user);
+        // Stored with an older (lower) cost factor: rehash while the raw password is at hand
+        if (passwordEncoder.upgradeEncoding(user.getPassword())) {
+            user.setPassword(passwordEncoder.encode(loginDTO.getPassword()));
+            userRepository.save(user);
+        }
+
+        // Written behind (batched flush), login does not wait for the users UPDATE
+        LocalDateTime loginAt = LocalDateTime.now();
+        lastLoginRecorder.record(user.getId(), loginAt);
         
         UserDTO userDTO = entityMapper.toUserDTO(user);
+        userDTO.setLastLogin(loginAt);
 
-        String token = tokenProvider.generateToken(user);
-        String refreshToken = tokenProvider.generateRefreshToken(user);
+        String familyId = tokenProvider.newTokenFamily();
+        String token = tokenProvider.generateToken(user, familyId);
+        String refreshToken = tokenProvider.generateRefreshToken(user, familyId);
 
         AuthResponseDTO authResponse = AuthResponseDTO.builder()
                 .token(token)
@@ -63,20 +76,26 @@ public class AuthServiceImpl implements AuthService {
     public AuthResponseDTO refreshToken(RefreshTokenRequest request) {
         String refreshToken = request.getRefreshToken();
 
-        if (!tokenProvider.validateToken(refreshToken)) {
+        TokenClaims claims = tokenProvider.parseAndVerify(refreshToken).orElse(null);
+        if (claims == null || claims.userId() == null) {
             return null;
         }
-
-        Long userId = tokenProvider.getUserIdFromToken(refreshToken);
-        if (userId == null) {
+        // Access tokens cannot be exchanged; legacy tokens carry no type
+        if (claims.tokenType() != null && !claims.isRefreshToken()) {
             return null;
         }
-        
+        // Rotation: each refresh token is accepted once, reuse ends the session
+        if (!tokenRevocationService.rotate(claims, refreshToken)) {
+            return null;
+        }
+
+        Long userId = claims.userId();
         User user = userRepository.findById(userId)
             .orElseThrow(() -> new UserNotFoundException(userId));
 
-        String newToken = tokenProvider.generateToken(user);
-        String newRefreshToken = tokenProvider.generateRefreshToken(user);
+        String familyId = claims.familyId() != null ? claims.familyId() : tokenProvider.newTokenFamily();
+        String newToken = tokenProvider.generateToken(user, familyId);
+        String newRefreshToken = tokenProvider.generateRefreshToken(user, familyId);
 
         UserDTO userDTO = entityMapper.toUserDTO(user);
 
@@ -93,8 +112,9 @@ public class AuthServiceImpl implements AuthService {
         User createdUser = userService.registerOrUpgradeCustomer(registerDTO);
         UserDTO userDTO = entityMapper.toUserDTO(createdUser);
 
-        String token = tokenProvider.generateToken(createdUser);
-        String refreshToken = tokenProvider.generateRefreshToken(createdUser);
+        String familyId = tokenProvider.newTokenFamily();
+        String token = tokenProvider.generateToken(createdUser, familyId);
+        String refreshToken = tokenProvider.generateRefreshToken(createdUser, familyId);
 
         return AuthResponseDTO.builder()
                 .token(token)
@@ -104,16 +124,21 @@ public class AuthServiceImpl implements AuthService {
                 .build();
     }
     
+    @Override
+    public void logout(String token) {
+        tokenProvider.parseAndVerify(token)
+            .ifPresent(claims -> tokenRevocationService.revokeSession(claims, RevokedToken.Reason.LOGOUT));
+    }
+    
     @Override
     public UserDTO getCurrentUser(String token) {
-        if (!tokenProvider.validateToken(token)) {
+        Long userId = tokenProvider.parseAndVerify(token)
+            .orElseThrow(() -> new RuntimeException("Invalid or expired token"))
+            .userId();
+        if (userId == null) {
             throw new RuntimeException("Invalid or expired token");
         }
-
-        Long userId = tokenProvider.getUserIdFromToken(token);
-        User user = userRepository.findById(userId)
-            .orElseThrow(() -> new UserNotFoundException(userId));
         
-        return entityMapper.toUserDTO(user);
+        return entityMapper.toUserDTO(userService.getUserProfile(userId));
     }
 }
@@ -0,0 +1,121 @@
+package com.example.seatrans.features.auth.service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Write-behind buffer for users.last_login.
+ * Login only records the timestamp in memory; a periodic flush (and one on shutdown) writes all
+ * pending users with a single UPDATE ... SET last_login = CASE id ... per chunk, so logins never wait
+ * for a connection or a full-row update of the users table. Only the latest timestamp per user is kept.
+ */
+@Service
+@Slf4j
+public class LastLoginRecorder {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int chunkSize;
+
+    private final Map<Long, LocalDateTime> pending = new ConcurrentHashMap<>();
+
+    private final Counter flushedRows;
+    private final Counter failedFlushes;
+    private final Timer flushTimer;
+
+    public LastLoginRecorder(JdbcTemplate jdbcTemplate,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.auth.last-login.chunk-size:500}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.flushedRows = Counter.builder("auth.last_login.flushed")
+            .description("last_login values written by the write-behind flush").register(meterRegistry);
+        this.failedFlushes = Counter.builder("auth.last_login.flush.failures")
+            .description("last_login flushes that failed and were re-queued").register(meterRegistry);
+        this.flushTimer = Timer.builder("auth.last_login.flush")
+            .description("Duration of last_login flushes").register(meterRegistry);
+        Gauge.builder("auth.last_login.pending", pending, Map::size)
+            .description("Logins waiting to be written").register(meterRegistry);
+    }
+
+    /**
+     * Remember a login; written to the database on the next flush
+     */
+    public void record(Long userId, LocalDateTime loginAt) {
+        if (userId == null) {
+            return;
+        }
+        pending.merge(userId, loginAt, (current, next) -> next.isAfter(current) ? next : current);
+    }
+
+    @Scheduled(initialDelayString = "${app.auth.last-login.flush-interval-ms:10000}",
+               fixedDelayString = "${app.auth.last-login.flush-interval-ms:10000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        flushTimer.record(this::drain);
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+        if (!pending.isEmpty()) {
+            log.warn("{} last_login updates could not be written before shutdown", pending.size());
+        }
+    }
+
+    private synchronized void drain() {
+        List<Map.Entry<Long, LocalDateTime>> batch = new ArrayList<>(pending.size());
+        for (Map.Entry<Long, LocalDateTime> entry : pending.entrySet()) {
+            // Only take the value seen here; a newer login recorded meanwhile stays for the next flush
+            if (pending.remove(entry.getKey(), entry.getValue())) {
+                batch.add(Map.entry(entry.getKey(), entry.getValue()));
+            }
+        }
+
+        for (int from = 0; from < batch.size(); from += chunkSize) {
+            List<Map.Entry<Long, LocalDateTime>> chunk = batch.subList(from, Math.min(from + chunkSize, batch.size()));
+            try {
+                write(chunk);
+                flushedRows.increment(chunk.size());
+            } catch (RuntimeException e) {
+                failedFlushes.increment();
+                chunk.forEach(entry -> record(entry.getKey(), entry.getValue()));
+                log.warn("Failed to write {} last_login updates, will retry: {}", chunk.size(), e.getMessage());
+            }
+        }
+        log.debug("Flushed {} last_login updates", batch.size());
+    }
+
+    private void write(List<Map.Entry<Long, LocalDateTime>> chunk) {
+        StringBuilder sql = new StringBuilder("UPDATE users SET last_login = CASE id");
+        List<Object> args = new ArrayList<>(chunk.size() * 3);
+        for (Map.Entry<Long, LocalDateTime> entry : chunk) {
+            sql.append(" WHEN ? THEN ?");
+            args.add(entry.getKey());
+            args.add(Timestamp.valueOf(entry.getValue()));
+        }
+        sql.append(" ELSE last_login END WHERE id IN (")
+            .append(String.join(",", Collections.nCopies(chunk.size(), "?")))
+            .append(")");
+        chunk.forEach(entry -> args.add(entry.getKey()));
+        jdbcTemplate.update(sql.toString(), args.toArray());
+    }
+}
@@ -0,0 +1,234 @@
+package com.example.seatrans.features.auth.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.seatrans.features.auth.model.RevokedToken;
+import com.example.seatrans.features.auth.model.RevokedToken.Reason;
+import com.example.seatrans.features.auth.repository.RevokedTokenRepository;
+import com.example.seatrans.shared.security.TokenClaims;
+import com.example.seatrans.shared.security.VerifiedTokenCache;
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+import com.google.common.hash.Hashing;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Token revocation store (revoked_tokens) with an in-memory Bloom filter in front.
+ * Every authenticated request asks isRevoked(); when neither the jti nor the session id can be in the
+ * filter the answer is "not revoked" without touching the database. Only filter hits (revoked tokens and
+ * rare false positives) are confirmed against the table. The filter is rebuilt from the table on a
+ * schedule, so revocations made on other nodes are picked up within one refresh interval; revocations
+ * made on this node are visible immediately.
+ */
+@Service
+@Slf4j
+public class TokenRevocationService {
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final Duration refreshTokenLifetime;
+    private final Duration reuseGrace;
+    private final double falsePositiveRate;
+
+    /** Filter of all non-expired revoked ids; null until the first build (then every check goes to the DB) */
+    private volatile BloomFilter<CharSequence> snapshot;
+
+    /** Ids revoked on this node, re-applied to the next snapshots until a rebuild has surely seen them */
+    private final Map<String, Instant> localRevocations = new ConcurrentHashMap<>();
+    private volatile Instant previousRebuildStart = Instant.EPOCH;
+
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository,
+                                  VerifiedTokenCache verifiedTokenCache,
+                                  @Value("${app.jwt.refresh-expiration:604800000}") long refreshExpirationMs,
+                                  @Value("${app.jwt.revocation.reuse-grace-seconds:10}") long reuseGraceSeconds,
+                                  @Value("${app.jwt.revocation.false-positive-rate:0.001}") double falsePositiveRate) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.refreshTokenLifetime = Duration.ofMillis(refreshExpirationMs);
+        this.reuseGrace = Duration.ofSeconds(reuseGraceSeconds);
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    /**
+     * Whether the token itself or its login session has been revoked
+     */
+    public boolean isRevoked(TokenClaims claims) {
+        List<String> ids = new ArrayList<>(2);
+        if (claims.tokenId() != null) {
+            ids.add(claims.tokenId());
+        }
+        if (claims.familyId() != null) {
+            ids.add(claims.familyId());
+        }
+        if (ids.isEmpty()) {
+            // Legacy token without jti: cannot be revoked individually
+            return false;
+        }
+
+        BloomFilter<CharSequence> filter = snapshot;
+        if (filter != null && ids.stream().noneMatch(filter::mightContain)) {
+            return false;
+        }
+        if (ids.stream().anyMatch(localRevocations::containsKey)) {
+            return true;
+        }
+        return revokedTokenRepository.existsByTokenIdIn(ids);
+    }
+
+    /**
+     * Mark a refresh token as used. Returns false when it was already used or revoked; using an already
+     * rotated token again (outside the grace window for concurrent tabs) revokes the whole session.
+     * @param refreshToken the raw token, keys the record of legacy tokens issued without a jti
+     */
+    public boolean rotate(TokenClaims refreshClaims, String refreshToken) {
+        if (refreshClaims.tokenId() == null) {
+            // Legacy refresh token: recorded under its SHA-256 so it is exchanged exactly once,
+            // the replacement tokens carry a jti
+            try {
+                save(legacyTokenId(refreshToken), refreshClaims.userId(), Reason.ROTATED, expiryOf(refreshClaims));
+                return true;
+            } catch (DataIntegrityViolationException e) {
+                return false;
+            }
+        }
+        if (isRevoked(refreshClaims)) {
+            Optional<RevokedToken> existing = revokedTokenRepository.findByTokenId(refreshClaims.tokenId());
+            if (existing.isPresent()) {
+                handleReuse(refreshClaims, existing.get());
+            }
+            return false;
+        }
+        try {
+            save(refreshClaims.tokenId(), refreshClaims.userId(), Reason.ROTATED, expiryOf(refreshClaims));
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            // Used concurrently or earlier: the unique token_id decided the race
+            revokedTokenRepository.findByTokenId(refreshClaims.tokenId())
+                .ifPresent(existing -> handleReuse(refreshClaims, existing));
+            return false;
+        }
+    }
+
+    /**
+     * Revoke the login session of a token (logout): its access and refresh tokens stop working
+     */
+    public void revokeSession(TokenClaims claims, Reason reason) {
+        if (claims.familyId() != null) {
+            revokeQuietly(claims.familyId(), claims.userId(), reason,
+                LocalDateTime.now().plus(refreshTokenLifetime));
+        } else if (claims.tokenId() != null) {
+            revokeQuietly(claims.tokenId(), claims.userId(), reason, expiryOf(claims));
+        }
+    }
+
+    /**
+     * Rebuild the Bloom filter from the table so revocations from other nodes converge
+     */
+    @Scheduled(initialDelayString = "${app.jwt.revocation.refresh-interval-ms:30000}",
+               fixedDelayString = "${app.jwt.revocation.refresh-interval-ms:30000}")
+    public synchronized void rebuild() {
+        Instant start = Instant.now();
+        List<String> ids = revokedTokenRepository.findActiveTokenIds(LocalDateTime.now());
+        BloomFilter<CharSequence> filter = BloomFilter.create(
+            Funnels.stringFunnel(StandardCharsets.UTF_8),
+            Math.max(1024, (ids.size() + localRevocations.size()) * 2L),
+            falsePositiveRate);
+        ids.forEach(filter::put);
+        localRevocations.keySet().forEach(filter::put);
+        snapshot = filter;
+        // Revocations that landed in the old filter while this one was being built
+        localRevocations.keySet().forEach(filter::put);
+
+        // Rows committed before the previous rebuild started are in the table read above
+        Instant cutoff = previousRebuildStart;
+        localRevocations.values().removeIf(revokedAt -> revokedAt.isBefore(cutoff));
+        previousRebuildStart = start;
+        log.debug("Revocation filter rebuilt with {} ids", ids.size());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        rebuild();
+    }
+
+    @Scheduled(initialDelayString = "${app.jwt.revocation.purge-interval-ms:3600000}",
+               fixedDelayString = "${app.jwt.revocation.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        int purged = revokedTokenRepository.deleteExpired(LocalDateTime.now());
+        if (purged > 0) {
+            log.info("Purged {} expired token revocations", purged);
+        }
+    }
+
+    private void handleReuse(TokenClaims refreshClaims, RevokedToken existing) {
+        if (existing.getReason() != Reason.ROTATED || refreshClaims.familyId() == null) {
+            return;
+        }
+        if (existing.getRevokedAt() != null
+                && existing.getRevokedAt().plus(reuseGrace).isAfter(LocalDateTime.now())) {
+            // Two tabs refreshing at once: reject the loser without ending the session
+            return;
+        }
+        log.warn("Refresh token reuse detected for user {}, revoking session {}",
+            refreshClaims.userId(), refreshClaims.familyId());
+        revokeQuietly(refreshClaims.familyId(), refreshClaims.userId(), Reason.REUSE_DETECTED,
+            LocalDateTime.now().plus(refreshTokenLifetime));
+    }
+
+    private void revokeQuietly(String tokenId, Long userId, Reason reason, LocalDateTime expiresAt) {
+        try {
+            save(tokenId, userId, reason, expiresAt);
+        } catch (DataIntegrityViolationException e) {
+            // Already revoked
+            remember(tokenId);
+        }
+        // Session revoked (logout, reuse detected): its tokens must not be answered from the cache
+        verifiedTokenCache.invalidateUser(userId);
+    }
+
+    private void save(String tokenId, Long userId, Reason reason, LocalDateTime expiresAt) {
+        revokedTokenRepository.saveAndFlush(RevokedToken.builder()
+            .tokenId(tokenId)
+            .userId(userId)
+            .reason(reason)
+            .expiresAt(expiresAt)
+            .build());
+        remember(tokenId);
+    }
+
+    private void remember(String tokenId) {
+        localRevocations.put(tokenId, Instant.now());
+        BloomFilter<CharSequence> filter = snapshot;
+        if (filter != null) {
+            filter.put(tokenId);
+        }
+    }
+
+    /** 64 hex chars, the width of token_id */
+    private static String legacyTokenId(String refreshToken) {
+        return Hashing.sha256().hashString(refreshToken, StandardCharsets.UTF_8).toString();
+    }
+
+    private static LocalDateTime expiryOf(TokenClaims claims) {
+        return claims.expiresAt() != null
+            ? LocalDateTime.ofInstant(claims.expiresAt(), ZoneId.systemDefault())
+            : LocalDateTime.now().plusDays(1);
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.seatrans.features.auth.service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.seatrans.features.auth.dto.UserProfile;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalNotification;
+
+/**
+ * Short-lived, size-bounded cache of user profile snapshots, looked up by id or email
+ * (Guava cache: concurrent, no global lock).
+ * Entries expire after the TTL; UserService invalidates a user explicitly whenever it changes
+ * profile fields, role, status or deletes the user.
+ */
+@Component
+public class UserProfileCache {
+
+    /** user id -> snapshot; size-bounded (approximate LRU) and expired after the TTL */
+    private final Cache<Long, UserProfile> byId;
+    /** lower-cased email -> user id; pruned when the id entry is removed, checked against it on lookup */
+    private final Map<String, Long> byEmail = new ConcurrentHashMap<>();
+
+    public UserProfileCache(@Value("${app.auth.profile-cache.max-entries:10000}") int maxEntries,
+                            @Value("${app.auth.profile-cache.ttl-seconds:60}") long ttlSeconds) {
+        this.byId = CacheBuilder.newBuilder()
+            .maximumSize(Math.max(1, maxEntries))
+            .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+            .removalListener(this::onRemoval)
+            .build();
+    }
+
+    public Optional<UserProfile> get(Long userId) {
+        return Optional.ofNullable(byId.getIfPresent(userId));
+    }
+
+    public Optional<UserProfile> getByEmail(String email) {
+        String key = normalize(email);
+        Long userId = key != null ? byEmail.get(key) : null;
+        if (userId == null) {
+            return Optional.empty();
+        }
+        // The mapping may outlive a concurrent email change for a moment
+        return get(userId).filter(profile -> key.equals(normalize(profile.getEmail())));
+    }
+
+    public void put(UserProfile profile) {
+        if (profile == null || profile.getId() == null) {
+            return;
+        }
+        // A replaced entry drops its old email mapping through the removal listener
+        byId.put(profile.getId(), profile);
+        if (profile.getEmail() != null) {
+            byEmail.put(normalize(profile.getEmail()), profile.getId());
+        }
+    }
+
+    public void putAll(Collection<UserProfile> profiles) {
+        profiles.forEach(this::put);
+    }
+
+    public void invalidate(Long userId) {
+        byId.invalidate(userId);
+    }
+
+    public void invalidateAll() {
+        byId.invalidateAll();
+        byEmail.clear();
+    }
+
+    private void onRemoval(RemovalNotification<Long, UserProfile> removal) {
+        UserProfile profile = removal.getValue();
+        if (profile != null && profile.getEmail() != null) {
+            byEmail.remove(normalize(profile.getEmail()), removal.getKey());
+        }
+    }
+
+    private static String normalize(String email) {
+        return email != null ? email.toLowerCase() : null;
+    }
+}
@@ -1,15 +1,25 @@
 package com.example.seatrans.features.auth.service;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import com.example.seatrans.features.auth.dto.RegisterDTO;
+import com.example.seatrans.features.auth.dto.UserContactView;
+import com.example.seatrans.features.auth.dto.UserProfile;
 import com.example.seatrans.features.auth.model.Role;
 import com.example.seatrans.features.auth.model.User;
 import com.example.seatrans.features.auth.repository.RoleRepository;
@@ -18,6 +28,7 @@ import com.example.seatrans.shared.exception.DuplicateUserException;
 import com.example.seatrans.shared.exception.RoleGroupConflictException;
 import com.example.seatrans.shared.exception.RoleNotFoundException;
 import com.example.seatrans.shared.exception.UserNotFoundException;
+import com.example.seatrans.shared.security.VerifiedTokenCache;
 
 import lombok.RequiredArgsConstructor;
 
@@ -31,6 +42,8 @@ public class UserService {
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UserProfileCache userProfileCache;
+    private final VerifiedTokenCache verifiedTokenCache;
 
     /**
      * Register external user or upgrade guest account to customer.
@@ -59,6 +72,7 @@ public class UserService {
             existing.setCompany(dto.getCompany());
             existing.setPassword(passwordEncoder.encode(dto.getPassword()));
             existing.setRole(customerRole);
+            invalidateProfile(existing.getId());
             return userRepository.save(existing);
         }
 
@@ -84,6 +98,45 @@ public class UserService {
             .orElseThrow(() -> new UserNotFoundException("email", email));
     }
     
+    /**
+     * Profile snapshot (with role) of a user, served from UserProfileCache when possible
+     */
+    @Transactional(readOnly = true)
+    public UserProfile getUserProfile(Long id) {
+        return userProfileCache.get(id)
+            .or(() -> userRepository.findProfileById(id).map(this::cache))
+            .orElseThrow(() -> new UserNotFoundException(id));
+    }
+
+    @Transactional(readOnly = true)
+    public UserProfile getUserProfileByEmail(String email) {
+        return userProfileCache.getByEmail(email)
+            .or(() -> userRepository.findProfileByEmail(email).map(this::cache))
+            .orElseThrow(() -> new UserNotFoundException("email", email));
+    }
+    
+    /**
+     * Load contact fields for many users, keyed by user id; only users missing from the cache are queried (one query)
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, UserContactView> getUserContacts(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, UserContactView> contacts = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long id : ids) {
+            userProfileCache.get(id).ifPresentOrElse(profile -> contacts.put(id, profile), () -> missing.add(id));
+        }
+        if (!missing.isEmpty()) {
+            List<UserProfile> loaded = userRepository.findProfilesByIdIn(missing);
+            userProfileCache.putAll(loaded);
+            contacts.putAll(loaded.stream()
+                .collect(Collectors.toMap(UserProfile::getId, Function.identity(), (a, b) -> a)));
+        }
+        return contacts;
+    }
+    
     @Transactional(readOnly = true)
     public List<User> getAllUsers() {
         return userRepository.findAll();
@@ -116,6 +169,7 @@ public class UserService {
             existingUser.setEmail(updatedUser.getEmail());
         }
         
+        invalidateProfile(userId);
         return userRepository.save(existingUser);
     }
     
@@ -128,6 +182,8 @@ public class UserService {
 
         validateRoleAssignment(user, role);
         user.setRole(role);
+        invalidateProfile(userId);
+        invalidateTokens(userId);
         return userRepository.save(user);
     }
     
@@ -136,12 +192,15 @@ public class UserService {
     public User activateUser(Long userId) {
         User user = getUserById(userId);
         user.setIsActive(true);
+        invalidateProfile(userId);
         return userRepository.save(user);
     }
     
     public User deactivateUser(Long userId) {
         User user = getUserById(userId);
         user.setIsActive(false);
+        invalidateProfile(userId);
+        invalidateTokens(userId);
         return userRepository.save(user);
     }
     
@@ -149,6 +208,8 @@ public class UserService {
 
     public void deleteUser(Long userId) {
         User user = getUserById(userId);
+        invalidateProfile(userId);
+        invalidateTokens(userId);
         userRepository.delete(user);
     }
     
@@ -160,6 +221,17 @@ public class UserService {
         }
     }
 
+    @Transactional(readOnly = true)
+    public boolean isProfileComplete(UserProfile profile) {
+        if (profile == null) {
+            return false;
+        }
+        return isNotBlank(profile.getFullName())
+                && isNotBlank(profile.getCompany())
+                && isNotBlank(profile.getEmail())
+                && isNotBlank(profile.getPhone());
+    }
+
     @Transactional(readOnly = true)
     public boolean isProfileComplete(User user) {
         if (user == null) {
@@ -174,6 +246,42 @@ public class UserService {
     private boolean isNotBlank(String value) {
         return value != null && !value.trim().isEmpty();
     }
+
+    private UserProfile cache(UserProfile profile) {
+        userProfileCache.put(profile);
+        return profile;
+    }
+
+    /**
+     * Drop the cached snapshot now and again after commit, so a read racing the transaction cannot re-cache old data
+     */
+    private void invalidateProfile(Long userId) {
+        userProfileCache.invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    userProfileCache.invalidate(userId);
+                }
+            });
+        }
+    }
+
+    /**
+     * Drop the user's verified tokens after commit, so the next request goes through full verification
+     */
+    private void invalidateTokens(Long userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    verifiedTokenCache.invalidateUser(userId);
+                }
+            });
+        } else {
+            verifiedTokenCache.invalidateUser(userId);
+        }
+    }
     
     /**
      * Validate assigning a role to a user for single-role model.
@@ -208,6 +316,7 @@ public class UserService {
             user.setOauthProvider(provider);
             user.setOauthProviderId(providerId);
             user.setEmailVerified(true);
+            invalidateProfile(user.getId());
             return userRepository.save(user);
         }
         
@@ -0,0 +1,104 @@
+package com.example.seatrans.features.fees.controller;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.seatrans.features.fees.dto.CreateFeeConfigurationRequest;
+import com.example.seatrans.features.fees.dto.FeeConfigurationDTO;
+import com.example.seatrans.features.fees.dto.QuoteRecomputeStatus;
+import com.example.seatrans.features.fees.service.FeeConfigurationService;
+import com.example.seatrans.features.fees.service.QuoteRecomputeService;
+import com.example.seatrans.shared.dto.ApiResponse;
+
+/**
+ * Admin management of the fee schedule. Errors (duplicate code, not found, invalid formula)
+ * are mapped by GlobalExceptionHandler; InvalidFormulaException has its own handler (400).
+ */
+@RestController
+@RequestMapping("/api/v1/admin/fee-configurations")
+@PreAuthorize("hasAnyAuthority('ROLE_ADMIN','ROLE_EMPLOYEE','ROLE_INTERNAL')")
+public class FeeConfigurationController {
+
+    @Autowired
+    private FeeConfigurationService feeConfigurationService;
+
+    @Autowired
+    private QuoteRecomputeService quoteRecomputeService;
+
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<FeeConfigurationDTO>>> getAll() {
+        return ResponseEntity.ok(ApiResponse.success("Fee configurations retrieved successfully",
+                feeConfigurationService.getAll()));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ApiResponse<FeeConfigurationDTO>> getById(@PathVariable Long id) {
+        return ResponseEntity.ok(ApiResponse.success("Fee configuration retrieved successfully",
+                feeConfigurationService.getById(id)));
+    }
+
+    @PostMapping
+    public ResponseEntity<ApiResponse<FeeConfigurationDTO>> create(@RequestBody CreateFeeConfigurationRequest request) {
+        FeeConfigurationDTO fee = feeConfigurationService.create(request);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success("Fee configuration created successfully", fee));
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<ApiResponse<FeeConfigurationDTO>> update(
+            @PathVariable Long id,
+            @RequestBody CreateFeeConfigurationRequest request) {
+        return ResponseEntity.ok(ApiResponse.success("Fee configuration updated successfully",
+                feeConfigurationService.update(id, request)));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<ApiResponse<Void>> delete(@PathVariable Long id) {
+        feeConfigurationService.delete(id);
+        return ResponseEntity.ok(ApiResponse.success("Fee configuration deleted successfully", null));
+    }
+
+    /**
+     * Check a formula without saving it; returns the inputs it references
+     */
+    @PostMapping("/validate")
+    public ResponseEntity<ApiResponse<List<String>>> validate(@RequestBody ValidateFormulaRequest request) {
+        return ResponseEntity.ok(ApiResponse.success("Formula is valid",
+                feeConfigurationService.validate(request.formula())));
+    }
+
+    /**
+     * Re-quote every PROCESSING shipping agency inquiry with the current fee schedule (runs in background)
+     */
+    @PostMapping("/recompute-quotes")
+    public ResponseEntity<ApiResponse<QuoteRecomputeStatus>> recomputeQuotes() {
+        try {
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(ApiResponse.success("Quote recomputation started", quoteRecomputeService.start()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @GetMapping("/recompute-quotes")
+    public ResponseEntity<ApiResponse<QuoteRecomputeStatus>> recomputeQuotesStatus() {
+        return quoteRecomputeService.status()
+                .map(status -> ResponseEntity.ok(ApiResponse.success("Quote recomputation status", status)))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(ApiResponse.error("No quote recomputation has been started")));
+    }
+
+    public record ValidateFormulaRequest(String formula) {}
+}
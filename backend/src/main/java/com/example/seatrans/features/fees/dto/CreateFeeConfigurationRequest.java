@@ -0,0 +1,20 @@
+package com.example.seatrans.features.fees.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreateFeeConfigurationRequest {
+    private String code;
+    private String name;
+    private String details;
+    private String serviceType;
+    private String port;
+    private String formula;
+    private String conditionFormula;
+    private Integer displayOrder;
+    private Boolean isActive;
+}
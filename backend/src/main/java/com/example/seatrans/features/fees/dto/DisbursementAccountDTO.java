@@ -0,0 +1,48 @@
+package com.example.seatrans.features.fees.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Proforma disbursement account computed server-side for a shipping agency inquiry
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DisbursementAccountDTO {
+    private Long inquiryId;
+    private String currency;
+    /** Tariff the account was priced with; null when no tariff covers the port of call */
+    private String tariffPort;
+    private List<Line> lines;
+    private BigDecimal total;
+    /**
+     * True when the account could not be fully computed: the port of call has no tariff,
+     * an input (e.g. GRT) is missing or a formula failed
+     */
+    private boolean incomplete;
+    private long scheduleVersion;
+    private LocalDateTime calculatedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Line {
+        private String code;
+        private String name;
+        private String details;
+        private BigDecimal amount;
+        /** Name of the missing input when amount could not be computed */
+        private String missing;
+        /** Evaluation error (e.g. division by zero) when amount could not be computed */
+        private String error;
+    }
+}
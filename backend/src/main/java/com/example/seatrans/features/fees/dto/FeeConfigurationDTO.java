@@ -0,0 +1,46 @@
+package com.example.seatrans.features.fees.dto;
+
+import java.time.LocalDateTime;
+
+import com.example.seatrans.features.fees.model.FeeConfiguration;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FeeConfigurationDTO {
+    private Long id;
+    private String code;
+    private String name;
+    private String details;
+    private String serviceType;
+    private String port;
+    private String formula;
+    private String conditionFormula;
+    private Integer displayOrder;
+    private Boolean isActive;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    public static FeeConfigurationDTO from(FeeConfiguration fee) {
+        return FeeConfigurationDTO.builder()
+            .id(fee.getId())
+            .code(fee.getCode())
+            .name(fee.getName())
+            .details(fee.getDetails())
+            .serviceType(fee.getServiceType())
+            .port(fee.getPort())
+            .formula(fee.getFormula())
+            .conditionFormula(fee.getConditionFormula())
+            .displayOrder(fee.getDisplayOrder())
+            .isActive(fee.getIsActive())
+            .createdAt(fee.getCreatedAt())
+            .updatedAt(fee.getUpdatedAt())
+            .build();
+    }
+}
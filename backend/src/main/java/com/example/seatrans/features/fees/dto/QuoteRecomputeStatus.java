@@ -0,0 +1,29 @@
+package com.example.seatrans.features.fees.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress snapshot of a bulk re-quote job
+ */
+public record QuoteRecomputeStatus(
+        String jobId,
+        State state,
+        long scheduleVersion,
+        long total,
+        long processed,
+        long incomplete,
+        long failed,
+        /** Inquiries not overwritten because they changed (edit, status, newer quote) after being read */
+        long skipped,
+        double percent,
+        double ratePerSecond,
+        LocalDateTime startedAt,
+        LocalDateTime finishedAt,
+        String error) {
+
+    public enum State {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.seatrans.features.fees.formula;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A compiled, immutable and thread-safe fee formula
+ */
+public record Formula(String source, FormulaNode root, Set<String> variables) {
+
+    public BigDecimal evaluate(Map<String, BigDecimal> values) {
+        return root.eval(values);
+    }
+
+    public boolean test(Map<String, BigDecimal> values) {
+        return FormulaNode.truthy(root.eval(values));
+    }
+}
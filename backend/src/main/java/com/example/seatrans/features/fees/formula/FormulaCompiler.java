@@ -0,0 +1,56 @@
+package com.example.seatrans.features.fees.formula;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+import com.example.seatrans.shared.exception.InvalidFormulaException;
+
+/**
+ * Compiles fee formulas into evaluator trees. Each distinct source text is parsed once;
+ * afterwards evaluation only walks the cached tree.
+ */
+@Component
+public class FormulaCompiler {
+
+    /**
+     * Inputs a disbursement formula may reference (see DisbursementCalculator)
+     */
+    public static final Set<String> VARIABLES = Set.of(
+        "dwt", "grt", "loa", "cargoQuantity",
+        "berthHours", "anchorageHours", "pilotage3rdMiles",
+        "boatHireAmount", "tallyFeeAmount", "transportQuarantine",
+        "anchorage");
+
+    private final Map<String, Formula> cache = new ConcurrentHashMap<>();
+
+    /**
+     * Compile (or fetch from cache) a formula
+     * @throws InvalidFormulaException on syntax errors, unknown variables or functions
+     */
+    public Formula compile(String source) {
+        if (source == null) {
+            throw new InvalidFormulaException("Formula must not be empty");
+        }
+        String key = source.strip();
+        Formula cached = cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        // Parse outside computeIfAbsent so an invalid formula is never cached
+        FormulaNode root = new FormulaParser(key, VARIABLES).parse();
+        Set<String> variables = new LinkedHashSet<>();
+        root.collectVariables(variables);
+        Formula formula = new Formula(key, root, Collections.unmodifiableSet(variables));
+        Formula previous = cache.putIfAbsent(key, formula);
+        return previous != null ? previous : formula;
+    }
+
+    public int cacheSize() {
+        return cache.size();
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.seatrans.features.fees.formula;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Node of a compiled fee formula. Evaluation walks the tree; no parsing happens at evaluation time.
+ * Booleans are represented as 1 / 0.
+ */
+public sealed interface FormulaNode {
+
+    MathContext MATH = MathContext.DECIMAL64;
+
+    BigDecimal eval(Map<String, BigDecimal> variables);
+
+    /**
+     * Variable names referenced by this subtree
+     */
+    void collectVariables(Set<String> into);
+
+    static BigDecimal bool(boolean value) {
+        return value ? BigDecimal.ONE : BigDecimal.ZERO;
+    }
+
+    static boolean truthy(BigDecimal value) {
+        return value.signum() != 0;
+    }
+
+    record Constant(BigDecimal value) implements FormulaNode {
+        @Override
+        public BigDecimal eval(Map<String, BigDecimal> variables) {
+            return value;
+        }
+
+        @Override
+        public void collectVariables(Set<String> into) {
+        }
+    }
+
+    record Variable(String name) implements FormulaNode {
+        @Override
+        public BigDecimal eval(Map<String, BigDecimal> variables) {
+            BigDecimal value = variables.get(name);
+            if (value == null) {
+                throw new MissingVariableException(name);
+            }
+            return value;
+        }
+
+        @Override
+        public void collectVariables(Set<String> into) {
+            into.add(name);
+        }
+    }
+
+    record Unary(char op, FormulaNode operand) implements FormulaNode {
+        @Override
+        public BigDecimal eval(Map<String, BigDecimal> variables) {
+            BigDecimal value = operand.eval(variables);
+            return op == '-' ? value.negate() : bool(!truthy(value));
+        }
+
+        @Override
+        public void collectVariables(Set<String> into) {
+            operand.collectVariables(into);
+        }
+    }
+
+    record Binary(String op, FormulaNode left, FormulaNode right) implements FormulaNode {
+        @Override
+        public BigDecimal eval(Map<String, BigDecimal> variables) {
+            // Short-circuit logical operators
+            if ("&&".equals(op)) {
+                return bool(truthy(left.eval(variables)) && truthy(right.eval(variables)));
+            }
+            if ("||".equals(op)) {
+                return bool(truthy(left.eval(variables)) || truthy(right.eval(variables)));
+            }
+            return apply(op, left.eval(variables), right.eval(variables));
+        }
+
+        static BigDecimal apply(String op, BigDecimal a, BigDecimal b) {
+            return switch (op) {
+                case "+" -> a.add(b);
+                case "-" -> a.subtract(b);
+                case "*" -> a.multiply(b);
+                case "/" -> a.divide(b, MATH);
+                case "%" -> a.remainder(b, MATH);
+                case "<" -> bool(a.compareTo(b) < 0);
+                case "<=" -> bool(a.compareTo(b) <= 0);
+                case ">" -> bool(a.compareTo(b) > 0);
+                case ">=" -> bool(a.compareTo(b) >= 0);
+                case "==" -> bool(a.compareTo(b) == 0);
+                case "!=" -> bool(a.compareTo(b) != 0);
+                case "&&" -> bool(truthy(a) && truthy(b));
+                case "||" -> bool(truthy(a) || truthy(b));
+                default -> throw new IllegalStateException("Unknown operator " + op);
+            };
+        }
+
+        @Override
+        public void collectVariables(Set<String> into) {
+            left.collectVariables(into);
+            right.collectVariables(into);
+        }
+    }
+
+    record Conditional(FormulaNode condition, FormulaNode whenTrue, FormulaNode whenFalse) implements FormulaNode {
+        @Override
+        public BigDecimal eval(Map<String, BigDecimal> variables) {
+            return truthy(condition.eval(variables)) ? whenTrue.eval(variables) : whenFalse.eval(variables);
+        }
+
+        @Override
+        public void collectVariables(Set<String> into) {
+            condition.collectVariables(into);
+            whenTrue.collectVariables(into);
+            whenFalse.collectVariables(into);
+        }
+    }
+
+    record Call(String function, List<FormulaNode> args) implements FormulaNode {
+        @Override
+        public BigDecimal eval(Map<String, BigDecimal> variables) {
+            BigDecimal[] values = new BigDecimal[args.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = args.get(i).eval(variables);
+            }
+            return apply(function, values);
+        }
+
+        static BigDecimal apply(String function, BigDecimal[] v) {
+            return switch (function) {
+                case "min" -> v[0].min(v[1]);
+                case "max" -> v[0].max(v[1]);
+                case "abs" -> v[0].abs();
+                case "ceil" -> v[0].setScale(0, RoundingMode.CEILING);
+                case "floor" -> v[0].setScale(0, RoundingMode.FLOOR);
+                case "round" -> v[0].setScale(v.length > 1 ? v[1].intValue() : 0, RoundingMode.HALF_UP);
+                default -> throw new IllegalStateException("Unknown function " + function);
+            };
+        }
+
+        @Override
+        public void collectVariables(Set<String> into) {
+            args.forEach(arg -> arg.collectVariables(into));
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package com.example.seatrans.features.fees.formula;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.example.seatrans.shared.exception.InvalidFormulaException;
+
+/**
+ * Recursive-descent parser for fee formulas.
+ *
+ * Grammar (lowest to highest precedence):
+ *   ternary    := or ('?' ternary ':' ternary)?
+ *   or         := and ('||' and)*
+ *   and        := comparison ('&&' comparison)*
+ *   comparison := additive (('<' | '<=' | '>' | '>=' | '==' | '!=') additive)?
+ *   additive   := term (('+' | '-') term)*
+ *   term       := unary (('*' | '/' | '%') unary)*
+ *   unary      := ('-' | '!') unary | primary
+ *   primary    := number | identifier | function '(' args ')' | '(' ternary ')'
+ *
+ * Sub-expressions made only of constants are folded at parse time.
+ */
+final class FormulaParser {
+
+    /** function name -> {min arity, max arity} */
+    private static final Map<String, int[]> FUNCTIONS = Map.of(
+        "min", new int[] {2, 2},
+        "max", new int[] {2, 2},
+        "abs", new int[] {1, 1},
+        "ceil", new int[] {1, 1},
+        "floor", new int[] {1, 1},
+        "round", new int[] {1, 2});
+
+    private final String source;
+    private final Set<String> allowedVariables;
+    private int pos;
+
+    FormulaParser(String source, Set<String> allowedVariables) {
+        this.source = source;
+        this.allowedVariables = allowedVariables;
+    }
+
+    FormulaNode parse() {
+        if (source == null || source.isBlank()) {
+            throw new InvalidFormulaException("Formula must not be empty");
+        }
+        FormulaNode node = ternary();
+        skipWhitespace();
+        if (pos < source.length()) {
+            throw error("Unexpected '" + source.charAt(pos) + "'");
+        }
+        return node;
+    }
+
+    private FormulaNode ternary() {
+        FormulaNode condition = or();
+        if (!match("?")) {
+            return condition;
+        }
+        FormulaNode whenTrue = ternary();
+        expect(":");
+        FormulaNode whenFalse = ternary();
+        if (condition instanceof FormulaNode.Constant constant) {
+            return FormulaNode.truthy(constant.value()) ? whenTrue : whenFalse;
+        }
+        return new FormulaNode.Conditional(condition, whenTrue, whenFalse);
+    }
+
+    private FormulaNode or() {
+        FormulaNode left = and();
+        while (match("||")) {
+            left = binary("||", left, and());
+        }
+        return left;
+    }
+
+    private FormulaNode and() {
+        FormulaNode left = comparison();
+        while (match("&&")) {
+            left = binary("&&", left, comparison());
+        }
+        return left;
+    }
+
+    private FormulaNode comparison() {
+        FormulaNode left = additive();
+        for (String op : new String[] {"<=", ">=", "==", "!=", "<", ">"}) {
+            if (match(op)) {
+                return binary(op, left, additive());
+            }
+        }
+        return left;
+    }
+
+    private FormulaNode additive() {
+        FormulaNode left = term();
+        while (true) {
+            if (match("+")) {
+                left = binary("+", left, term());
+            } else if (match("-")) {
+                left = binary("-", left, term());
+            } else {
+                return left;
+            }
+        }
+    }
+
+    private FormulaNode term() {
+        FormulaNode left = unary();
+        while (true) {
+            if (match("*")) {
+                left = binary("*", left, unary());
+            } else if (match("/")) {
+                left = binary("/", left, unary());
+            } else if (match("%")) {
+                left = binary("%", left, unary());
+            } else {
+                return left;
+            }
+        }
+    }
+
+    private FormulaNode unary() {
+        if (match("-")) {
+            return fold(new FormulaNode.Unary('-', unary()));
+        }
+        if (peek() == '!' && !lookingAt("!=")) {
+            pos++;
+            return fold(new FormulaNode.Unary('!', unary()));
+        }
+        return primary();
+    }
+
+    private FormulaNode primary() {
+        skipWhitespace();
+        if (pos >= source.length()) {
+            throw error("Unexpected end of formula");
+        }
+        char c = source.charAt(pos);
+        if (c == '(') {
+            pos++;
+            FormulaNode inner = ternary();
+            expect(")");
+            return inner;
+        }
+        if (Character.isDigit(c) || c == '.') {
+            return number();
+        }
+        if (Character.isLetter(c) || c == '_') {
+            String name = identifier();
+            if (match("(")) {
+                return call(name);
+            }
+            if (!allowedVariables.contains(name)) {
+                throw error("Unknown variable '" + name + "'");
+            }
+            return new FormulaNode.Variable(name);
+        }
+        throw error("Unexpected '" + c + "'");
+    }
+
+    private FormulaNode call(String name) {
+        int[] arity = FUNCTIONS.get(name);
+        if (arity == null) {
+            throw error("Unknown function '" + name + "'");
+        }
+        List<FormulaNode> args = new ArrayList<>();
+        if (!match(")")) {
+            do {
+                args.add(ternary());
+            } while (match(","));
+            expect(")");
+        }
+        if (args.size() < arity[0] || args.size() > arity[1]) {
+            throw error("Function '" + name + "' takes " + (arity[0] == arity[1]
+                ? String.valueOf(arity[0]) : arity[0] + "-" + arity[1]) + " argument(s)");
+        }
+        return fold(new FormulaNode.Call(name, List.copyOf(args)));
+    }
+
+    private FormulaNode number() {
+        int start = pos;
+        while (pos < source.length() && (Character.isDigit(source.charAt(pos)) || source.charAt(pos) == '.')) {
+            pos++;
+        }
+        try {
+            return new FormulaNode.Constant(new BigDecimal(source.substring(start, pos)));
+        } catch (NumberFormatException e) {
+            throw error("Invalid number '" + source.substring(start, pos) + "'");
+        }
+    }
+
+    private String identifier() {
+        int start = pos;
+        while (pos < source.length() && (Character.isLetterOrDigit(source.charAt(pos)) || source.charAt(pos) == '_')) {
+            pos++;
+        }
+        return source.substring(start, pos);
+    }
+
+    private FormulaNode binary(String op, FormulaNode left, FormulaNode right) {
+        return fold(new FormulaNode.Binary(op, left, right));
+    }
+
+    /**
+     * Replace a node whose inputs are all constants with its value
+     */
+    private FormulaNode fold(FormulaNode node) {
+        boolean constant = switch (node) {
+            case FormulaNode.Unary u -> u.operand() instanceof FormulaNode.Constant;
+            case FormulaNode.Binary b -> b.left() instanceof FormulaNode.Constant && b.right() instanceof FormulaNode.Constant;
+            case FormulaNode.Call c -> c.args().stream().allMatch(FormulaNode.Constant.class::isInstance);
+            default -> false;
+        };
+        if (!constant) {
+            return node;
+        }
+        try {
+            return new FormulaNode.Constant(node.eval(Map.of()));
+        } catch (ArithmeticException e) {
+            throw error("Arithmetic error: " + e.getMessage());
+        }
+    }
+
+    private boolean match(String token) {
+        skipWhitespace();
+        if (lookingAt(token)) {
+            // Do not split "<=" / "&&" etc. into a shorter token
+            if (token.length() == 1 && "<>=!".indexOf(token.charAt(0)) >= 0 && lookingAt(token + "=")) {
+                return false;
+            }
+            pos += token.length();
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(String token) {
+        if (!match(token)) {
+            throw error("Expected '" + token + "'");
+        }
+    }
+
+    private boolean lookingAt(String token) {
+        return source.startsWith(token, pos);
+    }
+
+    private char peek() {
+        skipWhitespace();
+        return pos < source.length() ? source.charAt(pos) : '\0';
+    }
+
+    private void skipWhitespace() {
+        while (pos < source.length() && Character.isWhitespace(source.charAt(pos))) {
+            pos++;
+        }
+    }
+
+    private InvalidFormulaException error(String message) {
+        return new InvalidFormulaException(message + " at position " + pos + " in formula: " + source);
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.seatrans.features.fees.formula;
+
+/**
+ * Thrown at evaluation time when an input the formula needs is not available (e.g. GRT not provided)
+ */
+public class MissingVariableException extends RuntimeException {
+
+    private final String variable;
+
+    public MissingVariableException(String variable) {
+        super("Missing value for '" + variable + "'");
+        this.variable = variable;
+    }
+
+    public String getVariable() {
+        return variable;
+    }
+}
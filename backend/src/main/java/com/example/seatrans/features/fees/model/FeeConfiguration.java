@@ -0,0 +1,94 @@
+package com.example.seatrans.features.fees.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One line of a port disbursement account.
+ * formula / conditionFormula are evaluated by the fee formula engine against the inquiry's vessel data.
+ */
+@Entity
+@Table(name = "fee_configurations", indexes = {
+    @Index(name = "idx_fee_service_port_active_order", columnList = "service_type, port, is_active, display_order")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FeeConfiguration {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true, length = 50)
+    private String code;
+
+    @Column(nullable = false, length = 150)
+    private String name;
+
+    @Column(length = 255)
+    private String details;
+
+    @Column(name = "service_type", nullable = false, length = 50)
+    @Builder.Default
+    private String serviceType = "SHIPPING AGENCY";
+
+    /** Port whose tariff this line belongs to, normalized ("HO CHI MINH", "QUY NHON"); matched against the port of call */
+    @Column(nullable = false, length = 100, columnDefinition = "VARCHAR(100) NOT NULL DEFAULT 'HO CHI MINH'")
+    @Builder.Default
+    private String port = "HO CHI MINH";
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String formula;
+
+    /** Line is included only when this evaluates to non-zero; null = always */
+    @Column(name = "condition_formula", columnDefinition = "TEXT")
+    private String conditionFormula;
+
+    @Column(name = "display_order", nullable = false)
+    @Builder.Default
+    private Integer displayOrder = 0;
+
+    @Column(name = "is_active", nullable = false)
+    @Builder.Default
+    private Boolean isActive = true;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public Boolean getIsActive() {
+        return this.isActive;
+    }
+
+    public void setIsActive(Boolean isActive) {
+        this.isActive = isActive;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.seatrans.features.fees.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Single-row counter of the fee schedule version stored on quoted inquiries (quote_schedule_version).
+ * Bumped in the same transaction as every fee change, so versions survive restarts
+ * and are shared by every instance.
+ */
+@Entity
+@Table(name = "fee_schedule_version")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeeScheduleVersion {
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private Long version;
+}
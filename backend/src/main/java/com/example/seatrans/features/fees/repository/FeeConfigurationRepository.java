@@ -0,0 +1,23 @@
+package com.example.seatrans.features.fees.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.example.seatrans.features.fees.model.FeeConfiguration;
+
+@Repository
+public interface FeeConfigurationRepository extends JpaRepository<FeeConfiguration, Long> {
+
+    Optional<FeeConfiguration> findByCode(String code);
+
+    boolean existsByCode(String code);
+
+    List<FeeConfiguration> findAllByOrderByServiceTypeAscPortAscDisplayOrderAscIdAsc();
+
+    List<FeeConfiguration> findByIsActiveTrueOrderByDisplayOrderAscIdAsc();
+
+    boolean existsByServiceTypeAndPort(String serviceType, String port);
+}
@@ -0,0 +1,26 @@
+package com.example.seatrans.features.fees.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.example.seatrans.features.fees.model.FeeScheduleVersion;
+
+@Repository
+public interface FeeScheduleVersionRepository extends JpaRepository<FeeScheduleVersion, Long> {
+
+    /**
+     * Atomic increment; creates the row (version 1) on first use.
+     * Holds the row lock until commit, so concurrent fee changes get distinct versions.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO fee_schedule_version (id, version) VALUES (1, 1) "
+            + "ON DUPLICATE KEY UPDATE version = version + 1", nativeQuery = true)
+    int increment();
+
+    @Query("SELECT v.version FROM FeeScheduleVersion v WHERE v.id = 1")
+    Optional<Long> current();
+}
@@ -0,0 +1,149 @@
+package com.example.seatrans.features.fees.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Service;
+
+import com.example.seatrans.features.fees.dto.DisbursementAccountDTO;
+import com.example.seatrans.features.fees.formula.MissingVariableException;
+import com.example.seatrans.features.fees.service.FeeConfigurationService.CompiledFee;
+import com.example.seatrans.features.fees.service.FeeConfigurationService.Schedule;
+import com.example.seatrans.features.inquiry.model.ShippingAgencyInquiry;
+import com.example.seatrans.shared.util.Money;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Computes the proforma disbursement account of a shipping agency inquiry
+ * with the tariff of its port of call.
+ * Only evaluates the pre-compiled fee schedule; nothing is parsed per request.
+ */
+@Service
+@RequiredArgsConstructor
+public class DisbursementCalculator {
+
+    private static final String SHIPPING_AGENCY = "SHIPPING AGENCY";
+    private static final String CURRENCY = "USD";
+
+    private static final BigDecimal DEFAULT_BERTH_HOURS = BigDecimal.valueOf(96);
+    private static final BigDecimal DEFAULT_ANCHORAGE_HOURS = BigDecimal.valueOf(24);
+    private static final BigDecimal DEFAULT_PILOTAGE_3RD_MILES = BigDecimal.valueOf(17);
+
+    private final FeeConfigurationService feeConfigurationService;
+
+    public DisbursementAccountDTO calculate(ShippingAgencyInquiry inquiry) {
+        return calculate(inquiry, feeConfigurationService.schedule());
+    }
+
+    /**
+     * Calculate and store the total on the inquiry (caller saves it)
+     */
+    public DisbursementAccountDTO applyTo(ShippingAgencyInquiry inquiry) {
+        DisbursementAccountDTO account = calculate(inquiry);
+        inquiry.setQuoteTotal(account.isIncomplete() ? null : account.getTotal());
+        inquiry.setQuoteCalculatedAt(account.getCalculatedAt());
+        inquiry.setQuoteScheduleVersion(account.getScheduleVersion());
+        return account;
+    }
+
+    /**
+     * Calculate against a given schedule; thread-safe, used by the bulk re-quote job
+     */
+    public DisbursementAccountDTO calculate(ShippingAgencyInquiry inquiry, Schedule schedule) {
+        String tariffPort = schedule.tariffPort(SHIPPING_AGENCY, inquiry.getPortOfCall());
+        if (tariffPort == null) {
+            // Pricing with another port's tariff would produce a wrong quote
+            return DisbursementAccountDTO.builder()
+                .inquiryId(inquiry.getId())
+                .currency(CURRENCY)
+                .lines(List.of())
+                .incomplete(true)
+                .scheduleVersion(schedule.version())
+                .calculatedAt(LocalDateTime.now())
+                .build();
+        }
+        Map<String, BigDecimal> inputs = inputs(inquiry);
+
+        List<DisbursementAccountDTO.Line> lines = new ArrayList<>();
+        List<BigDecimal> amounts = new ArrayList<>();
+        boolean incomplete = false;
+        for (CompiledFee fee : schedule.fees(SHIPPING_AGENCY, tariffPort)) {
+            DisbursementAccountDTO.Line.LineBuilder line = DisbursementAccountDTO.Line.builder()
+                .code(fee.code())
+                .name(fee.name())
+                .details(fee.details());
+            try {
+                if (fee.condition() != null && !fee.condition().test(inputs)) {
+                    continue;
+                }
+                BigDecimal amount = Money.round2(fee.formula().evaluate(inputs));
+                amounts.add(amount);
+                line.amount(amount);
+            } catch (MissingVariableException e) {
+                incomplete = true;
+                line.missing(e.getVariable());
+            } catch (ArithmeticException e) {
+                incomplete = true;
+                line.error("Formula error: " + e.getMessage());
+            }
+            lines.add(line.build());
+        }
+
+        return DisbursementAccountDTO.builder()
+            .inquiryId(inquiry.getId())
+            .currency(CURRENCY)
+            .tariffPort(tariffPort)
+            .lines(lines)
+            .total(Money.sumAndRound(amounts.toArray(BigDecimal[]::new)))
+            .incomplete(incomplete)
+            .scheduleVersion(schedule.version())
+            .calculatedAt(LocalDateTime.now())
+            .build();
+    }
+
+    /**
+     * Formula inputs. Vessel particulars are left out when unknown (the line is reported as missing);
+     * port-call parameters fall back to the defaults used on the public quote page.
+     */
+    private static Map<String, BigDecimal> inputs(ShippingAgencyInquiry inquiry) {
+        Map<String, BigDecimal> inputs = new HashMap<>();
+        putIfPresent(inputs, "dwt", inquiry.getDwt());
+        putIfPresent(inputs, "grt", inquiry.getGrt());
+        putIfPresent(inputs, "loa", inquiry.getLoa());
+        putIfPresent(inputs, "cargoQuantity", inquiry.getCargoQuantity());
+        inputs.put("berthHours", orDefault(inquiry.getBerthHours(), DEFAULT_BERTH_HOURS));
+        inputs.put("anchorageHours", orDefault(inquiry.getAnchorageHours(), DEFAULT_ANCHORAGE_HOURS));
+        inputs.put("pilotage3rdMiles", orDefault(inquiry.getPilotage3rdMiles(), DEFAULT_PILOTAGE_3RD_MILES));
+        inputs.put("boatHireAmount", orDefault(inquiry.getBoatHireAmount(), BigDecimal.ZERO));
+        inputs.put("tallyFeeAmount", orDefault(inquiry.getTallyFeeAmount(), BigDecimal.ZERO));
+        inputs.put("transportQuarantine", Money.toBigDecimal(numericOrNull(inquiry.getTransportQuarantine())));
+        inputs.put("anchorage", "anchorage".equalsIgnoreCase(trim(inquiry.getDischargeLoadingLocation()))
+            ? BigDecimal.ONE : BigDecimal.ZERO);
+        return inputs;
+    }
+
+    private static void putIfPresent(Map<String, BigDecimal> inputs, String name, BigDecimal value) {
+        if (value != null) {
+            inputs.put(name, value);
+        }
+    }
+
+    private static BigDecimal orDefault(BigDecimal value, BigDecimal fallback) {
+        return value != null ? value : fallback;
+    }
+
+    /** transportQuarantine is free text on the form; only a plain amount is taken into account */
+    private static String numericOrNull(String text) {
+        String value = trim(text);
+        return value != null && value.matches("\\d+(\\.\\d+)?") ? value : null;
+    }
+
+    private static String trim(String text) {
+        return text != null ? text.trim() : null;
+    }
+}
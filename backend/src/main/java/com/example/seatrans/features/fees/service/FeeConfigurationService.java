@@ -0,0 +1,341 @@
+package com.example.seatrans.features.fees.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.seatrans.features.fees.dto.CreateFeeConfigurationRequest;
+import com.example.seatrans.features.fees.dto.FeeConfigurationDTO;
+import com.example.seatrans.features.fees.formula.Formula;
+import com.example.seatrans.features.fees.formula.FormulaCompiler;
+import com.example.seatrans.features.fees.model.FeeConfiguration;
+import com.example.seatrans.features.fees.repository.FeeConfigurationRepository;
+import com.example.seatrans.features.fees.repository.FeeScheduleVersionRepository;
+import com.example.seatrans.shared.exception.DuplicateFeeCodeException;
+import com.example.seatrans.shared.exception.FeeConfigurationNotFoundException;
+import com.example.seatrans.shared.exception.InvalidFormulaException;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * CRUD for fee configurations plus the compiled fee schedule used by DisbursementCalculator.
+ * Formulas are validated (compiled) on save; the schedule of active fees is compiled once
+ * and replaced after every committed change.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class FeeConfigurationService {
+
+    private static final String SHIPPING_AGENCY = "SHIPPING AGENCY";
+
+    private final FeeConfigurationRepository feeConfigurationRepository;
+    private final FeeScheduleVersionRepository feeScheduleVersionRepository;
+    private final FormulaCompiler formulaCompiler;
+
+    private final AtomicReference<Schedule> schedule = new AtomicReference<>();
+
+    /**
+     * A fee whose formula and condition are already compiled
+     */
+    public record CompiledFee(String code, String name, String details, Formula formula, Formula condition) {
+    }
+
+    /**
+     * Immutable compiled schedule of active fees, grouped by service type then by tariff port
+     */
+    public record Schedule(long version, Map<String, Map<String, List<CompiledFee>>> feesByServiceType) {
+        public List<CompiledFee> fees(String serviceType, String port) {
+            return feesByServiceType.getOrDefault(serviceType, Map.of()).getOrDefault(port, List.of());
+        }
+
+        /**
+         * Tariff port the given port of call is priced with; null when no tariff covers it
+         */
+        public String tariffPort(String serviceType, String portOfCall) {
+            return TariffPorts.resolve(portOfCall, feesByServiceType.getOrDefault(serviceType, Map.of()).keySet());
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<FeeConfigurationDTO> getAll() {
+        return feeConfigurationRepository.findAllByOrderByServiceTypeAscPortAscDisplayOrderAscIdAsc().stream()
+            .map(FeeConfigurationDTO::from)
+            .toList();
+    }
+
+    @Transactional(readOnly = true)
+    public FeeConfigurationDTO getById(Long id) {
+        return FeeConfigurationDTO.from(find(id));
+    }
+
+    public FeeConfigurationDTO create(CreateFeeConfigurationRequest request) {
+        String code = normalizeCode(request.getCode());
+        if (feeConfigurationRepository.existsByCode(code)) {
+            throw new DuplicateFeeCodeException("Fee code already exists: " + code);
+        }
+        FeeConfiguration fee = new FeeConfiguration();
+        fee.setCode(code);
+        apply(fee, request);
+        FeeConfiguration saved = feeConfigurationRepository.save(fee);
+        scheduleChanged();
+        return FeeConfigurationDTO.from(saved);
+    }
+
+    public FeeConfigurationDTO update(Long id, CreateFeeConfigurationRequest request) {
+        FeeConfiguration fee = find(id);
+        if (request.getCode() != null && !request.getCode().isBlank()) {
+            String code = normalizeCode(request.getCode());
+            if (!code.equals(fee.getCode()) && feeConfigurationRepository.existsByCode(code)) {
+                throw new DuplicateFeeCodeException("Fee code already exists: " + code);
+            }
+            fee.setCode(code);
+        }
+        apply(fee, request);
+        FeeConfiguration saved = feeConfigurationRepository.save(fee);
+        scheduleChanged();
+        return FeeConfigurationDTO.from(saved);
+    }
+
+    public void delete(Long id) {
+        feeConfigurationRepository.delete(find(id));
+        scheduleChanged();
+    }
+
+    /**
+     * Compile a formula without saving it (admin editor "check" button)
+     * @return the input names referenced by the formula
+     */
+    public List<String> validate(String formula) {
+        return List.copyOf(formulaCompiler.compile(formula).variables());
+    }
+
+    /**
+     * Current compiled schedule; compiled lazily on first use and after each change
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Schedule schedule() {
+        Schedule current = schedule.get();
+        return current != null ? current : reload();
+    }
+
+    private synchronized Schedule reload() {
+        Schedule current = schedule.get();
+        if (current != null) {
+            return current;
+        }
+        // Re-read when a change commits between the two reads so the fees match the version
+        long version;
+        Map<String, Map<String, List<CompiledFee>>> fees;
+        do {
+            version = currentVersion();
+            fees = feeConfigurationRepository.findByIsActiveTrueOrderByDisplayOrderAscIdAsc()
+                .stream()
+                .collect(Collectors.groupingBy(FeeConfiguration::getServiceType,
+                    Collectors.collectingAndThen(
+                        Collectors.groupingBy(FeeConfiguration::getPort,
+                            Collectors.mapping(this::compile, Collectors.toUnmodifiableList())),
+                        Map::copyOf)));
+        } while (version != currentVersion());
+        Schedule loaded = new Schedule(version, Map.copyOf(fees));
+        schedule.set(loaded);
+        log.info("Fee schedule v{} compiled: {} active fees", loaded.version(),
+            fees.values().stream().flatMap(byPort -> byPort.values().stream()).mapToInt(List::size).sum());
+        return loaded;
+    }
+
+    private synchronized void invalidate() {
+        schedule.set(null);
+    }
+
+    private CompiledFee compile(FeeConfiguration fee) {
+        String condition = fee.getConditionFormula();
+        return new CompiledFee(fee.getCode(), fee.getName(), fee.getDetails(),
+            formulaCompiler.compile(fee.getFormula()),
+            condition == null || condition.isBlank() ? null : formulaCompiler.compile(condition));
+    }
+
+    private long currentVersion() {
+        return feeScheduleVersionRepository.current().orElse(0L);
+    }
+
+    /**
+     * Bump the persisted schedule version in the caller's transaction; the compiled schedule
+     * is dropped once the change commits
+     */
+    private void scheduleChanged() {
+        feeScheduleVersionRepository.increment();
+        invalidateAfterCommit();
+    }
+
+    private void invalidateAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate();
+                }
+            });
+        } else {
+            invalidate();
+        }
+    }
+
+    private FeeConfiguration find(Long id) {
+        return feeConfigurationRepository.findById(id)
+            .orElseThrow(() -> new FeeConfigurationNotFoundException("Fee configuration not found with id: " + id));
+    }
+
+    private void apply(FeeConfiguration fee, CreateFeeConfigurationRequest request) {
+        if (request.getName() == null || request.getName().isBlank()) {
+            throw new IllegalArgumentException("Fee name is required");
+        }
+        if (request.getFormula() == null || request.getFormula().isBlank()) {
+            throw new InvalidFormulaException("Formula must not be empty");
+        }
+        // Compile now so a broken formula never reaches the schedule
+        formulaCompiler.compile(request.getFormula());
+        String condition = request.getConditionFormula();
+        if (condition != null && !condition.isBlank()) {
+            formulaCompiler.compile(condition);
+        } else {
+            condition = null;
+        }
+
+        fee.setName(request.getName().trim());
+        fee.setDetails(request.getDetails());
+        fee.setServiceType(request.getServiceType() != null && !request.getServiceType().isBlank()
+            ? request.getServiceType().trim() : SHIPPING_AGENCY);
+        String port = TariffPorts.normalize(request.getPort());
+        if (port != null) {
+            fee.setPort(port);
+        } else if (fee.getPort() == null) {
+            fee.setPort(TariffPorts.HO_CHI_MINH);
+        }
+        fee.setFormula(request.getFormula().strip());
+        fee.setConditionFormula(condition != null ? condition.strip() : null);
+        if (request.getDisplayOrder() != null) {
+            fee.setDisplayOrder(request.getDisplayOrder());
+        }
+        if (request.getIsActive() != null) {
+            fee.setIsActive(request.getIsActive());
+        }
+    }
+
+    private static String normalizeCode(String code) {
+        if (code == null || code.isBlank()) {
+            throw new IllegalArgumentException("Fee code is required");
+        }
+        return code.trim().toUpperCase();
+    }
+
+    /**
+     * Seed the Ho Chi Minh and Quy Nhon port tariffs used by the public quote pages.
+     * A tariff is seeded only while its port has no fee lines; QN_ codes keep fee codes unique across ports.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedDefaults() {
+        List<FeeConfiguration> defaults = new ArrayList<>();
+        if (!feeConfigurationRepository.existsByServiceTypeAndPort(SHIPPING_AGENCY, TariffPorts.HO_CHI_MINH)) {
+            defaults.addAll(hoChiMinhTariff());
+        }
+        if (!feeConfigurationRepository.existsByServiceTypeAndPort(SHIPPING_AGENCY, TariffPorts.QUY_NHON)) {
+            defaults.addAll(quyNhonTariff());
+        }
+        if (defaults.isEmpty()) {
+            return;
+        }
+        feeConfigurationRepository.saveAll(defaults);
+        scheduleChanged();
+        log.info("Seeded {} default fee configurations", defaults.size());
+    }
+
+    private static List<FeeConfiguration> hoChiMinhTariff() {
+        String port = TariffPorts.HO_CHI_MINH;
+        return List.of(
+            seed(port, 10, "TONNAGE", "Tonnage fee", "0.034 USD x GRT x 2 times", "0.034 * grt * 2", null),
+            seed(port, 20, "NAVIGATION_DUE", "Navigation due", "0.1 USD x GRT x 2 times", "0.1 * grt * 2", null),
+            seed(port, 30, "PILOTAGE_1", "Pilotage (1st section)", "0.0034 USD x GRT x 2 times x 10 miles",
+                "0.0034 * grt * 2 * 10", null),
+            seed(port, 40, "PILOTAGE_2", "Pilotage (2nd section)", "0.0022 USD x GRT x 2 times x 20 miles",
+                "0.0022 * grt * 2 * 20", null),
+            seed(port, 50, "PILOTAGE_3", "Pilotage (3rd section)", "0.0015 USD x GRT x 2 times x miles",
+                "0.0015 * grt * 2 * pilotage3rdMiles", null),
+            seed(port, 60, "TUG_ASSISTANCE", "Tug assistance", "By LOA",
+                "loa >= 205 ? 2800 : loa >= 190 ? 2600 : loa >= 175 ? 2400 : loa >= 160 ? 2180"
+                    + " : loa >= 145 ? 1960 : loa >= 120 ? 1490 : loa >= 95 ? 1020 : 510",
+                "loa >= 80"),
+            seed(port, 70, "MOOR_UNMOOR", "Mooring / unmooring", "By GRT",
+                "anchorage"
+                    + " ? (grt <= 4000 ? 180 : grt < 10000 ? 240 : grt < 15000 ? 330 : grt < 20000 ? 380 : 440)"
+                    + " : (grt <= 4000 ? 74 : grt < 10000 ? 110 : grt < 15000 ? 144 : grt < 20000 ? 180 : 220)",
+                null),
+            seed(port, 80, "BERTH_DUE", "Berth due", "0.0031 USD x GRT x hours", "0.0031 * berthHours * grt",
+                "!anchorage"),
+            seed(port, 90, "BUOY_DUE", "Buoy due", "0.0013 USD x GRT x hours", "0.0013 * anchorageHours * grt",
+                "anchorage"),
+            seed(port, 100, "ANCHORAGE_FEES", "Anchorage fees", "0.0005 USD x GRT x hours",
+                "0.0005 * anchorageHours * grt", null),
+            seed(port, 110, "QUARANTINE_FEE", "Quarantine fee", "Lump sum", "95", null),
+            seed(port, 120, "TRANSPORT_QUARANTINE", "Transportation for quarantine", "As requested",
+                "transportQuarantine", "transportQuarantine > 0"),
+            seed(port, 130, "BOAT_HIRE", "Boat hire", "As requested", "boatHireAmount", "boatHireAmount > 0"),
+            seed(port, 140, "TALLY_FEE", "Tally fee", "As requested", "tallyFeeAmount", "tallyFeeAmount > 0"),
+            seed(port, 150, "CLEARANCE_FEES", "Clearance fees", "Lump sum", "50", null),
+            seed(port, 160, "GARBAGE_REMOVAL", "Garbage removal", "Per 2 days alongside",
+                "(anchorage ? 55 : 35) * ceil(berthHours / 24 / 2)", null));
+    }
+
+    private static List<FeeConfiguration> quyNhonTariff() {
+        String port = TariffPorts.QUY_NHON;
+        return List.of(
+            seed(port, 10, "QN_TONNAGE", "Tonnage fee", "0.034 USD x GRT x 2 times", "0.034 * grt * 2", null),
+            seed(port, 20, "QN_NAVIGATION_DUE", "Navigation due", "0.058 USD x GRT x 2 times", "0.058 * grt * 2",
+                null),
+            seed(port, 30, "QN_PILOTAGE", "Pilotage", "0.0034 USD x GRT x 2 times", "0.0034 * grt * 2", null),
+            seed(port, 60, "QN_TUG_ASSISTANCE", "Tug assistance", "By LOA",
+                "loa >= 175 ? 9916 : loa >= 135 ? 6792 : loa >= 90 ? 3956 : loa >= 80 ? 2308 : 1154", null),
+            seed(port, 70, "QN_MOOR_UNMOOR", "Mooring / unmooring", "By GRT",
+                "grt < 500 ? 32 : grt <= 1000 ? 50 : grt <= 4000 ? 66 : grt <= 10000 ? 120 : grt <= 15000 ? 140 : 180",
+                null),
+            seed(port, 80, "QN_BERTH_DUE", "Berth due", "0.0031 USD x GRT x hours", "0.0031 * berthHours * grt",
+                null),
+            seed(port, 100, "QN_ANCHORAGE_FEES", "Anchorage fees", "0.0005 USD x GRT x hours",
+                "0.0005 * anchorageHours * grt", null),
+            seed(port, 110, "QN_QUARANTINE_FEE", "Quarantine fee", "Lump sum", "220", null),
+            seed(port, 120, "QN_TRANSPORT_QUARANTINE", "Transportation for quarantine", "As requested",
+                "transportQuarantine", "transportQuarantine > 0"),
+            seed(port, 130, "QN_BOAT_HIRE", "Boat hire", "As requested", "boatHireAmount", "boatHireAmount > 0"),
+            seed(port, 140, "QN_TALLY_FEE", "Tally fee", "As requested", "tallyFeeAmount", "tallyFeeAmount > 0"),
+            seed(port, 150, "QN_CLEARANCE_FEES", "Clearance fees", "Lump sum", "100", null),
+            seed(port, 160, "QN_GARBAGE_REMOVAL", "Garbage removal", "Per 2 days alongside",
+                "17 * ceil(berthHours / 24 / 2)", null));
+    }
+
+    private static FeeConfiguration seed(String port, int order, String code, String name, String details,
+                                         String formula, String condition) {
+        return FeeConfiguration.builder()
+            .code(code)
+            .name(name)
+            .details(details)
+            .serviceType(SHIPPING_AGENCY)
+            .port(port)
+            .formula(formula)
+            .conditionFormula(condition)
+            .displayOrder(order)
+            .isActive(true)
+            .build();
+    }
+}
@@ -0,0 +1,232 @@
+package com.example.seatrans.features.fees.service;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.example.seatrans.features.fees.dto.DisbursementAccountDTO;
+import com.example.seatrans.features.fees.dto.QuoteRecomputeStatus;
+import com.example.seatrans.features.fees.dto.QuoteRecomputeStatus.State;
+import com.example.seatrans.features.fees.service.FeeConfigurationService.Schedule;
+import com.example.seatrans.features.inquiry.model.InquiryStatus;
+import com.example.seatrans.features.inquiry.model.ShippingAgencyInquiry;
+import com.example.seatrans.features.inquiry.repository.ShippingAgencyInquiryRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Re-quotes every PROCESSING shipping agency inquiry after a tariff change.
+ * Inquiries are read in keyset chunks, evaluated in parallel on the quote compute pool
+ * against one fixed fee schedule, and written back with one JDBC batch UPDATE per chunk.
+ * The UPDATE only applies to rows that are still PROCESSING and were neither edited nor re-quoted
+ * since the chunk was read; other rows are skipped and counted, their newer quote wins.
+ * Only one job runs at a time; its progress is kept in memory.
+ */
+@Service
+@Slf4j
+public class QuoteRecomputeService {
+
+    private static final String UPDATE_SQL = "UPDATE shipping_agency_inquiries"
+        + " SET quote_total = ?, quote_calculated_at = ?, quote_schedule_version = ?"
+        + " WHERE id = ? AND status = 'PROCESSING'"
+        + " AND (quote_calculated_at IS NULL OR quote_calculated_at <= ?)"
+        + " AND (updated_at IS NULL OR updated_at <= ?)";
+
+    private final ShippingAgencyInquiryRepository shippingAgencyInquiryRepository;
+    private final DisbursementCalculator disbursementCalculator;
+    private final FeeConfigurationService feeConfigurationService;
+    private final JdbcTemplate jdbcTemplate;
+    private final ForkJoinPool computePool;
+    private final int chunkSize;
+
+    private final AtomicReference<Job> current = new AtomicReference<>();
+
+    public QuoteRecomputeService(ShippingAgencyInquiryRepository shippingAgencyInquiryRepository,
+                                 DisbursementCalculator disbursementCalculator,
+                                 FeeConfigurationService feeConfigurationService,
+                                 JdbcTemplate jdbcTemplate,
+                                 @Qualifier("quoteComputePool") ForkJoinPool computePool,
+                                 @Value("${app.quote.recompute.chunk-size:500}") int chunkSize) {
+        this.shippingAgencyInquiryRepository = shippingAgencyInquiryRepository;
+        this.disbursementCalculator = disbursementCalculator;
+        this.feeConfigurationService = feeConfigurationService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.computePool = computePool;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Start a new job in the background
+     * @throws IllegalStateException when a job is already running
+     */
+    public QuoteRecomputeStatus start() {
+        Schedule schedule = feeConfigurationService.schedule();
+        long total = shippingAgencyInquiryRepository.countByStatus(InquiryStatus.PROCESSING);
+        Job job = new Job(UUID.randomUUID().toString(), schedule, total);
+
+        Job previous = current.get();
+        if (previous != null && previous.state == State.RUNNING) {
+            throw new IllegalStateException("A quote recomputation is already running: " + previous.id);
+        }
+        if (!current.compareAndSet(previous, job)) {
+            throw new IllegalStateException("A quote recomputation is already running");
+        }
+
+        Thread.ofVirtual().name("quote-recompute-" + job.id).start(() -> run(job));
+        return job.status();
+    }
+
+    public Optional<QuoteRecomputeStatus> status() {
+        return Optional.ofNullable(current.get()).map(Job::status);
+    }
+
+    private void run(Job job) {
+        log.info("Quote recomputation {} started: {} inquiries, fee schedule v{}", job.id, job.total, job.schedule.version());
+        try {
+            long afterId = 0;
+            while (true) {
+                LocalDateTime readAt = LocalDateTime.now();
+                List<ShippingAgencyInquiry> chunk = shippingAgencyInquiryRepository
+                    .findByStatusAndIdGreaterThanOrderByIdAsc(InquiryStatus.PROCESSING, afterId, Limit.of(chunkSize));
+                if (chunk.isEmpty()) {
+                    break;
+                }
+                afterId = chunk.get(chunk.size() - 1).getId();
+
+                List<Result> results = computePool.submit(() -> chunk.parallelStream()
+                    .map(inquiry -> evaluate(job, inquiry))
+                    .filter(Objects::nonNull)
+                    .toList()).get();
+                write(job, results, readAt);
+                job.processed.addAndGet(chunk.size());
+            }
+            job.finish(State.COMPLETED, null);
+            log.info("Quote recomputation {} completed: {} processed, {} incomplete, {} failed, {} skipped in {} ms",
+                job.id, job.processed.get(), job.incomplete.get(), job.failed.get(), job.skipped.get(),
+                job.elapsed().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.finish(State.FAILED, "Interrupted");
+        } catch (Exception e) {
+            log.error("Quote recomputation {} failed after {} inquiries", job.id, job.processed.get(), e);
+            job.finish(State.FAILED, e.getMessage());
+        }
+    }
+
+    private Result evaluate(Job job, ShippingAgencyInquiry inquiry) {
+        try {
+            DisbursementAccountDTO account = disbursementCalculator.calculate(inquiry, job.schedule);
+            if (account.isIncomplete()) {
+                job.incomplete.incrementAndGet();
+            }
+            return new Result(inquiry.getId(), account.isIncomplete() ? null : account.getTotal(),
+                account.getCalculatedAt());
+        } catch (RuntimeException e) {
+            job.failed.incrementAndGet();
+            log.warn("Could not re-quote shipping agency inquiry {}: {}", inquiry.getId(), e.getMessage());
+            return null;
+        }
+    }
+
+    private void write(Job job, List<Result> results, LocalDateTime readAt) {
+        if (results.isEmpty()) {
+            return;
+        }
+        long version = job.schedule.version();
+        Timestamp readAtTimestamp = Timestamp.valueOf(readAt);
+        int[] counts = jdbcTemplate.batchUpdate(UPDATE_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Result result = results.get(i);
+                if (result.total() != null) {
+                    ps.setBigDecimal(1, result.total());
+                } else {
+                    ps.setNull(1, Types.DECIMAL);
+                }
+                ps.setTimestamp(2, Timestamp.valueOf(result.calculatedAt()));
+                ps.setLong(3, version);
+                ps.setLong(4, result.id());
+                ps.setTimestamp(5, readAtTimestamp);
+                ps.setTimestamp(6, readAtTimestamp);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return results.size();
+            }
+        });
+
+        // 0 = the guard rejected the row (SUCCESS_NO_INFO is not counted as skipped)
+        long skipped = Arrays.stream(counts).filter(count -> count == 0).count();
+        if (skipped > 0) {
+            job.skipped.addAndGet(skipped);
+            log.info("Quote recomputation {}: skipped {} of {} inquiries changed since they were read",
+                job.id, skipped, results.size());
+        }
+    }
+
+    private record Result(Long id, BigDecimal total, LocalDateTime calculatedAt) {
+    }
+
+    private static final class Job {
+        private final String id;
+        private final Schedule schedule;
+        private final long total;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final long startNanos = System.nanoTime();
+        private final AtomicLong processed = new AtomicLong();
+        private final AtomicLong incomplete = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final AtomicLong skipped = new AtomicLong();
+        private volatile State state = State.RUNNING;
+        private volatile LocalDateTime finishedAt;
+        private volatile long finishedNanos;
+        private volatile String error;
+
+        private Job(String id, Schedule schedule, long total) {
+            this.id = id;
+            this.schedule = schedule;
+            this.total = total;
+        }
+
+        private void finish(State state, String error) {
+            this.finishedNanos = System.nanoTime();
+            this.finishedAt = LocalDateTime.now();
+            this.error = error;
+            this.state = state;
+        }
+
+        private Duration elapsed() {
+            long end = state == State.RUNNING ? System.nanoTime() : finishedNanos;
+            return Duration.ofNanos(end - startNanos);
+        }
+
+        private QuoteRecomputeStatus status() {
+            long done = processed.get();
+            double seconds = elapsed().toNanos() / 1_000_000_000.0;
+            double percent = total > 0 ? Math.min(100.0, done * 100.0 / total) : (state == State.RUNNING ? 0 : 100);
+            return new QuoteRecomputeStatus(id, state, schedule.version(), total, done, incomplete.get(), failed.get(),
+                skipped.get(), Math.round(percent * 10) / 10.0, seconds > 0 ? Math.round(done / seconds * 10) / 10.0 : 0,
+                startedAt, finishedAt, error);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.seatrans.features.fees.service;
+
+import java.text.Normalizer;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Maps the free-text port of call of an inquiry onto the port key of a fee tariff.
+ * Port keys are stored normalized: upper-case, no Vietnamese diacritics, single spaces ("QUY NHON").
+ */
+final class TariffPorts {
+
+    static final String HO_CHI_MINH = "HO CHI MINH";
+    static final String QUY_NHON = "QUY NHON";
+
+    /** Spellings customers use on the form for the seeded ports */
+    private static final Map<String, String> ALIASES = Map.of(
+        "HCM", HO_CHI_MINH,
+        "TP HCM", HO_CHI_MINH,
+        "HOCHIMINH", HO_CHI_MINH,
+        "SAI GON", HO_CHI_MINH,
+        "SAIGON", HO_CHI_MINH,
+        "CAT LAI", HO_CHI_MINH,
+        "QUI NHON", QUY_NHON,
+        "QUYNHON", QUY_NHON);
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^A-Z0-9]+");
+
+    private TariffPorts() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Normalized port key, or null for a blank name
+     */
+    static String normalize(String port) {
+        if (port == null || port.isBlank()) {
+            return null;
+        }
+        // D with stroke (\u0110) has no combining-mark decomposition
+        String decomposed = Normalizer.normalize(port.replace('\u0110', 'D').replace('\u0111', 'd'), Normalizer.Form.NFD);
+        String ascii = MARKS.matcher(decomposed).replaceAll("");
+        String key = SEPARATORS.matcher(ascii.toUpperCase(Locale.ROOT)).replaceAll(" ").strip();
+        return key.isEmpty() ? null : key;
+    }
+
+    /**
+     * The tariff port the port of call refers to: a key or alias appearing as whole words
+     * ("Cang Quy Nhon" → QUY NHON, "HCM" → HO CHI MINH)
+     * @return null when no tariff covers the port
+     */
+    static String resolve(String portOfCall, Collection<String> tariffPorts) {
+        String name = normalize(portOfCall);
+        if (name == null) {
+            return null;
+        }
+        String padded = " " + name + " ";
+        for (String port : tariffPorts) {
+            if (padded.contains(" " + port + " ")) {
+                return port;
+            }
+        }
+        for (Map.Entry<String, String> alias : ALIASES.entrySet()) {
+            if (padded.contains(" " + alias.getKey() + " ") && tariffPorts.contains(alias.getValue())) {
+                return alias.getValue();
+            }
+        }
+        return null;
+    }
+}
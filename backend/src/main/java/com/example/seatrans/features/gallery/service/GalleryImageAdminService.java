@@ -23,6 +23,7 @@ import com.example.seatrans.features.ports.repository.PortRepository;
 import com.example.seatrans.features.provinces.model.Province;
 import com.example.seatrans.features.provinces.repository.ProvinceRepository;
 import com.example.seatrans.shared.mapper.EntityMapper;
+import com.example.seatrans.shared.service.CloudinaryDeletionQueue;
 import com.example.seatrans.shared.service.CloudinaryService;
 
 import jakarta.persistence.criteria.Predicate;
@@ -45,7 +46,7 @@ public class GalleryImageAdminService {
     private final ProvinceRepository provinceRepository;
     private final PortRepository portRepository;
     private final EntityMapper entityMapper;
-    private final CloudinaryService cloudinaryService;
+    private final CloudinaryDeletionQueue deletionQueue;
 
     /**
      * Check if image with same hash AND location already exists
@@ -210,14 +211,9 @@ public class GalleryImageAdminService {
         GalleryImage image = galleryImageRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Image not found with ID: " + id));
 
-        // Delete from Cloudinary if public ID exists
+        // Delete from Cloudinary if public ID exists (outbox, after commit)
         if (image.getCloudinaryPublicId() != null && !image.getCloudinaryPublicId().isEmpty()) {
-            boolean deleted = cloudinaryService.deleteFile(image.getCloudinaryPublicId());
-            if (deleted) {
-                log.info("Deleted image from Cloudinary: {}", image.getCloudinaryPublicId());
-            } else {
-                log.warn("Failed to delete image from Cloudinary: {}", image.getCloudinaryPublicId());
-            }
+            deletionQueue.enqueue(image.getCloudinaryPublicId(), CloudinaryService.RESOURCE_TYPE_IMAGE);
         }
 
         galleryImageRepository.delete(image);
@@ -1,25 +1,39 @@
 package com.example.seatrans.features.inquiry.controller;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.example.seatrans.features.fees.service.DisbursementCalculator;
 import com.example.seatrans.features.inquiry.dto.CharteringBrokingInquiryResponse;
 import com.example.seatrans.features.inquiry.dto.FreightForwardingInquiryResponse;
+import com.example.seatrans.features.inquiry.dto.InquiryCursor;
+import com.example.seatrans.features.inquiry.dto.InquiryUserInfo;
 import com.example.seatrans.features.inquiry.dto.ShippingAgencyInquiryResponse;
 import com.example.seatrans.features.inquiry.dto.SpecialRequestInquiryResponse;
 import com.example.seatrans.features.inquiry.dto.TotalLogisticInquiryResponse;
@@ -34,10 +48,13 @@ import com.example.seatrans.features.inquiry.repository.FreightForwardingInquiry
 import com.example.seatrans.features.inquiry.repository.ShippingAgencyInquiryRepository;
 import com.example.seatrans.features.inquiry.repository.SpecialRequestInquiryRepository;
 import com.example.seatrans.features.inquiry.repository.TotalLogisticInquiryRepository;
-import com.example.seatrans.features.inquiry.service.InquiryDocumentService;
+import com.example.seatrans.features.inquiry.service.InquiryExportService;
+import com.example.seatrans.features.inquiry.service.InquiryIndexService;
 import com.example.seatrans.features.inquiry.service.InquiryResponseEnricher;
-import com.example.seatrans.features.logistics.model.ServiceTypeEntity;
-import com.example.seatrans.features.logistics.repository.ServiceTypeRepository;
+import com.example.seatrans.features.inquiry.service.InquiryStatsService;
+import com.example.seatrans.features.inquiry.service.InquiryWriteService;
+import com.example.seatrans.shared.service.ReferenceDataCache;
+import com.example.seatrans.shared.service.ReferenceDataCache.ServiceTypeRef;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -53,8 +70,12 @@ public class AdminInquiryController {
     private final SpecialRequestInquiryRepository specialRequestInquiryRepository;
     private final TotalLogisticInquiryRepository totalLogisticInquiryRepository;
     private final InquiryResponseEnricher enricher;
-    private final InquiryDocumentService inquiryDocumentService;
-    private final ServiceTypeRepository serviceTypeRepository;
+    private final InquiryIndexService inquiryIndexService;
+    private final InquiryWriteService inquiryWriteService;
+    private final InquiryExportService inquiryExportService;
+    private final InquiryStatsService inquiryStatsService;
+    private final ReferenceDataCache referenceDataCache;
+    private final DisbursementCalculator disbursementCalculator;
 
     private static final String SHIPPING_AGENCY = "SHIPPING AGENCY";
     private static final String CHARTERING = "CHARTERING";
@@ -68,16 +89,24 @@ public class AdminInquiryController {
                                   SpecialRequestInquiryRepository specialRequestInquiryRepository,
                                   TotalLogisticInquiryRepository totalLogisticInquiryRepository,
                                   InquiryResponseEnricher enricher,
-                                  InquiryDocumentService inquiryDocumentService,
-                                  ServiceTypeRepository serviceTypeRepository) {
+                                  InquiryIndexService inquiryIndexService,
+                                  InquiryWriteService inquiryWriteService,
+                                  InquiryExportService inquiryExportService,
+                                  InquiryStatsService inquiryStatsService,
+                                  ReferenceDataCache referenceDataCache,
+                                  DisbursementCalculator disbursementCalculator) {
         this.shippingAgencyInquiryRepository = shippingAgencyInquiryRepository;
         this.charteringBrokingInquiryRepository = charteringBrokingInquiryRepository;
         this.freightForwardingInquiryRepository = freightForwardingInquiryRepository;
         this.specialRequestInquiryRepository = specialRequestInquiryRepository;
         this.totalLogisticInquiryRepository = totalLogisticInquiryRepository;
         this.enricher = enricher;
-        this.inquiryDocumentService = inquiryDocumentService;
-        this.serviceTypeRepository = serviceTypeRepository;
+        this.inquiryIndexService = inquiryIndexService;
+        this.inquiryWriteService = inquiryWriteService;
+        this.inquiryExportService = inquiryExportService;
+        this.inquiryStatsService = inquiryStatsService;
+        this.referenceDataCache = referenceDataCache;
+        this.disbursementCalculator = disbursementCalculator;
     }
 
     // Quick filters per service for admin UI compatibility
@@ -89,7 +118,7 @@ public class AdminInquiryController {
         Page<ShippingAgencyInquiry> result = (status != null)
             ? shippingAgencyInquiryRepository.findByStatus(status, pageable)
             : shippingAgencyInquiryRepository.findAll(pageable);
-        return ResponseEntity.ok(result.map(ShippingAgencyInquiryResponse::from).map(enricher::enrichShippingAgency));
+        return ResponseEntity.ok(enricher.enrichPage(result.map(ShippingAgencyInquiryResponse::from)));
     }
 
     @GetMapping("/chartering/inquiries")
@@ -100,7 +129,7 @@ public class AdminInquiryController {
         Page<CharteringBrokingInquiry> result = (status != null)
             ? charteringBrokingInquiryRepository.findByStatus(status, pageable)
             : charteringBrokingInquiryRepository.findAll(pageable);
-        return ResponseEntity.ok(result.map(CharteringBrokingInquiryResponse::from).map(enricher::enrichChartering));
+        return ResponseEntity.ok(enricher.enrichPage(result.map(CharteringBrokingInquiryResponse::from)));
     }
 
     @GetMapping("/freight-forwarding/inquiries")
@@ -111,7 +140,7 @@ public class AdminInquiryController {
         Page<FreightForwardingInquiry> result = (status != null)
             ? freightForwardingInquiryRepository.findByStatus(status, pageable)
             : freightForwardingInquiryRepository.findAll(pageable);
-        return ResponseEntity.ok(result.map(FreightForwardingInquiryResponse::from).map(enricher::enrichFreightForwarding));
+        return ResponseEntity.ok(enricher.enrichPage(result.map(FreightForwardingInquiryResponse::from)));
     }
 
     @GetMapping("/logistics/inquiries")
@@ -122,7 +151,7 @@ public class AdminInquiryController {
         Page<TotalLogisticInquiry> result = (status != null)
             ? totalLogisticInquiryRepository.findByStatus(status, pageable)
             : totalLogisticInquiryRepository.findAll(pageable);
-        return ResponseEntity.ok(result.map(TotalLogisticInquiryResponse::from).map(enricher::enrichLogistics));
+        return ResponseEntity.ok(enricher.enrichPage(result.map(TotalLogisticInquiryResponse::from)));
     }
 
     @GetMapping("/special-request/inquiries")
@@ -133,17 +162,24 @@ public class AdminInquiryController {
         Page<SpecialRequestInquiry> result = (status != null)
             ? specialRequestInquiryRepository.findByStatus(status, pageable)
             : specialRequestInquiryRepository.findAll(pageable);
-        return ResponseEntity.ok(result.map(SpecialRequestInquiryResponse::from).map(enricher::enrichSpecialRequest));
+        return ResponseEntity.ok(enricher.enrichPage(result.map(SpecialRequestInquiryResponse::from)));
     }
 
+    /**
+     * List inquiries of one service type.
+     * - Default: offset page with total count
+     * - after=&lt;submittedAt,id&gt;: keyset page after the cursor (page is ignored, no count)
+     * - count=false: skip the COUNT(*) query and return a slice with hasNext/nextCursor
+     */
     @GetMapping
     public ResponseEntity<?> getInquiries(
             @RequestParam(value = "serviceType") String serviceTypeName,
             @RequestParam(value = "status", required = false) InquiryStatus status,
             @RequestParam(value = "page", defaultValue = "0") int page,
-            @RequestParam(value = "size", defaultValue = "20") int size) {
-        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "submittedAt"));
-        return fetchPage(serviceTypeName, status, pageable);
+            @RequestParam(value = "size", defaultValue = "20") int size,
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "count", defaultValue = "true") boolean count) {
+        return list(serviceTypeName, status, page, size, after, count);
     }
 
     @GetMapping("/{serviceType}")
@@ -151,9 +187,26 @@ public class AdminInquiryController {
             @PathVariable("serviceType") String serviceTypeName,
             @RequestParam(value = "status", required = false) InquiryStatus status,
             @RequestParam(value = "page", defaultValue = "0") int page,
-            @RequestParam(value = "size", defaultValue = "20") int size) {
-        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "submittedAt"));
-        return fetchPage(serviceTypeName, status, pageable);
+            @RequestParam(value = "size", defaultValue = "20") int size,
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "count", defaultValue = "true") boolean count) {
+        return list(serviceTypeName, status, page, size, after, count);
+    }
+
+    private ResponseEntity<?> list(String serviceTypeName, InquiryStatus status, int page, int size, String after, boolean count) {
+        if (after == null && count) {
+            Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "submittedAt"));
+            return fetchPage(serviceTypeName, status, pageable);
+        }
+        InquiryCursor cursor;
+        try {
+            cursor = after != null ? InquiryCursor.parse(after) : null;
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(Map.of("message", ex.getMessage()));
+        }
+        Pageable pageable = PageRequest.of(cursor != null ? 0 : page, size,
+            Sort.by(Sort.Direction.DESC, "submittedAt").and(Sort.by(Sort.Direction.DESC, "id")));
+        return fetchSlice(serviceTypeName, status, cursor, pageable);
     }
 
     @GetMapping("/recent")
@@ -173,6 +226,53 @@ public class AdminInquiryController {
         }
     }
 
+    /**
+     * Dashboard counters from the inquiry_stats rollup: by status, by service and per day for the last N days
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<?> getStats(@RequestParam(value = "days", defaultValue = "30") int days) {
+        return ResponseEntity.ok(inquiryStatsService.getDashboard(days));
+    }
+
+    /**
+     * Recompute the inquiry_stats rollup from the inquiry index
+     */
+    @PostMapping("/stats/rebuild")
+    public ResponseEntity<?> rebuildStats() {
+        long buckets = inquiryStatsService.rebuild();
+        return ResponseEntity.ok(Map.of("buckets", buckets));
+    }
+
+    /**
+     * Rebuild the unified inquiry index from the five inquiry tables
+     */
+    @PostMapping("/index/rebuild")
+    public ResponseEntity<?> rebuildIndex() {
+        long rows = inquiryIndexService.rebuild();
+        return ResponseEntity.ok(Map.of("indexed", rows));
+    }
+
+    /**
+     * Stream every inquiry of a service type as CSV (constant memory, flushed per window)
+     */
+    @GetMapping("/{serviceType}/export")
+    public ResponseEntity<StreamingResponseBody> exportInquiries(
+            @PathVariable("serviceType") String serviceTypeName,
+            @RequestParam(value = "status", required = false) InquiryStatus status) {
+        // Body must be typed as StreamingResponseBody for MVC to stream it; errors go through GlobalExceptionHandler
+        String name = resolveServiceTypeByName(serviceTypeName).name();
+        if (!inquiryExportService.supports(name)) {
+            throw new IllegalArgumentException("Unsupported service type: " + name);
+        }
+
+        String filename = name.toLowerCase().replace(' ', '-') + "-inquiries-" + LocalDate.now() + ".csv";
+        StreamingResponseBody body = out -> inquiryExportService.exportCsv(name, status, out);
+        return ResponseEntity.ok()
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+            .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+            .body(body);
+    }
+
     @GetMapping("/{serviceType}/{id}")
     public ResponseEntity<?> getInquiry(@PathVariable("serviceType") String serviceTypeName, @PathVariable Long id) {
         return fetchOne(serviceTypeName, id);
@@ -191,13 +291,13 @@ public class AdminInquiryController {
             @PathVariable("serviceType") String serviceTypeName,
             @PathVariable Long id,
             @RequestBody UpdateFormRequest request) {
-        ServiceTypeEntity serviceType;
+        ServiceTypeRef serviceType;
         try {
             serviceType = resolveServiceTypeByName(serviceTypeName);
         } catch (IllegalArgumentException ex) {
             return ResponseEntity.badRequest().body(Map.of("message", ex.getMessage()));
         }
-        if (!SHIPPING_AGENCY.equals(serviceType.getName())) {
+        if (!SHIPPING_AGENCY.equals(serviceType.name())) {
             return ResponseEntity.badRequest().body(Map.of("message", "Quote form update only supported for shipping agency"));
         }
         return shippingAgencyInquiryRepository.findById(id)
@@ -212,13 +312,13 @@ public class AdminInquiryController {
             @PathVariable("serviceType") String serviceTypeName,
             @PathVariable Long id,
             @RequestBody UpdateHoursRequest request) {
-        ServiceTypeEntity serviceType;
+        ServiceTypeRef serviceType;
         try {
             serviceType = resolveServiceTypeByName(serviceTypeName);
         } catch (IllegalArgumentException ex) {
             return ResponseEntity.badRequest().body(Map.of("message", ex.getMessage()));
         }
-        if (!SHIPPING_AGENCY.equals(serviceType.getName())) {
+        if (!SHIPPING_AGENCY.equals(serviceType.name())) {
             return ResponseEntity.badRequest().body(Map.of("message", "Hours update only supported for shipping agency"));
         }
         return shippingAgencyInquiryRepository.findById(id)
@@ -232,66 +332,167 @@ public class AdminInquiryController {
                 if (request.pilotage3rdMiles() != null) {
                     inquiry.setPilotage3rdMiles(request.pilotage3rdMiles());
                 }
+                disbursementCalculator.applyTo(inquiry);
                 return ResponseEntity.ok(shippingAgencyInquiryRepository.save(inquiry));
             }).orElse(ResponseEntity.notFound().build());
     }
 
+    /**
+     * Proforma disbursement account computed from the configured fee schedule
+     */
+    @GetMapping("/{serviceType}/{id}/disbursement")
+    public ResponseEntity<?> getDisbursement(
+            @PathVariable("serviceType") String serviceTypeName,
+            @PathVariable Long id) {
+        ServiceTypeRef serviceType;
+        try {
+            serviceType = resolveServiceTypeByName(serviceTypeName);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(Map.of("message", ex.getMessage()));
+        }
+        if (!SHIPPING_AGENCY.equals(serviceType.name())) {
+            return ResponseEntity.badRequest().body(Map.of("message", "Disbursement only supported for shipping agency"));
+        }
+        return shippingAgencyInquiryRepository.findById(id)
+            .<ResponseEntity<?>>map(inquiry -> ResponseEntity.ok(disbursementCalculator.calculate(inquiry)))
+            .orElse(ResponseEntity.notFound().build());
+    }
+
     public record UpdateStatusRequest(InquiryStatus status) {}
     public record UpdateFormRequest(String form) {}
     public record UpdateHoursRequest(BigDecimal berthHours, BigDecimal anchorageHours, BigDecimal pilotage3rdMiles) {}
 
     private ResponseEntity<?> fetchPage(String serviceTypeName, InquiryStatus status, Pageable pageable) {
-        ServiceTypeEntity serviceType;
+        ServiceTypeRef serviceType;
         try {
             serviceType = resolveServiceTypeByName(serviceTypeName);
         } catch (IllegalArgumentException ex) {
             return ResponseEntity.badRequest().body(Map.of("message", ex.getMessage()));
         }
 
-        return switch (serviceType.getName()) {
+        return switch (serviceType.name()) {
             case SHIPPING_AGENCY -> {
                 Page<ShippingAgencyInquiry> result = status != null
                     ? shippingAgencyInquiryRepository.findByStatus(status, pageable)
                     : shippingAgencyInquiryRepository.findAll(pageable);
-                yield ResponseEntity.ok(result.map(ShippingAgencyInquiryResponse::from).map(enricher::enrichShippingAgency));
+                yield ResponseEntity.ok(enricher.enrichPage(result.map(ShippingAgencyInquiryResponse::from)));
             }
             case CHARTERING -> {
                 Page<CharteringBrokingInquiry> result = status != null
                     ? charteringBrokingInquiryRepository.findByStatus(status, pageable)
                     : charteringBrokingInquiryRepository.findAll(pageable);
-                yield ResponseEntity.ok(result.map(CharteringBrokingInquiryResponse::from).map(enricher::enrichChartering));
+                yield ResponseEntity.ok(enricher.enrichPage(result.map(CharteringBrokingInquiryResponse::from)));
             }
             case FREIGHT_FORWARDING -> {
                 Page<FreightForwardingInquiry> result = status != null
                     ? freightForwardingInquiryRepository.findByStatus(status, pageable)
                     : freightForwardingInquiryRepository.findAll(pageable);
-                yield ResponseEntity.ok(result.map(FreightForwardingInquiryResponse::from).map(enricher::enrichFreightForwarding));
+                yield ResponseEntity.ok(enricher.enrichPage(result.map(FreightForwardingInquiryResponse::from)));
             }
             case LOGISTICS -> {
                 Page<TotalLogisticInquiry> result = status != null
                     ? totalLogisticInquiryRepository.findByStatus(status, pageable)
                     : totalLogisticInquiryRepository.findAll(pageable);
-                yield ResponseEntity.ok(result.map(TotalLogisticInquiryResponse::from).map(enricher::enrichLogistics));
+                yield ResponseEntity.ok(enricher.enrichPage(result.map(TotalLogisticInquiryResponse::from)));
             }
             case SPECIAL_REQUEST -> {
                 Page<SpecialRequestInquiry> result = status != null
                     ? specialRequestInquiryRepository.findByStatus(status, pageable)
                     : specialRequestInquiryRepository.findAll(pageable);
-                yield ResponseEntity.ok(result.map(SpecialRequestInquiryResponse::from).map(enricher::enrichSpecialRequest));
+                yield ResponseEntity.ok(enricher.enrichPage(result.map(SpecialRequestInquiryResponse::from)));
+            }
+            default -> ResponseEntity.badRequest().body(Map.of("message", "Unsupported service type: " + serviceType.name()));
+        };
+    }
+
+    private ResponseEntity<?> fetchSlice(String serviceTypeName, InquiryStatus status, InquiryCursor cursor, Pageable pageable) {
+        ServiceTypeRef serviceType;
+        try {
+            serviceType = resolveServiceTypeByName(serviceTypeName);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(Map.of("message", ex.getMessage()));
+        }
+
+        return switch (serviceType.name()) {
+            case SHIPPING_AGENCY -> {
+                Slice<ShippingAgencyInquiry> result = cursor != null
+                    ? (status != null
+                        ? shippingAgencyInquiryRepository.findSliceByStatusAfter(status, cursor.submittedAt(), cursor.id(), pageable)
+                        : shippingAgencyInquiryRepository.findSliceAfter(cursor.submittedAt(), cursor.id(), pageable))
+                    : (status != null
+                        ? shippingAgencyInquiryRepository.findSliceByStatus(status, pageable)
+                        : shippingAgencyInquiryRepository.findSliceBy(pageable));
+                yield toSliceResponse(result, ShippingAgencyInquiryResponse::from, i -> InquiryCursor.of(i.getSubmittedAt(), i.getId()));
+            }
+            case CHARTERING -> {
+                Slice<CharteringBrokingInquiry> result = cursor != null
+                    ? (status != null
+                        ? charteringBrokingInquiryRepository.findSliceByStatusAfter(status, cursor.submittedAt(), cursor.id(), pageable)
+                        : charteringBrokingInquiryRepository.findSliceAfter(cursor.submittedAt(), cursor.id(), pageable))
+                    : (status != null
+                        ? charteringBrokingInquiryRepository.findSliceByStatus(status, pageable)
+                        : charteringBrokingInquiryRepository.findSliceBy(pageable));
+                yield toSliceResponse(result, CharteringBrokingInquiryResponse::from, i -> InquiryCursor.of(i.getSubmittedAt(), i.getId()));
             }
-            default -> ResponseEntity.badRequest().body(Map.of("message", "Unsupported service type: " + serviceType.getName()));
+            case FREIGHT_FORWARDING -> {
+                Slice<FreightForwardingInquiry> result = cursor != null
+                    ? (status != null
+                        ? freightForwardingInquiryRepository.findSliceByStatusAfter(status, cursor.submittedAt(), cursor.id(), pageable)
+                        : freightForwardingInquiryRepository.findSliceAfter(cursor.submittedAt(), cursor.id(), pageable))
+                    : (status != null
+                        ? freightForwardingInquiryRepository.findSliceByStatus(status, pageable)
+                        : freightForwardingInquiryRepository.findSliceBy(pageable));
+                yield toSliceResponse(result, FreightForwardingInquiryResponse::from, i -> InquiryCursor.of(i.getSubmittedAt(), i.getId()));
+            }
+            case LOGISTICS -> {
+                Slice<TotalLogisticInquiry> result = cursor != null
+                    ? (status != null
+                        ? totalLogisticInquiryRepository.findSliceByStatusAfter(status, cursor.submittedAt(), cursor.id(), pageable)
+                        : totalLogisticInquiryRepository.findSliceAfter(cursor.submittedAt(), cursor.id(), pageable))
+                    : (status != null
+                        ? totalLogisticInquiryRepository.findSliceByStatus(status, pageable)
+                        : totalLogisticInquiryRepository.findSliceBy(pageable));
+                yield toSliceResponse(result, TotalLogisticInquiryResponse::from, i -> InquiryCursor.of(i.getSubmittedAt(), i.getId()));
+            }
+            case SPECIAL_REQUEST -> {
+                Slice<SpecialRequestInquiry> result = cursor != null
+                    ? (status != null
+                        ? specialRequestInquiryRepository.findSliceByStatusAfter(status, cursor.submittedAt(), cursor.id(), pageable)
+                        : specialRequestInquiryRepository.findSliceAfter(cursor.submittedAt(), cursor.id(), pageable))
+                    : (status != null
+                        ? specialRequestInquiryRepository.findSliceByStatus(status, pageable)
+                        : specialRequestInquiryRepository.findSliceBy(pageable));
+                yield toSliceResponse(result, SpecialRequestInquiryResponse::from, i -> InquiryCursor.of(i.getSubmittedAt(), i.getId()));
+            }
+            default -> ResponseEntity.badRequest().body(Map.of("message", "Unsupported service type: " + serviceType.name()));
         };
     }
 
+    private <E, D extends InquiryUserInfo> ResponseEntity<?> toSliceResponse(
+            Slice<E> slice, Function<E, D> mapper, Function<E, InquiryCursor> cursorOf) {
+        List<D> content = enricher.enrichAll(slice.getContent().stream().map(mapper).toList());
+        String nextCursor = slice.hasNext() && slice.hasContent()
+            ? cursorOf.apply(slice.getContent().get(slice.getNumberOfElements() - 1)).toString()
+            : null;
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("content", content);
+        body.put("size", slice.getSize());
+        body.put("numberOfElements", slice.getNumberOfElements());
+        body.put("hasNext", slice.hasNext());
+        body.put("nextCursor", nextCursor);
+        return ResponseEntity.ok(body);
+    }
+
     private ResponseEntity<?> fetchOne(String serviceTypeName, Long id) {
-        ServiceTypeEntity serviceType;
+        ServiceTypeRef serviceType;
         try {
             serviceType = resolveServiceTypeByName(serviceTypeName);
         } catch (IllegalArgumentException ex) {
             return ResponseEntity.badRequest().body(Map.of("message", ex.getMessage()));
         }
 
-        return switch (serviceType.getName()) {
+        return switch (serviceType.name()) {
             case SHIPPING_AGENCY -> shippingAgencyInquiryRepository.findById(id)
                 .map(ShippingAgencyInquiryResponse::from)
                 .map(enricher::enrichShippingAgency)
@@ -317,7 +518,7 @@ public class AdminInquiryController {
                 .map(enricher::enrichSpecialRequest)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
-            default -> ResponseEntity.badRequest().body(Map.of("message", "Unsupported service type: " + serviceType.getName()));
+            default -> ResponseEntity.badRequest().body(Map.of("message", "Unsupported service type: " + serviceType.name()));
         };
     }
 
@@ -325,76 +526,33 @@ public class AdminInquiryController {
         if (status == null) {
             return ResponseEntity.badRequest().body(Map.of("message", "Status is required"));
         }
-        ServiceTypeEntity serviceType;
+        ServiceTypeRef serviceType;
         try {
             serviceType = resolveServiceTypeByName(serviceTypeName);
         } catch (IllegalArgumentException ex) {
             return ResponseEntity.badRequest().body(Map.of("message", ex.getMessage()));
         }
 
-        return switch (serviceType.getName()) {
-            case SHIPPING_AGENCY -> shippingAgencyInquiryRepository.findById(id)
-                .map(inquiry -> {
-                    inquiry.setStatus(status);
-                    return ResponseEntity.ok(shippingAgencyInquiryRepository.save(inquiry));
-                }).orElse(ResponseEntity.notFound().build());
-            case CHARTERING -> charteringBrokingInquiryRepository.findById(id)
-                .map(inquiry -> {
-                    inquiry.setStatus(status);
-                    return ResponseEntity.ok(charteringBrokingInquiryRepository.save(inquiry));
-                }).orElse(ResponseEntity.notFound().build());
-            case FREIGHT_FORWARDING -> freightForwardingInquiryRepository.findById(id)
-                .map(inquiry -> {
-                    inquiry.setStatus(status);
-                    return ResponseEntity.ok(freightForwardingInquiryRepository.save(inquiry));
-                }).orElse(ResponseEntity.notFound().build());
-            case LOGISTICS -> totalLogisticInquiryRepository.findById(id)
-                .map(inquiry -> {
-                    inquiry.setStatus(status);
-                    return ResponseEntity.ok(totalLogisticInquiryRepository.save(inquiry));
-                }).orElse(ResponseEntity.notFound().build());
-            case SPECIAL_REQUEST -> specialRequestInquiryRepository.findById(id)
-                .map(inquiry -> {
-                    inquiry.setStatus(status);
-                    return ResponseEntity.ok(specialRequestInquiryRepository.save(inquiry));
-                }).orElse(ResponseEntity.notFound().build());
-            default -> ResponseEntity.badRequest().body(Map.of("message", "Unsupported service type: " + serviceType.getName()));
-        };
-    }
-
-    private boolean deleteByService(String serviceTypeName, Long id) throws Exception {
-        ServiceTypeEntity serviceType = resolveServiceTypeByName(serviceTypeName);
-
-        boolean deleted = switch (serviceType.getName()) {
-            case SHIPPING_AGENCY -> deleteIfExists(shippingAgencyInquiryRepository, id);
-            case CHARTERING -> deleteIfExists(charteringBrokingInquiryRepository, id);
-            case FREIGHT_FORWARDING -> deleteIfExists(freightForwardingInquiryRepository, id);
-            case LOGISTICS -> deleteIfExists(totalLogisticInquiryRepository, id);
-            case SPECIAL_REQUEST -> deleteIfExists(specialRequestInquiryRepository, id);
-            default -> false;
-        };
-
-        if (deleted) {
-            // Clean up any attached documents (Cloudinary + DB)
-            inquiryDocumentService.hardDeleteByServiceAndTarget(serviceType.getName(), id);
+        try {
+            return inquiryWriteService.updateStatus(serviceType.name(), id, status)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(Map.of("message", ex.getMessage()));
         }
-
-        return deleted;
     }
 
-    private <T, R extends org.springframework.data.jpa.repository.JpaRepository<T, Long>> boolean deleteIfExists(R repository, Long id) {
-        if (!repository.existsById(id)) {
-            return false;
-        }
-        repository.deleteById(id);
-        return true;
+    private boolean deleteByService(String serviceTypeName, Long id) {
+        ServiceTypeRef serviceType = resolveServiceTypeByName(serviceTypeName);
+        // Attached documents (Cloudinary + DB) are queued for cleanup in the same transaction
+        return inquiryWriteService.delete(serviceType.name(), id);
     }
 
-    private ServiceTypeEntity resolveServiceTypeByName(String name) {
+    private ServiceTypeRef resolveServiceTypeByName(String name) {
         if (name == null || name.isBlank()) {
             throw new IllegalArgumentException("serviceType is required");
         }
-        return serviceTypeRepository.findByName(name.trim())
+        return referenceDataCache.serviceTypeByName(name.trim())
                 .orElseThrow(() -> new IllegalArgumentException("Unsupported service type: " + name));
     }
 }
@@ -1,30 +1,51 @@
 package com.example.seatrans.features.inquiry.controller;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.List;
+import java.util.Set;
 
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.example.seatrans.features.inquiry.dto.ChunkedUploadInitRequest;
+import com.example.seatrans.features.inquiry.dto.ChunkedUploadStatusDTO;
 import com.example.seatrans.features.inquiry.dto.InquiryDocumentDTO;
 import com.example.seatrans.features.inquiry.model.InquiryDocument;
 import com.example.seatrans.features.inquiry.model.InquiryDocument.DocumentType;
+import com.example.seatrans.features.inquiry.model.InquiryDocumentThumbnail;
+import com.example.seatrans.features.inquiry.service.ChunkedUploadService;
+import com.example.seatrans.features.inquiry.service.DocumentProxyService;
+import com.example.seatrans.features.inquiry.service.DocumentThumbnailService;
+import com.example.seatrans.features.inquiry.service.InquiryDocumentBundleService;
 import com.example.seatrans.features.inquiry.service.InquiryDocumentService;
 import com.example.seatrans.shared.dto.ApiResponse;
+import com.example.seatrans.shared.exception.ResourceNotFoundException;
 
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -36,7 +57,14 @@ import lombok.extern.slf4j.Slf4j;
  * - POST   /api/v1/admin/inquiries/{serviceSlug}/{targetId}/documents (Admin Only)
  * - GET    /api/v1/inquiries/{serviceSlug}/{targetId}/documents
  * - GET    /api/v1/inquiries/{serviceSlug}/{targetId}/documents/download/{documentId}
+ * - GET    /api/v1/inquiries/{serviceSlug}/{targetId}/documents/bundle.zip (Admin Only)
+ * - GET    /api/v1/inquiries/{serviceSlug}/{targetId}/documents/thumbnail/{documentId} (Admin or owner)
  * - DELETE /api/v1/admin/inquiries/{serviceSlug}/{targetId}/documents/{documentId} (Admin Only)
+ * - POST   /api/v1/inquiries/admin/{serviceSlug}/{targetId}/documents/uploads (chunked, Admin Only)
+ * - PUT    /api/v1/inquiries/admin/{serviceSlug}/{targetId}/documents/uploads/{uploadId}/chunks/{index}
+ * - GET    /api/v1/inquiries/admin/{serviceSlug}/{targetId}/documents/uploads/{uploadId}
+ * - POST   /api/v1/inquiries/admin/{serviceSlug}/{targetId}/documents/uploads/{uploadId}/complete
+ * - DELETE /api/v1/inquiries/admin/{serviceSlug}/{targetId}/documents/uploads/{uploadId}
  */
 @RestController
 @RequestMapping("/api/v1/inquiries")
@@ -45,6 +73,12 @@ import lombok.extern.slf4j.Slf4j;
 public class InquiryDocumentController {
 
     private final InquiryDocumentService documentService;
+    private final DocumentProxyService documentProxyService;
+    private final ChunkedUploadService chunkedUploadService;
+    private final InquiryDocumentBundleService bundleService;
+    private final DocumentThumbnailService thumbnailService;
+
+    private static final Set<String> STAFF_AUTHORITIES = Set.of("ROLE_ADMIN", "ROLE_EMPLOYEE", "ROLE_INTERNAL");
 
     /**
      * Upload document to a service-specific inquiry (ADMIN ONLY)
@@ -90,6 +124,143 @@ public class InquiryDocumentController {
         }
     }
 
+    /**
+     * Start a resumable chunked upload for files above the multipart limit (ADMIN ONLY)
+     * POST /api/v1/inquiries/admin/{serviceSlug}/{targetId}/documents/uploads
+     * 
+     * Flow: init -> PUT each chunk (raw body, any order, retry only missingChunks) -> complete
+     */
+    @PostMapping("/admin/{serviceSlug}/{targetId}/documents/uploads")
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN','ROLE_EMPLOYEE','ROLE_INTERNAL')")
+    public ResponseEntity<ApiResponse<ChunkedUploadStatusDTO>> initChunkedUpload(
+            @PathVariable String serviceSlug,
+            @PathVariable Long targetId,
+            @RequestBody ChunkedUploadInitRequest body,
+            HttpServletRequest request) {
+
+        Long userId = (Long) request.getAttribute("userId");
+        if (userId == null) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("User not authenticated"));
+        }
+        try {
+            ChunkedUploadStatusDTO status = chunkedUploadService.init(serviceSlug, targetId, body, userId);
+            return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.success("Upload started", status));
+        } catch (IOException e) {
+            log.error("Failed to start chunked upload for {} {}", serviceSlug, targetId, e);
+            return ResponseEntity.status(500).body(ApiResponse.error("Failed to start upload: " + e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid chunked upload request for {} {}: {}", serviceSlug, targetId, e.getMessage());
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    /**
+     * Upload one chunk (raw request body, optional X-Chunk-Checksum = Base64 SHA-256 of the chunk)
+     * PUT /api/v1/inquiries/admin/{serviceSlug}/{targetId}/documents/uploads/{uploadId}/chunks/{index}
+     */
+    @PutMapping("/admin/{serviceSlug}/{targetId}/documents/uploads/{uploadId}/chunks/{index}")
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN','ROLE_EMPLOYEE','ROLE_INTERNAL')")
+    public ResponseEntity<ApiResponse<ChunkedUploadStatusDTO>> uploadChunk(
+            @PathVariable String serviceSlug,
+            @PathVariable Long targetId,
+            @PathVariable String uploadId,
+            @PathVariable int index,
+            @RequestHeader(value = "X-Chunk-Checksum", required = false) String chunkChecksum,
+            HttpServletRequest request) {
+
+        Long userId = (Long) request.getAttribute("userId");
+        if (userId == null) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("User not authenticated"));
+        }
+        try {
+            ChunkedUploadStatusDTO status = chunkedUploadService.putChunk(
+                serviceSlug, targetId, uploadId, index, request.getInputStream(), chunkChecksum, userId);
+            return ResponseEntity.ok(ApiResponse.success("Chunk received", status));
+        } catch (IOException e) {
+            log.error("Failed to store chunk {} of upload {}", index, uploadId, e);
+            return ResponseEntity.status(500).body(ApiResponse.error("Failed to store chunk: " + e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            log.warn("Rejected chunk {} of upload {}: {}", index, uploadId, e.getMessage());
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    /**
+     * Upload progress, used to resume: only missingChunks need to be sent again
+     * GET /api/v1/inquiries/admin/{serviceSlug}/{targetId}/documents/uploads/{uploadId}
+     */
+    @GetMapping("/admin/{serviceSlug}/{targetId}/documents/uploads/{uploadId}")
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN','ROLE_EMPLOYEE','ROLE_INTERNAL')")
+    public ResponseEntity<ApiResponse<ChunkedUploadStatusDTO>> getChunkedUpload(
+            @PathVariable String serviceSlug,
+            @PathVariable Long targetId,
+            @PathVariable String uploadId,
+            HttpServletRequest request) {
+
+        Long userId = (Long) request.getAttribute("userId");
+        if (userId == null) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("User not authenticated"));
+        }
+        try {
+            ChunkedUploadStatusDTO status = chunkedUploadService.getStatus(serviceSlug, targetId, uploadId, userId);
+            return ResponseEntity.ok(ApiResponse.success("Upload status retrieved successfully", status));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    /**
+     * Finish a chunked upload and create the document
+     * POST /api/v1/inquiries/admin/{serviceSlug}/{targetId}/documents/uploads/{uploadId}/complete
+     */
+    @PostMapping("/admin/{serviceSlug}/{targetId}/documents/uploads/{uploadId}/complete")
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN','ROLE_EMPLOYEE','ROLE_INTERNAL')")
+    public ResponseEntity<ApiResponse<InquiryDocumentDTO>> completeChunkedUpload(
+            @PathVariable String serviceSlug,
+            @PathVariable Long targetId,
+            @PathVariable String uploadId,
+            HttpServletRequest request) {
+
+        Long userId = (Long) request.getAttribute("userId");
+        if (userId == null) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("User not authenticated"));
+        }
+        try {
+            InquiryDocumentDTO document = chunkedUploadService.complete(serviceSlug, targetId, uploadId, userId);
+            return ResponseEntity.ok(ApiResponse.success("Document uploaded successfully", document));
+        } catch (IOException e) {
+            log.error("Failed to complete chunked upload {}", uploadId, e);
+            return ResponseEntity.status(500).body(ApiResponse.error("Failed to upload document: " + e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            log.warn("Cannot complete chunked upload {}: {}", uploadId, e.getMessage());
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    /**
+     * Cancel a chunked upload and delete its chunks
+     * DELETE /api/v1/inquiries/admin/{serviceSlug}/{targetId}/documents/uploads/{uploadId}
+     */
+    @DeleteMapping("/admin/{serviceSlug}/{targetId}/documents/uploads/{uploadId}")
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN','ROLE_EMPLOYEE','ROLE_INTERNAL')")
+    public ResponseEntity<ApiResponse<Void>> abortChunkedUpload(
+            @PathVariable String serviceSlug,
+            @PathVariable Long targetId,
+            @PathVariable String uploadId,
+            HttpServletRequest request) {
+
+        Long userId = (Long) request.getAttribute("userId");
+        if (userId == null) {
+            return ResponseEntity.badRequest().body(ApiResponse.<Void>error("User not authenticated"));
+        }
+        try {
+            chunkedUploadService.abort(serviceSlug, targetId, uploadId, userId);
+            return ResponseEntity.ok(ApiResponse.<Void>success("Upload cancelled", null));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.<Void>error(e.getMessage()));
+        }
+    }
+
     /**
      * Convert stored Cloudinary URL to raw delivery (needed for PDFs uploaded as raw).
      * If url is null/blank, returns null.
@@ -159,6 +330,72 @@ public class InquiryDocumentController {
         return serveFile(serviceSlug, targetId, documentId);
     }
 
+    /**
+     * Download all documents of an inquiry as one ZIP, streamed while the files are fetched
+     * GET /api/v1/inquiries/{serviceSlug}/{targetId}/documents/bundle.zip
+     */
+    @GetMapping("/{serviceSlug}/{targetId}/documents/bundle.zip")
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN','ROLE_EMPLOYEE','ROLE_INTERNAL')")
+    public ResponseEntity<StreamingResponseBody> downloadBundle(
+            @PathVariable String serviceSlug,
+            @PathVariable Long targetId) {
+        // Errors are thrown (GlobalExceptionHandler): the body type must stay StreamingResponseBody
+        List<InquiryDocument> documents = bundleService.getBundleDocuments(serviceSlug, targetId);
+        if (documents.isEmpty()) {
+            throw new IllegalArgumentException("Documents not found for inquiry " + serviceSlug + "/" + targetId);
+        }
+
+        String fileName = serviceSlug + "-" + targetId + "-documents.zip";
+        return ResponseEntity.ok()
+            .header(HttpHeaders.CONTENT_TYPE, "application/zip")
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+            .body(out -> bundleService.writeZip(documents, out));
+    }
+
+    /**
+     * First-page thumbnail of a document (rendered in the background after upload)
+     * GET /api/v1/inquiries/{serviceSlug}/{targetId}/documents/thumbnail/{documentId}
+     * 
+     * Staff or the user who submitted the inquiry only. Thumbnails never change for a document, so the
+     * browser may cache them (private: shared caches must not serve them to others); ETag allows revalidation.
+     */
+    @GetMapping("/{serviceSlug}/{targetId}/documents/thumbnail/{documentId}")
+    public ResponseEntity<byte[]> getThumbnail(
+            @PathVariable String serviceSlug,
+            @PathVariable Long targetId,
+            @PathVariable Long documentId,
+            WebRequest webRequest,
+            HttpServletRequest request,
+            Authentication authentication) {
+        boolean staff = authentication != null && authentication.getAuthorities().stream()
+            .anyMatch(authority -> STAFF_AUTHORITIES.contains(authority.getAuthority()));
+        if (!staff && !documentService.isInquiryOwner(serviceSlug, targetId, (Long) request.getAttribute("userId"))) {
+            // Same answer as a missing document: do not reveal which inquiries exist
+            throw new ResourceNotFoundException("Thumbnail not found for document: " + documentId);
+        }
+
+        InquiryDocument document = documentService.getDocumentById(documentId);
+        if (!document.getServiceSlug().equals(serviceSlug) || !document.getTargetId().equals(targetId)) {
+            throw new IllegalArgumentException("Document does not belong to the specified inquiry");
+        }
+        if (!Boolean.TRUE.equals(document.getIsActive())) {
+            throw new ResourceNotFoundException("Thumbnail not found for document: " + documentId);
+        }
+
+        InquiryDocumentThumbnail thumbnail = thumbnailService.getThumbnail(documentId)
+            .orElseThrow(() -> new IllegalArgumentException("Thumbnail not found for document: " + documentId));
+        String etag = "\"thumb-" + documentId + "-" + thumbnail.getId() + "\"";
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        return ResponseEntity.ok()
+            .header(HttpHeaders.CONTENT_TYPE, thumbnail.getContentType())
+            .eTag(etag)
+            .cacheControl(CacheControl.maxAge(Duration.ofDays(30)).cachePrivate())
+            .body(thumbnail.getContent());
+    }
+
     /**
      * Preview document file (Bypass IDM interception by not using 'download' keyword)
      * GET /api/inquiries/{serviceSlug}/{targetId}/documents/view/{documentId}
@@ -167,74 +404,47 @@ public class InquiryDocumentController {
      * and to support PDF.js which cannot follow 302 redirects properly.
      */
     @GetMapping("/{serviceSlug}/{targetId}/documents/view/{documentId}")
-    public ResponseEntity<?> previewDocument(
+    public ResponseEntity<StreamingResponseBody> previewDocument(
             @PathVariable String serviceSlug,
             @PathVariable Long targetId,
-            @PathVariable Long documentId) {
-        
-         try {
-            InquiryDocument document = documentService.getDocumentById(documentId);
-            
-            if (!document.getServiceSlug().equals(serviceSlug) || !document.getTargetId().equals(targetId)) {
-                return ResponseEntity.badRequest()
-                    .body(ApiResponse.error("Document does not belong to the specified inquiry"));
-            }
-            
-            // If stored on Cloudinary, proxy the file content instead of redirecting
-            // This avoids CORS issues and allows PDF.js to properly load the file
-            String cloudinaryUrl = document.getCloudinaryUrl();
-            if (cloudinaryUrl != null && !cloudinaryUrl.isBlank()) {
-                try {
-                    // Fetch the file from Cloudinary and proxy it
-                    java.net.URL url = new java.net.URL(cloudinaryUrl);
-                    java.net.HttpURLConnection conn = (java.net.HttpURLConnection) url.openConnection();
-                    conn.setRequestMethod("GET");
-                    conn.setConnectTimeout(10000);
-                    conn.setReadTimeout(30000);
-                    
-                    int responseCode = conn.getResponseCode();
-                    if (responseCode == 200) {
-                        byte[] fileContent = conn.getInputStream().readAllBytes();
-                        conn.disconnect();
-                        
-                        return ResponseEntity.ok()
-                            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_PDF_VALUE)
-                            .header(HttpHeaders.CONTENT_LENGTH, String.valueOf(fileContent.length))
-                            .header(HttpHeaders.CACHE_CONTROL, "public, max-age=86400") // Cache for 1 day
-                            .body(fileContent);
-                    } else {
-                        conn.disconnect();
-                        log.warn("Cloudinary returned {} for document {}", responseCode, documentId);
-                        return ResponseEntity.status(responseCode)
-                            .body(ApiResponse.error("Failed to fetch document from storage"));
-                    }
-                } catch (Exception e) {
-                    log.error("Failed to proxy document from Cloudinary: {}", documentId, e);
-                    return ResponseEntity.status(500)
-                        .body(ApiResponse.error("Failed to fetch document from storage"));
-                }
-            }
-            
-            Path filePath = Paths.get(document.getFilePath());
-            if (!Files.exists(filePath)) {
-                return ResponseEntity.notFound().build();
+            @PathVariable Long documentId,
+            HttpServletRequest request) throws IOException {
+        // Errors are thrown (GlobalExceptionHandler): the body type must stay StreamingResponseBody
+        InquiryDocument document = documentService.getDocumentById(documentId);
+
+        if (!document.getServiceSlug().equals(serviceSlug) || !document.getTargetId().equals(targetId)) {
+            throw new IllegalArgumentException("Document does not belong to the specified inquiry");
+        }
+
+        // If stored on Cloudinary, stream the file through instead of redirecting
+        // This avoids CORS issues and allows PDF.js to load it with range requests
+        String cloudinaryUrl = document.getCloudinaryUrl();
+        if (cloudinaryUrl != null && !cloudinaryUrl.isBlank()) {
+            try {
+                return documentProxyService.servePdf(document, request);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.error("Interrupted while proxying document {}", documentId);
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+            } catch (IOException e) {
+                log.error("Failed to proxy document from Cloudinary: {}", documentId, e);
+                return ResponseEntity.status(HttpStatus.BAD_GATEWAY).build();
             }
-            
-            byte[] fileContent = Files.readAllBytes(filePath);
+        }
 
-            return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_PDF_VALUE)
-                .header(HttpHeaders.CONTENT_LENGTH, String.valueOf(fileContent.length))
-                .body(fileContent);
-            
-        } catch (IOException e) {
-            log.error("Failed to download document {}", documentId, e);
-            return ResponseEntity.status(500)
-                .body(ApiResponse.error("Failed to download document"));
-        } catch (IllegalArgumentException e) {
-            log.warn("Document not found: {}", documentId);
+        Path filePath = Paths.get(document.getFilePath());
+        if (!Files.exists(filePath)) {
             return ResponseEntity.notFound().build();
         }
+
+        return ResponseEntity.ok()
+            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_PDF_VALUE)
+            .header(HttpHeaders.CONTENT_LENGTH, String.valueOf(Files.size(filePath)))
+            .body(out -> {
+                try (InputStream in = Files.newInputStream(filePath)) {
+                    in.transferTo(out);
+                }
+            });
     }
 
     private ResponseEntity<?> serveFile(String serviceSlug, Long targetId, Long documentId) {
@@ -5,10 +5,15 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -25,31 +30,35 @@ import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.example.seatrans.features.auth.dto.UserProfile;
 import com.example.seatrans.features.auth.service.UserService;
 import com.example.seatrans.features.inquiry.dto.CharteringBrokingInquiryResponse;
 import com.example.seatrans.features.inquiry.dto.FreightForwardingInquiryResponse;
-import com.example.seatrans.features.inquiry.dto.InquiryDocumentDTO;
+import com.example.seatrans.features.inquiry.dto.InquiryUserInfo;
 import com.example.seatrans.features.inquiry.dto.PublicInquiryRequest;
 import com.example.seatrans.features.inquiry.dto.ShippingAgencyInquiryResponse;
 import com.example.seatrans.features.inquiry.dto.SpecialRequestInquiryResponse;
 import com.example.seatrans.features.inquiry.dto.TotalLogisticInquiryResponse;
 import com.example.seatrans.features.inquiry.model.CharteringBrokingInquiry;
 import com.example.seatrans.features.inquiry.model.FreightForwardingInquiry;
-import com.example.seatrans.features.inquiry.model.InquiryDocument.DocumentType;
+import com.example.seatrans.features.inquiry.model.InquiryAttachmentUpload;
+import com.example.seatrans.features.inquiry.model.InquiryIndex;
 import com.example.seatrans.features.inquiry.model.InquiryStatus;
 import com.example.seatrans.features.inquiry.model.ShippingAgencyInquiry;
 import com.example.seatrans.features.inquiry.model.SpecialRequestInquiry;
 import com.example.seatrans.features.inquiry.model.TotalLogisticInquiry;
 import com.example.seatrans.features.inquiry.repository.CharteringBrokingInquiryRepository;
 import com.example.seatrans.features.inquiry.repository.FreightForwardingInquiryRepository;
+import com.example.seatrans.features.inquiry.repository.InquiryIndexRepository;
 import com.example.seatrans.features.inquiry.repository.ShippingAgencyInquiryRepository;
 import com.example.seatrans.features.inquiry.repository.SpecialRequestInquiryRepository;
 import com.example.seatrans.features.inquiry.repository.TotalLogisticInquiryRepository;
-import com.example.seatrans.features.inquiry.service.InquiryDocumentService;
-import com.example.seatrans.features.logistics.model.ServiceTypeEntity;
-import com.example.seatrans.features.logistics.repository.ServiceTypeRepository;
-import com.example.seatrans.features.ports.repository.PortRepository;
-import com.example.seatrans.features.provinces.repository.ProvinceRepository;
+import com.example.seatrans.features.inquiry.service.InquiryAttachmentService;
+import com.example.seatrans.features.inquiry.service.InquiryBatchDeleteService;
+import com.example.seatrans.features.inquiry.service.InquiryResponseEnricher;
+import com.example.seatrans.features.inquiry.service.InquiryWriteService;
+import com.example.seatrans.shared.service.ReferenceDataCache;
+import com.example.seatrans.shared.service.ReferenceDataCache.ServiceTypeRef;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import jakarta.servlet.http.HttpServletRequest;
@@ -66,11 +75,13 @@ public class PublicInquiryController {
     private final FreightForwardingInquiryRepository freightForwardingInquiryRepository;
     private final SpecialRequestInquiryRepository specialRequestInquiryRepository;
     private final TotalLogisticInquiryRepository totalLogisticInquiryRepository;
-    private final InquiryDocumentService documentService;
+    private final InquiryAttachmentService attachmentService;
+    private final InquiryIndexRepository inquiryIndexRepository;
+    private final InquiryWriteService inquiryWriteService;
+    private final InquiryBatchDeleteService batchDeleteService;
+    private final InquiryResponseEnricher enricher;
     private final UserService userService;
-    private final ServiceTypeRepository serviceTypeRepository;
-    private final PortRepository portRepository;
-    private final ProvinceRepository provinceRepository;
+    private final ReferenceDataCache referenceDataCache;
     private final ObjectMapper objectMapper;
 
     private static final String SHIPPING_AGENCY = "SHIPPING AGENCY";
@@ -85,22 +96,26 @@ public class PublicInquiryController {
             FreightForwardingInquiryRepository freightForwardingInquiryRepository,
             SpecialRequestInquiryRepository specialRequestInquiryRepository,
             TotalLogisticInquiryRepository totalLogisticInquiryRepository,
-            InquiryDocumentService documentService,
+            InquiryAttachmentService attachmentService,
+            InquiryIndexRepository inquiryIndexRepository,
+            InquiryWriteService inquiryWriteService,
+            InquiryBatchDeleteService batchDeleteService,
+            InquiryResponseEnricher enricher,
             UserService userService,
-            ServiceTypeRepository serviceTypeRepository,
-            PortRepository portRepository,
-            ProvinceRepository provinceRepository,
+            ReferenceDataCache referenceDataCache,
             ObjectMapper objectMapper) {
         this.shippingAgencyInquiryRepository = shippingAgencyInquiryRepository;
         this.charteringBrokingInquiryRepository = charteringBrokingInquiryRepository;
         this.freightForwardingInquiryRepository = freightForwardingInquiryRepository;
         this.specialRequestInquiryRepository = specialRequestInquiryRepository;
         this.totalLogisticInquiryRepository = totalLogisticInquiryRepository;
-        this.documentService = documentService;
+        this.attachmentService = attachmentService;
+        this.inquiryIndexRepository = inquiryIndexRepository;
+        this.inquiryWriteService = inquiryWriteService;
+        this.batchDeleteService = batchDeleteService;
+        this.enricher = enricher;
         this.userService = userService;
-        this.serviceTypeRepository = serviceTypeRepository;
-        this.portRepository = portRepository;
-        this.provinceRepository = provinceRepository;
+        this.referenceDataCache = referenceDataCache;
         this.objectMapper = objectMapper;
     }
 
@@ -126,145 +141,87 @@ public class PublicInquiryController {
                     "message", "You can only view your own inquiries"));
         }
 
-        Pageable pageable = Pageable.unpaged();
-
-        // Filter by serviceType if provided (exact name as stored in DB)
+        // Filter by serviceType if provided (name matched ignoring case, queried with the stored name)
         boolean filterService = serviceType != null && !serviceType.isBlank();
-        String requestedServiceName = filterService ? serviceType.trim() : null;
-
-        Map<String, ServiceTypeEntity> serviceTypes = serviceTypeRepository.findAll().stream()
-            .collect(Collectors.toMap(ServiceTypeEntity::getName, st -> st, (a, b) -> a));
+        ReferenceDataCache.Snapshot referenceData = referenceDataCache.snapshot();
+        ServiceTypeRef requestedType = filterService ? referenceData.serviceTypeByName(serviceType) : null;
 
-        if (filterService && !serviceTypes.containsKey(requestedServiceName)) {
-            return ResponseEntity.badRequest().body(Map.of("message", "Unsupported service type: " + requestedServiceName));
+        if (filterService && requestedType == null) {
+            return ResponseEntity.badRequest().body(Map.of("message", "Unsupported service type: " + serviceType.trim()));
         }
-
-        ServiceTypeEntity shippingType = serviceTypes.get(SHIPPING_AGENCY);
-        ServiceTypeEntity charteringType = serviceTypes.get(CHARTERING);
-        ServiceTypeEntity freightType = serviceTypes.get(FREIGHT_FORWARDING);
-        ServiceTypeEntity logisticsType = serviceTypes.get(LOGISTICS);
-        ServiceTypeEntity specialType = serviceTypes.get(SPECIAL_REQUEST);
-
-        if (shippingType == null || charteringType == null || freightType == null || logisticsType == null || specialType == null) {
-            log.error("Service type configuration is missing in database");
-            return ResponseEntity.status(500).body(Map.of("message", "Service type configuration is missing"));
+        String requestedServiceName = filterService ? requestedType.name() : null;
+
+        // Page over the unified inquiry index, then hydrate only the rows of this page
+        Pageable pageable = PageRequest.of(page, size,
+            Sort.by(Sort.Direction.DESC, "submittedAt").and(Sort.by(Sort.Direction.DESC, "id")));
+        Page<InquiryIndex> entries = filterService
+            ? inquiryIndexRepository.findByUserIdAndServiceType(userId, requestedServiceName, pageable)
+            : inquiryIndexRepository.findByUserId(userId, pageable);
+
+        Map<String, List<Long>> idsByService = entries.getContent().stream()
+            .collect(Collectors.groupingBy(InquiryIndex::getServiceType,
+                Collectors.mapping(InquiryIndex::getTargetId, Collectors.toList())));
+        Map<String, Map<Long, InquiryUserInfo>> dtosByService = new HashMap<>();
+        idsByService.forEach((serviceName, ids) -> dtosByService.put(serviceName, loadResponses(serviceName, ids)));
+
+        List<InquiryUserInfo> dtos = new ArrayList<>();
+        List<ServiceTypeRef> types = new ArrayList<>();
+        for (InquiryIndex entry : entries.getContent()) {
+            InquiryUserInfo dto = dtosByService.getOrDefault(entry.getServiceType(), Map.of()).get(entry.getTargetId());
+            ServiceTypeRef type = referenceData.serviceTypeByName(entry.getServiceType());
+            if (dto == null || type == null) {
+                log.warn("Inquiry index entry is stale: serviceType={}, targetId={}", entry.getServiceType(), entry.getTargetId());
+                continue;
+            }
+            dtos.add(dto);
+            types.add(type);
         }
 
-        // Aggregate inquiries based on serviceType filter
-        var shippingAgency = includeService(requestedServiceName, SHIPPING_AGENCY)
-            ? shippingAgencyInquiryRepository.findByUserId(userId, pageable).getContent()
-            : List.<ShippingAgencyInquiry>of();
-        var chartering = includeService(requestedServiceName, CHARTERING)
-            ? charteringBrokingInquiryRepository.findByUserId(userId, pageable).getContent()
-            : List.<CharteringBrokingInquiry>of();
-        var freight = includeService(requestedServiceName, FREIGHT_FORWARDING)
-            ? freightForwardingInquiryRepository.findByUserId(userId, pageable).getContent()
-            : List.<FreightForwardingInquiry>of();
-        var logistics = includeService(requestedServiceName, LOGISTICS)
-            ? totalLogisticInquiryRepository.findByUserId(userId, pageable).getContent()
-            : List.<TotalLogisticInquiry>of();
-        var special = includeService(requestedServiceName, SPECIAL_REQUEST)
-            ? specialRequestInquiryRepository.findByUserId(userId, pageable).getContent()
-            : List.<SpecialRequestInquiry>of();
-
-        List<Map<String, Object>> all = new ArrayList<>();
-        
-        // Helper to enrich with user info
-        java.util.function.BiConsumer<Map<String, Object>, Long> enrichUserInfo = (item, uid) -> {
-            try {
-                var user = userService.getUserById(uid);
-                if (user != null) {
-                    item.put("email", user.getEmail());
-                    item.put("phone", user.getPhone());
-                    item.put("company", user.getCompany());
-                    // Also update fullName from user if not present
-                    if (!item.containsKey("fullName") || item.get("fullName") == null) {
-                        item.put("fullName", user.getFullName());
-                    }
-                }
-            } catch (Exception e) {
-                log.warn("Could not enrich user info for userId {}: {}", uid, e.getMessage());
-            }
-        };
-        
-        shippingAgency.forEach(i -> {
-            ShippingAgencyInquiryResponse dto = ShippingAgencyInquiryResponse.from(i);
-            Map<String, Object> item = objectMapper.convertValue(dto, Map.class);
-            item.put("serviceType", Map.of(
-                "id", shippingType.getId(),
-                "name", shippingType.getName(),
-                "displayName", shippingType.getDisplayName()
-            ));
-            enrichUserInfo.accept(item, i.getUserId());
-            all.add(item);
-        });
-        chartering.forEach(i -> {
-            CharteringBrokingInquiryResponse dto = CharteringBrokingInquiryResponse.from(i);
-            Map<String, Object> item = objectMapper.convertValue(dto, Map.class);
-            item.put("serviceType", Map.of(
-                "id", charteringType.getId(),
-                "name", charteringType.getName(),
-                "displayName", charteringType.getDisplayName()
-            ));
-            enrichUserInfo.accept(item, i.getUserId());
-            all.add(item);
-        });
-        freight.forEach(i -> {
-            FreightForwardingInquiryResponse dto = FreightForwardingInquiryResponse.from(i);
-            Map<String, Object> item = objectMapper.convertValue(dto, Map.class);
-            item.put("serviceType", Map.of(
-                "id", freightType.getId(),
-                "name", freightType.getName(),
-                "displayName", freightType.getDisplayName()
-            ));
-            enrichUserInfo.accept(item, i.getUserId());
-            all.add(item);
-        });
-        logistics.forEach(i -> {
-            TotalLogisticInquiryResponse dto = TotalLogisticInquiryResponse.from(i);
-            Map<String, Object> item = objectMapper.convertValue(dto, Map.class);
-            item.put("serviceType", Map.of(
-                "id", logisticsType.getId(),
-                "name", logisticsType.getName(),
-                "displayName", logisticsType.getDisplayName()
-            ));
-            enrichUserInfo.accept(item, i.getUserId());
-            all.add(item);
-        });
-        special.forEach(i -> {
-            SpecialRequestInquiryResponse dto = SpecialRequestInquiryResponse.from(i);
-            Map<String, Object> item = objectMapper.convertValue(dto, Map.class);
+        // Fill user contact fields for the whole page in one lookup
+        enricher.enrichAll(dtos);
+
+        List<Map<String, Object>> slice = new ArrayList<>();
+        for (int i = 0; i < dtos.size(); i++) {
+            ServiceTypeRef type = types.get(i);
+            Map<String, Object> item = objectMapper.convertValue(dtos.get(i), Map.class);
             item.put("serviceType", Map.of(
-                "id", specialType.getId(),
-                "name", specialType.getName(),
-                "displayName", specialType.getDisplayName()
+                "id", type.id(),
+                "name", type.name(),
+                "displayName", type.displayName()
             ));
-            enrichUserInfo.accept(item, i.getUserId());
-            all.add(item);
-        });
-
-        // Sort by submittedAt descending
-        all.sort((a, b) -> {
-            String aTime = (String) a.get("submittedAt");
-            String bTime = (String) b.get("submittedAt");
-            return bTime.compareTo(aTime);
-        });
-
-        // Simple page slice
-        int from = Math.min(page * size, all.size());
-        int to = Math.min(from + size, all.size());
-        List<Map<String, Object>> slice = all.subList(from, to);
-        int totalPages = (int) Math.ceil(all.size() / (double) size);
+            slice.add(item);
+        }
 
         return ResponseEntity.ok(Map.of(
             "content", slice,
-            "totalElements", all.size(),
-            "totalPages", totalPages,
+            "totalElements", entries.getTotalElements(),
+            "totalPages", entries.getTotalPages(),
             "size", size,
             "number", page
         ));
     }
 
+    /**
+     * Load response DTOs for one service type with a single IN query, keyed by inquiry id
+     */
+    private Map<Long, InquiryUserInfo> loadResponses(String serviceName, List<Long> ids) {
+        Map<Long, InquiryUserInfo> result = new HashMap<>();
+        switch (serviceName) {
+            case SHIPPING_AGENCY -> shippingAgencyInquiryRepository.findAllById(ids)
+                .forEach(i -> result.put(i.getId(), ShippingAgencyInquiryResponse.from(i)));
+            case CHARTERING -> charteringBrokingInquiryRepository.findAllById(ids)
+                .forEach(i -> result.put(i.getId(), CharteringBrokingInquiryResponse.from(i)));
+            case FREIGHT_FORWARDING -> freightForwardingInquiryRepository.findAllById(ids)
+                .forEach(i -> result.put(i.getId(), FreightForwardingInquiryResponse.from(i)));
+            case LOGISTICS -> totalLogisticInquiryRepository.findAllById(ids)
+                .forEach(i -> result.put(i.getId(), TotalLogisticInquiryResponse.from(i)));
+            case SPECIAL_REQUEST -> specialRequestInquiryRepository.findAllById(ids)
+                .forEach(i -> result.put(i.getId(), SpecialRequestInquiryResponse.from(i)));
+            default -> log.warn("Unknown service type in inquiry index: {}", serviceName);
+        }
+        return result;
+    }
+
     @GetMapping
     public ResponseEntity<?> listPublic(
             @RequestParam("serviceSlug") String serviceSlug,
@@ -317,20 +274,20 @@ public class PublicInquiryController {
             request.setServiceTypeSlug(serviceSlugOverride);
         }
 
-        ServiceTypeEntity serviceType;
+        ServiceTypeRef serviceType;
         try {
             serviceType = request.getServiceTypeId() != null
-                ? serviceTypeRepository.findById(request.getServiceTypeId())
+                ? referenceDataCache.serviceType(request.getServiceTypeId())
                     .orElseThrow(() -> new IllegalArgumentException("Invalid service type ID"))
                 : resolveServiceTypeBySlug(request.getServiceTypeSlug());
         } catch (IllegalArgumentException ex) {
             return ResponseEntity.badRequest().body(Map.of("message", ex.getMessage()));
         }
 
-        // Get authenticated user
-        com.example.seatrans.features.auth.model.User currentUser;
+        // Get authenticated user (cached profile snapshot)
+        UserProfile currentUser;
         try {
-            currentUser = userService.getUserByEmail(principal.getName());
+            currentUser = userService.getUserProfileByEmail(principal.getName());
         } catch (Exception ex) {
             return ResponseEntity.status(401).body(Map.of(
                 "message", "User not found. Please log in again.",
@@ -346,31 +303,16 @@ public class PublicInquiryController {
             ));
         }
 
-        String serviceName = serviceType.getName();
+        String serviceName = serviceType.name();
 
         Long targetId;
 
         switch (serviceName) {
-            case SHIPPING_AGENCY -> {
-                ShippingAgencyInquiry inquiry = buildShippingAgency(currentUser.getId(), request);
-                targetId = shippingAgencyInquiryRepository.save(inquiry).getId();
-            }
-            case CHARTERING -> {
-                CharteringBrokingInquiry inquiry = buildChartering(currentUser.getId(), request);
-                targetId = charteringBrokingInquiryRepository.save(inquiry).getId();
-            }
-            case FREIGHT_FORWARDING -> {
-                FreightForwardingInquiry inquiry = buildFreight(currentUser.getId(), request);
-                targetId = freightForwardingInquiryRepository.save(inquiry).getId();
-            }
-            case LOGISTICS -> {
-                TotalLogisticInquiry inquiry = buildLogistics(currentUser.getId(), request);
-                targetId = totalLogisticInquiryRepository.save(inquiry).getId();
-            }
-            case SPECIAL_REQUEST -> {
-                SpecialRequestInquiry inquiry = buildSpecialRequest(currentUser.getId(), request);
-                targetId = specialRequestInquiryRepository.save(inquiry).getId();
-            }
+            case SHIPPING_AGENCY -> targetId = inquiryWriteService.submit(buildShippingAgency(currentUser.getId(), request)).getId();
+            case CHARTERING -> targetId = inquiryWriteService.submit(buildChartering(currentUser.getId(), request)).getId();
+            case FREIGHT_FORWARDING -> targetId = inquiryWriteService.submit(buildFreight(currentUser.getId(), request)).getId();
+            case LOGISTICS -> targetId = inquiryWriteService.submit(buildLogistics(currentUser.getId(), request)).getId();
+            case SPECIAL_REQUEST -> targetId = inquiryWriteService.submit(buildSpecialRequest(currentUser.getId(), request)).getId();
             default -> {
                 return ResponseEntity.badRequest().body(Map.of(
                     "message", "Unsupported service type: " + serviceName
@@ -378,63 +320,73 @@ public class PublicInquiryController {
             }
         }
 
+        // Attachments are spooled to disk and uploaded in the background
+        String submissionId = null;
         if (files != null && files.length > 0) {
             try {
-                Long uploaderId = currentUser.getId();
-                log.info("Saving {} attachments for serviceName={}, targetId={}, uploaderId={}", 
-                    files.length, serviceName, targetId, uploaderId);
-                saveAttachments(serviceName, targetId, files, uploaderId);
-                log.info("Successfully saved {} attachments", files.length);
-            } catch (IOException | IllegalArgumentException e) {
+                submissionId = attachmentService.submit(serviceName, targetId, currentUser.getId(), files);
+            } catch (IOException e) {
                 // Log error but don't fail the inquiry submission
-                log.error("Failed to save attachments for serviceName={}, targetId={}: {}", 
+                log.error("Failed to spool attachments for serviceName={}, targetId={}: {}", 
                     serviceName, targetId, e.getMessage(), e);
             }
         }
 
-        return ResponseEntity.ok(Map.of(
-            "message", "Inquiry submitted successfully.",
-            "serviceSlug", serviceName,
-            "targetId", targetId
-        ));
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("message", "Inquiry submitted successfully.");
+        body.put("serviceSlug", serviceName);
+        body.put("targetId", targetId);
+        if (submissionId != null) {
+            body.put("submissionId", submissionId);
+        }
+        return ResponseEntity.ok(body);
     }
 
     /**
-     * Resolve service type by slug-style input (e.g., "special-request") by
-     * attempting exact name match, then title-cased name with spaces.
+     * GET /api/v1/inquiries/submissions/{submissionId}
+     * Per-attachment upload progress of a submission (owner only)
      */
-    private ServiceTypeEntity resolveServiceTypeBySlug(String slug) {
-        if (slug == null || slug.isBlank()) {
-            throw new IllegalArgumentException("Service type name is required");
+    @GetMapping("/submissions/{submissionId}")
+    public ResponseEntity<?> getSubmissionStatus(@PathVariable String submissionId, HttpServletRequest request) {
+        Long currentUserId = (Long) request.getAttribute("userId");
+        if (currentUserId == null) {
+            return ResponseEntity.status(401).body(Map.of(
+                "message", "Please log in to view submission status.",
+                "code", "AUTHENTICATION_REQUIRED"
+            ));
         }
 
-        return serviceTypeRepository.findByName(slug.trim())
-                .orElseThrow(() -> new IllegalArgumentException("Invalid service type: " + slug));
-    }
-
-    private void saveAttachments(String serviceSlug, Long targetId, MultipartFile[] files, Long uploaderId) throws IOException {
-        if (files == null || files.length == 0) {
-            return;
+        List<InquiryAttachmentUpload> uploads = attachmentService.getSubmission(submissionId);
+        if (uploads.isEmpty() || uploads.stream().anyMatch(u -> !currentUserId.equals(u.getUploaderId()))) {
+            return ResponseEntity.status(404).body(Map.of("message", "Submission not found"));
         }
 
-        for (MultipartFile file : files) {
-            if (file.isEmpty()) {
-                log.warn("Skipping empty file");
-                continue;
-            }
+        boolean inProgress = uploads.stream()
+            .anyMatch(u -> u.getStatus() == InquiryAttachmentUpload.Status.PENDING
+                || u.getStatus() == InquiryAttachmentUpload.Status.UPLOADING);
+        boolean anyFailed = uploads.stream().anyMatch(u -> u.getStatus() == InquiryAttachmentUpload.Status.FAILED);
+        InquiryAttachmentUpload first = uploads.get(0);
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("submissionId", submissionId);
+        body.put("serviceSlug", first.getServiceSlug());
+        body.put("targetId", first.getTargetId());
+        body.put("status", inProgress ? "IN_PROGRESS" : anyFailed ? "COMPLETED_WITH_ERRORS" : "COMPLETED");
+        body.put("attachments", attachmentService.toDTOs(uploads));
+        return ResponseEntity.ok(body);
+    }
 
-            log.info("Uploading file: name={}, size={}, type={}", 
-                    file.getOriginalFilename(), file.getSize(), file.getContentType());
-            
-            try {
-                InquiryDocumentDTO doc = documentService.uploadDocument(
-                    serviceSlug, targetId, DocumentType.OTHER, file, "User attachment", uploaderId);
-                log.info("Successfully uploaded document: id={}", doc.getId());
-            } catch (Exception e) {
-                log.error("Failed to upload file {}: {}", file.getOriginalFilename(), e.getMessage(), e);
-                throw e;
-            }
+    /**
+     * Resolve service type by its name (e.g., "SPECIAL REQUEST"), ignoring case.
+     * Slug-style input ("special-request") is not translated and is rejected.
+     */
+    private ServiceTypeRef resolveServiceTypeBySlug(String slug) {
+        if (slug == null || slug.isBlank()) {
+            throw new IllegalArgumentException("Service type name is required");
         }
+
+        return referenceDataCache.serviceTypeByName(slug.trim())
+                .orElseThrow(() -> new IllegalArgumentException("Invalid service type: " + slug));
     }
 
     private ShippingAgencyInquiry buildShippingAgency(Long userId, PublicInquiryRequest request) {
@@ -553,9 +505,7 @@ public class PublicInquiryController {
         if (portIdentifier == null) return null;
         try {
             Long id = Long.parseLong(portIdentifier);
-            return portRepository.findById(id)
-                .map(port -> port.getName())
-                .orElse(portIdentifier);
+            return referenceDataCache.portName(id).orElse(portIdentifier);
         } catch (NumberFormatException ex) {
             return portIdentifier;
         }
@@ -599,54 +549,53 @@ public class PublicInquiryController {
     }    
     private String resolveProvinceName(Long provinceId) {
         if (provinceId == null) return null;
-        return provinceRepository.findById(provinceId)
-            .map(province -> province.getName())
-            .orElse(null);
+        return referenceDataCache.provinceName(provinceId).orElse(null);
     }
     
     private String resolveServiceTypeName(Long serviceTypeId) {
         if (serviceTypeId == null) return null;
-        return serviceTypeRepository.findById(serviceTypeId)
-            .map(serviceType -> serviceType.getName())
+        return referenceDataCache.serviceType(serviceTypeId)
+            .map(ServiceTypeRef::name)
             .orElse(null);
     }
 
-    private boolean includeService(String requestedServiceName, String targetName) {
-        return requestedServiceName == null || targetName.equals(requestedServiceName);
-    }
     @GetMapping("/{serviceSlug}/{id}")
     public ResponseEntity<?> getOne(@PathVariable String serviceSlug, @PathVariable Long id) {
         return fetchOne(serviceSlug, id);
     }
 
     private ResponseEntity<?> fetchPage(String serviceSlug, Pageable pageable) {
-        ServiceTypeEntity serviceType;
+        ServiceTypeRef serviceType;
         try {
             serviceType = resolveServiceTypeBySlug(serviceSlug);
         } catch (IllegalArgumentException ex) {
             return ResponseEntity.badRequest().body(Map.of("message", ex.getMessage()));
         }
-        return switch (serviceType.getName()) {
+        return switch (serviceType.name()) {
             case SHIPPING_AGENCY -> ResponseEntity.ok(shippingAgencyInquiryRepository.findAll(pageable));
             case CHARTERING -> ResponseEntity.ok(charteringBrokingInquiryRepository.findAll(pageable));
             case FREIGHT_FORWARDING -> ResponseEntity.ok(freightForwardingInquiryRepository.findAll(pageable));
             case LOGISTICS -> ResponseEntity.ok(totalLogisticInquiryRepository.findAll(pageable));
             case SPECIAL_REQUEST -> ResponseEntity.ok(specialRequestInquiryRepository.findAll(pageable));
-            default -> ResponseEntity.badRequest().body(Map.of("message", "Unsupported service type: " + serviceType.getName()));
+            default -> ResponseEntity.badRequest().body(Map.of("message", "Unsupported service type: " + serviceType.name()));
         };
     }
 
     /**
      * DELETE /api/v1/inquiries/batch
      * Delete multiple inquiries for authenticated user only
-     * SECURITY: Verifies ownership before deletion
+     * Body: {"items": [{"serviceType": "SHIPPING AGENCY", "id": 1}, ...]} (legacy {"ids": [...]} still accepted;
+     * rejected with 400 when an id matches inquiries of more than one service type)
+     * SECURITY: Verifies ownership before deletion (one query per service table)
      */
     @DeleteMapping("/batch")
     public ResponseEntity<?> deleteUserInquiries(
             @RequestBody BatchDeleteRequest request,
             HttpServletRequest servletRequest) {
-        if (request == null || request.ids() == null || request.ids().isEmpty()) {
-            return ResponseEntity.badRequest().body(Map.of("message", "ids are required"));
+        boolean hasItems = request != null && request.items() != null && !request.items().isEmpty();
+        boolean hasIds = request != null && request.ids() != null && !request.ids().isEmpty();
+        if (!hasItems && !hasIds) {
+            return ResponseEntity.badRequest().body(Map.of("message", "items are required"));
         }
 
         // SECURITY CHECK: Get current authenticated user
@@ -656,75 +605,69 @@ public class PublicInquiryController {
             return ResponseEntity.status(403).body(Map.of("error", "Forbidden", 
                     "message", "You must be authenticated to delete inquiries"));
         }
-        int deletedCount = 0;
-        int forbiddenCount = 0;
-
-        for (Long id : request.ids()) {
-            // Verify ownership before deletion
-            boolean owned = checkOwnership(id, userId);
-            if (owned) {
-                if (deleteByAnyService(id)) {
-                    deletedCount++;
-                } else {
-                    log.warn("User {} tried to delete non-existent inquiry {}", userId, id);
+
+        Map<String, Set<Long>> idsByService = new LinkedHashMap<>();
+        int requested;
+        if (hasItems) {
+            for (BatchDeleteItem item : request.items()) {
+                if (item == null || item.id() == null) {
+                    return ResponseEntity.badRequest().body(Map.of("message", "Each item needs serviceType and id"));
                 }
-            } else {
-                forbiddenCount++;
-                log.warn("User {} tried to delete inquiry {} they don't own", userId, id);
+                ServiceTypeRef serviceType;
+                try {
+                    serviceType = resolveServiceTypeBySlug(item.serviceType());
+                } catch (IllegalArgumentException ex) {
+                    return ResponseEntity.badRequest().body(Map.of("message", ex.getMessage()));
+                }
+                idsByService.computeIfAbsent(serviceType.name(), k -> new LinkedHashSet<>()).add(item.id());
+            }
+            requested = idsByService.values().stream().mapToInt(Set::size).sum();
+        } else {
+            Set<Long> ids = new LinkedHashSet<>(request.ids());
+            try {
+                idsByService = batchDeleteService.resolveOwnedIds(userId, ids);
+            } catch (IllegalArgumentException ex) {
+                return ResponseEntity.badRequest().body(Map.of("message", ex.getMessage()));
             }
+            requested = ids.size();
+        }
+
+        // Forbidden = requested ids that were not deleted: not owned, not found, or not resolved to a service
+        Map<String, List<Long>> deleted = batchDeleteService.deleteOwned(userId, idsByService);
+        int resolved = idsByService.values().stream().mapToInt(Set::size).sum();
+        int deletedCount = 0;
+        int forbiddenCount = requested - resolved;
+        for (Map.Entry<String, Set<Long>> entry : idsByService.entrySet()) {
+            List<Long> deletedIds = deleted.getOrDefault(entry.getKey(), List.of());
+            deletedCount += deletedIds.size();
+            forbiddenCount += (int) entry.getValue().stream().filter(id -> !deletedIds.contains(id)).count();
+        }
+        if (forbiddenCount > 0) {
+            log.warn("User {} tried to delete {} inquiries they don't own or that don't exist", userId, forbiddenCount);
         }
 
         return ResponseEntity.ok(Map.of(
             "deleted", deletedCount,
             "forbidden", forbiddenCount,
-            "requested", request.ids().size()
+            "requested", requested
         ));
     }
 
-    /**
-     * Check if inquiry belongs to user
-     */
-    private boolean checkOwnership(Long inquiryId, Long userId) {
-        return shippingAgencyInquiryRepository.findById(inquiryId).map(i -> i.getUserId().equals(userId)).orElse(false)
-            || charteringBrokingInquiryRepository.findById(inquiryId).map(i -> i.getUserId().equals(userId)).orElse(false)
-            || freightForwardingInquiryRepository.findById(inquiryId).map(i -> i.getUserId().equals(userId)).orElse(false)
-            || totalLogisticInquiryRepository.findById(inquiryId).map(i -> i.getUserId().equals(userId)).orElse(false)
-            || specialRequestInquiryRepository.findById(inquiryId).map(i -> i.getUserId().equals(userId)).orElse(false);
-    }
-
-    /**
-     * Delete inquiry from any service by ID
-     */
-    private boolean deleteByAnyService(Long id) {
-        boolean deleted = deleteIfExists(shippingAgencyInquiryRepository, id);
-        deleted = deleteIfExists(charteringBrokingInquiryRepository, id) || deleted;
-        deleted = deleteIfExists(freightForwardingInquiryRepository, id) || deleted;
-        deleted = deleteIfExists(totalLogisticInquiryRepository, id) || deleted;
-        deleted = deleteIfExists(specialRequestInquiryRepository, id) || deleted;
-        return deleted;
-    }
-
-    private <T, R extends org.springframework.data.jpa.repository.JpaRepository<T, Long>> boolean deleteIfExists(R repository, Long id) {
-        if (!repository.existsById(id)) {
-            return false;
-        }
-        repository.deleteById(id);
-        return true;
-    }
-
     /**
      * DTO for batch delete request
      */
-    public record BatchDeleteRequest(List<Long> ids) {}
+    public record BatchDeleteRequest(List<Long> ids, List<BatchDeleteItem> items) {}
+
+    public record BatchDeleteItem(String serviceType, Long id) {}
 
     private ResponseEntity<?> fetchOne(String serviceSlug, Long id) {
-        ServiceTypeEntity serviceType;
+        ServiceTypeRef serviceType;
         try {
             serviceType = resolveServiceTypeBySlug(serviceSlug);
         } catch (IllegalArgumentException ex) {
             return ResponseEntity.badRequest().body(Map.of("message", ex.getMessage()));
         }
-        return switch (serviceType.getName()) {
+        return switch (serviceType.name()) {
             case SHIPPING_AGENCY -> shippingAgencyInquiryRepository.findById(id)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
@@ -740,7 +683,7 @@ public class PublicInquiryController {
             case SPECIAL_REQUEST -> specialRequestInquiryRepository.findById(id)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
-            default -> ResponseEntity.badRequest().body(Map.of("message", "Unsupported service type: " + serviceType.getName()));
+            default -> ResponseEntity.badRequest().body(Map.of("message", "Unsupported service type: " + serviceType.name()));
         };
     }
 }
@@ -15,7 +15,7 @@ import lombok.NoArgsConstructor;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class CharteringBrokingInquiryResponse {
+public class CharteringBrokingInquiryResponse implements InquiryUserInfo {
     private Long id;
     private String fullName;
     private String email;
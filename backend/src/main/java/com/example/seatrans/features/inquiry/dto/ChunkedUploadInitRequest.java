@@ -0,0 +1,27 @@
+package com.example.seatrans.features.inquiry.dto;
+
+import com.example.seatrans.features.inquiry.model.InquiryDocument.DocumentType;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request DTO to start a chunked (resumable) document upload
+ * checksum: Base64 SHA-256 of the whole file (optional, verified on complete)
+ * chunkSize: preferred chunk size in bytes (optional, capped by the server)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ChunkedUploadInitRequest {
+    private DocumentType documentType;
+    private String description;
+    private String fileName;
+    private Long fileSize;
+    private String mimeType;
+    private String checksum;
+    private Integer chunkSize;
+}
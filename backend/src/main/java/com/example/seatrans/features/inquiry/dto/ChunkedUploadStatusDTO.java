@@ -0,0 +1,32 @@
+package com.example.seatrans.features.inquiry.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.example.seatrans.features.inquiry.model.InquiryChunkedUpload;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Progress of a chunked upload; the client resends only missingChunks
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ChunkedUploadStatusDTO {
+    private String uploadId;
+    private InquiryChunkedUpload.Status status;
+    private String fileName;
+    private Long fileSize;
+    private Integer chunkSize;
+    private Integer totalChunks;
+    private Integer receivedChunks;
+    private Long receivedBytes;
+    private List<Integer> missingChunks;
+    private Long documentId;
+    private LocalDateTime expiresAt;
+}
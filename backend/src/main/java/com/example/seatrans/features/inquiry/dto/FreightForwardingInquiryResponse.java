@@ -15,7 +15,7 @@ import lombok.NoArgsConstructor;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class FreightForwardingInquiryResponse {
+public class FreightForwardingInquiryResponse implements InquiryUserInfo {
     private Long id;
     private String fullName;
     private String email;
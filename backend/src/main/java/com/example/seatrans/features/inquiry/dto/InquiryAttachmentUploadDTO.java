@@ -0,0 +1,40 @@
+package com.example.seatrans.features.inquiry.dto;
+
+import java.time.LocalDateTime;
+
+import com.example.seatrans.features.inquiry.model.InquiryAttachmentUpload;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InquiryAttachmentUploadDTO {
+    private Long id;
+    private String originalFileName;
+    private Long fileSize;
+    private InquiryAttachmentUpload.Status status;
+    private Integer attempts;
+    private LocalDateTime nextAttemptAt;
+    private Long documentId;
+    private String error;
+    private LocalDateTime updatedAt;
+
+    public static InquiryAttachmentUploadDTO from(InquiryAttachmentUpload upload) {
+        return InquiryAttachmentUploadDTO.builder()
+            .id(upload.getId())
+            .originalFileName(upload.getOriginalFileName())
+            .fileSize(upload.getFileSize())
+            .status(upload.getStatus())
+            .attempts(upload.getAttempts())
+            .nextAttemptAt(upload.getNextAttemptAt())
+            .documentId(upload.getDocumentId())
+            .error(upload.getLastError())
+            .updatedAt(upload.getUpdatedAt())
+            .build();
+    }
+}
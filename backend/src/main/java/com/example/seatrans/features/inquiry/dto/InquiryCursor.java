@@ -0,0 +1,41 @@
+package com.example.seatrans.features.inquiry.dto;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Keyset cursor for admin inquiry listings: position after (submittedAt, id)
+ * Wire format: "<ISO submittedAt>,<id>", e.g. "2025-01-31T08:15:30.123,42"
+ */
+public record InquiryCursor(LocalDateTime submittedAt, Long id) {
+
+    public static InquiryCursor of(LocalDateTime submittedAt, Long id) {
+        return new InquiryCursor(submittedAt, id);
+    }
+
+    /**
+     * Parse the "after" query parameter
+     * @throws IllegalArgumentException if the value is malformed
+     */
+    public static InquiryCursor parse(String value) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Cursor is required");
+        }
+        int comma = value.lastIndexOf(',');
+        if (comma <= 0 || comma == value.length() - 1) {
+            throw new IllegalArgumentException("Invalid cursor, expected <submittedAt,id>: " + value);
+        }
+        try {
+            LocalDateTime submittedAt = LocalDateTime.parse(value.substring(0, comma).trim());
+            Long id = Long.valueOf(value.substring(comma + 1).trim());
+            return new InquiryCursor(submittedAt, id);
+        } catch (DateTimeParseException | NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid cursor, expected <submittedAt,id>: " + value);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return submittedAt + "," + id;
+    }
+}
@@ -3,6 +3,7 @@ package com.example.seatrans.features.inquiry.dto;
 import java.time.LocalDateTime;
 
 import com.example.seatrans.features.inquiry.model.InquiryDocument.DocumentType;
+import com.example.seatrans.features.inquiry.model.InquiryDocument.ThumbnailStatus;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -31,4 +32,6 @@ public class InquiryDocumentDTO {
     private Boolean isActive;
     private String cloudinaryUrl;
     private String cloudinaryPublicId;
+    // READY: GET /api/v1/inquiries/{serviceSlug}/{targetId}/documents/thumbnail/{id}
+    private ThumbnailStatus thumbnailStatus;
 }
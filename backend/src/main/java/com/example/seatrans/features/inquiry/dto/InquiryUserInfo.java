@@ -0,0 +1,13 @@
+package com.example.seatrans.features.inquiry.dto;
+
+/**
+ * Contact fields shared by all inquiry response DTOs,
+ * filled in from the owning user by InquiryResponseEnricher
+ */
+public interface InquiryUserInfo {
+    Long getUserId();
+    void setFullName(String fullName);
+    void setEmail(String email);
+    void setPhone(String phone);
+    void setCompany(String company);
+}
@@ -16,7 +16,7 @@ import lombok.NoArgsConstructor;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class ShippingAgencyInquiryResponse {
+public class ShippingAgencyInquiryResponse implements InquiryUserInfo {
     private Long id;
     private String fullName;
     private String email;
@@ -51,6 +51,8 @@ public class ShippingAgencyInquiryResponse {
     private BigDecimal berthHours;
     private BigDecimal anchorageHours;
     private BigDecimal pilotage3rdMiles;
+    private BigDecimal quoteTotal;
+    private LocalDateTime quoteCalculatedAt;
     
     public static ShippingAgencyInquiryResponse from(ShippingAgencyInquiry inquiry) {
         return ShippingAgencyInquiryResponse.builder()
@@ -82,6 +84,8 @@ public class ShippingAgencyInquiryResponse {
             .berthHours(inquiry.getBerthHours())
             .anchorageHours(inquiry.getAnchorageHours())
             .pilotage3rdMiles(inquiry.getPilotage3rdMiles())
+            .quoteTotal(inquiry.getQuoteTotal())
+            .quoteCalculatedAt(inquiry.getQuoteCalculatedAt())
             .build();
     }
 }
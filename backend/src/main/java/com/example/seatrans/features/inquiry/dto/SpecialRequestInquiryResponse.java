@@ -14,7 +14,7 @@ import lombok.NoArgsConstructor;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class SpecialRequestInquiryResponse {
+public class SpecialRequestInquiryResponse implements InquiryUserInfo {
     private Long id;
     private String fullName;
     private String email;
@@ -30,7 +30,9 @@ import lombok.NoArgsConstructor;
  */
 @Entity
 @Table(name = "chartering_broking_inquiries", indexes = {
-    @Index(name = "idx_chartering_laycan", columnList = "laycan_from, laycan_to")
+    @Index(name = "idx_chartering_laycan", columnList = "laycan_from, laycan_to"),
+    @Index(name = "idx_chartering_status_submitted", columnList = "status, submitted_at, id"),
+    @Index(name = "idx_chartering_submitted", columnList = "submitted_at, id")
 })
 @Data
 @NoArgsConstructor
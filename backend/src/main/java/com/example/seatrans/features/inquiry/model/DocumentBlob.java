@@ -0,0 +1,74 @@
+package com.example.seatrans.features.inquiry.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Document Blob - một file vật lý trên Cloudinary, định danh theo checksum SHA-256
+ * Nhiều InquiryDocument cùng nội dung dùng chung một blob; refCount = số document đang tham chiếu
+ */
+@Entity
+@Table(name = "document_blobs",
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uk_document_blobs_checksum", columnNames = {"checksum"})
+    })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DocumentBlob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Base64 SHA-256, same format as InquiryDocument.checksum
+    @Column(name = "checksum", nullable = false, length = 64)
+    private String checksum;
+
+    @Column(name = "cloudinary_public_id", nullable = false, length = 255)
+    private String cloudinaryPublicId;
+
+    @Column(name = "cloudinary_url", nullable = false, columnDefinition = "TEXT")
+    private String cloudinaryUrl;
+
+    @Column(name = "file_size")
+    private Long fileSize;
+
+    @Column(name = "mime_type", length = 100)
+    private String mimeType;
+
+    @Column(name = "ref_count", nullable = false)
+    @Builder.Default
+    private Integer refCount = 1;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.seatrans.features.inquiry.model;
+
+import java.time.LocalDateTime;
+
+import com.example.seatrans.features.inquiry.model.InquiryDocument.DocumentType;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Inquiry Chunked Upload - phiên upload tài liệu lớn theo từng chunk (có thể resume)
+ * Chunk được ghi ra đĩa; các chunk liên tiếp được ghép dần vào file dữ liệu,
+ * assembledChunks lưu tiến độ ghép để resume sau khi restart
+ */
+@Entity
+@Table(name = "inquiry_chunked_uploads", indexes = {
+    @Index(name = "idx_chunked_upload_status_expires", columnList = "status, expires_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InquiryChunkedUpload {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "upload_id", nullable = false, unique = true, length = 36)
+    private String uploadId;
+
+    @Column(name = "service_slug", nullable = false, length = 100)
+    private String serviceSlug;
+
+    @Column(name = "target_id", nullable = false)
+    private Long targetId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "document_type", nullable = false, length = 50)
+    private DocumentType documentType;
+
+    @Column(name = "description", columnDefinition = "TEXT")
+    private String description;
+
+    @Column(name = "uploader_id", nullable = false)
+    private Long uploaderId;
+
+    @Column(name = "original_file_name", nullable = false, length = 255)
+    private String originalFileName;
+
+    @Column(name = "file_size", nullable = false)
+    private Long fileSize;
+
+    @Column(name = "chunk_size", nullable = false)
+    private Integer chunkSize;
+
+    @Column(name = "total_chunks", nullable = false)
+    private Integer totalChunks;
+
+    // Number of leading chunks already appended to the data file (and hashed)
+    @Column(name = "assembled_chunks", nullable = false)
+    @Builder.Default
+    private Integer assembledChunks = 0;
+
+    // Base64 SHA-256 announced by the client at init (optional), verified on complete
+    @Column(name = "expected_checksum", length = 64)
+    private String expectedChecksum;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    @Builder.Default
+    private Status status = Status.UPLOADING;
+
+    @Column(name = "document_id")
+    private Long documentId;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = createdAt;
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    public enum Status {
+        UPLOADING,
+        COMPLETING,
+        COMPLETED,
+        ABORTED,
+        EXPIRED
+    }
+}
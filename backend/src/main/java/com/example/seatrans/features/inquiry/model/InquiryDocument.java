@@ -98,6 +98,22 @@ public class InquiryDocument {
     @Column(name = "cloudinary_public_id", columnDefinition = "TEXT")
     private String cloudinaryPublicId;
 
+    // Shared DocumentBlob (null for documents uploaded before deduplication)
+    @Column(name = "blob_id")
+    private Long blobId;
+
+    // First-page preview rendered in the background (null for documents uploaded before thumbnails)
+    @Enumerated(EnumType.STRING)
+    @Column(name = "thumbnail_status", length = 20)
+    private ThumbnailStatus thumbnailStatus;
+
+    // FAILED renders are retried with backoff until the attempt limit (null next attempt = given up)
+    @Column(name = "thumbnail_attempts")
+    private Integer thumbnailAttempts;
+
+    @Column(name = "thumbnail_next_attempt_at")
+    private LocalDateTime thumbnailNextAttemptAt;
+
     @PrePersist
     protected void onCreate() {
         uploadedAt = LocalDateTime.now();
@@ -111,6 +127,15 @@ public class InquiryDocument {
         updatedAt = LocalDateTime.now();
     }
 
+    /**
+     * Thumbnail Status - trạng thái ảnh xem trước trang đầu
+     */
+    public enum ThumbnailStatus {
+        PENDING,
+        READY,
+        FAILED
+    }
+
     /**
      * Document Type - Phân loại tài liệu
      */
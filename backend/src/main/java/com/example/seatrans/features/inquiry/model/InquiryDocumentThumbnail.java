@@ -0,0 +1,63 @@
+package com.example.seatrans.features.inquiry.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Inquiry Document Thumbnail - ảnh xem trước trang đầu của tài liệu PDF (vài chục KB)
+ * Lưu theo document, checksum dùng để tái sử dụng cho các tài liệu cùng nội dung
+ */
+@Entity
+@Table(name = "inquiry_document_thumbnails", indexes = {
+    @Index(name = "idx_document_thumbnail_checksum", columnList = "checksum")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InquiryDocumentThumbnail {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "document_id", nullable = false, unique = true)
+    private Long documentId;
+
+    @Column(name = "checksum", length = 64)
+    private String checksum;
+
+    @Column(name = "content_type", nullable = false, length = 50)
+    private String contentType;
+
+    @Column(name = "width")
+    private Integer width;
+
+    @Column(name = "height")
+    private Integer height;
+
+    @Lob
+    @Column(name = "content", nullable = false, columnDefinition = "MEDIUMBLOB")
+    private byte[] content;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
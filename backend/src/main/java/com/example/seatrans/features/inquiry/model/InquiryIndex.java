@@ -0,0 +1,58 @@
+package com.example.seatrans.features.inquiry.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Inquiry Index - projection gộp 5 bảng inquiry
+ * Một dòng cho mỗi inquiry (service type + target id) để phân trang lịch sử user trên server
+ */
+@Entity
+@Table(name = "inquiry_index",
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uk_inquiry_index_target", columnNames = {"service_type", "target_id"})
+    },
+    indexes = {
+        @Index(name = "idx_inquiry_index_user_submitted", columnList = "user_id, submitted_at, id"),
+        @Index(name = "idx_inquiry_index_user_service_submitted", columnList = "user_id, service_type, submitted_at, id")
+    })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InquiryIndex {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "service_type", nullable = false, length = 100)
+    private String serviceType;
+
+    @Column(name = "target_id", nullable = false)
+    private Long targetId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 50)
+    private InquiryStatus status;
+
+    @Column(name = "submitted_at")
+    private LocalDateTime submittedAt;
+}
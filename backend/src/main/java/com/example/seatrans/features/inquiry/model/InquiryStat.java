@@ -0,0 +1,62 @@
+package com.example.seatrans.features.inquiry.model;
+
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Inquiry Stat - bộ đếm tổng hợp cho dashboard
+ * Một dòng cho mỗi (service type, status, ngày submit); cập nhật tăng/giảm khi submit, đổi status.
+ * Khi xóa, inquiry chuyển từ inquiryCount sang deletedCount nên số lượng submit theo ngày không bị giảm.
+ */
+@Entity
+@Table(name = "inquiry_stats",
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uk_inquiry_stats_bucket", columnNames = {"service_type", "status", "stat_date"})
+    },
+    indexes = {
+        @Index(name = "idx_inquiry_stats_date", columnList = "stat_date")
+    })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InquiryStat {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "service_type", nullable = false, length = 100)
+    private String serviceType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 50)
+    private InquiryStatus status;
+
+    @Column(name = "stat_date", nullable = false)
+    private LocalDate statDate;
+
+    @Column(name = "inquiry_count", nullable = false)
+    private Long inquiryCount;
+
+    /**
+     * Inquiry đã submit vào ngày này nhưng đã bị xóa
+     */
+    @Column(name = "deleted_count", nullable = false, columnDefinition = "BIGINT NOT NULL DEFAULT 0")
+    @Builder.Default
+    private Long deletedCount = 0L;
+}
@@ -14,6 +14,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
@@ -29,7 +30,11 @@ import lombok.NoArgsConstructor;
  * Contains specific fields for port disbursement account inquiries
  */
 @Entity
-@Table(name = "shipping_agency_inquiries")
+@Table(name = "shipping_agency_inquiries", indexes = {
+    @Index(name = "idx_shipping_status_submitted", columnList = "status, submitted_at, id"),
+    @Index(name = "idx_shipping_submitted", columnList = "submitted_at, id"),
+    @Index(name = "idx_shipping_status_id", columnList = "status, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -133,6 +138,16 @@ public class ShippingAgencyInquiry {
     @Column(name = "pilotage_3rd_miles", precision = 10, scale = 2)
     private BigDecimal pilotage3rdMiles;
 
+    // Last server-side disbursement total (null when inputs such as GRT are missing)
+    @Column(name = "quote_total", precision = 15, scale = 2)
+    private BigDecimal quoteTotal;
+
+    @Column(name = "quote_calculated_at")
+    private LocalDateTime quoteCalculatedAt;
+
+    @Column(name = "quote_schedule_version")
+    private Long quoteScheduleVersion;
+
     @PrePersist
     protected void onCreate() {
         if (this.submittedAt == null) {
@@ -12,6 +12,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
@@ -27,7 +28,10 @@ import lombok.NoArgsConstructor;
  * Contains specific fields for special/custom requests from contact page
  */
 @Entity
-@Table(name = "special_request_inquiries")
+@Table(name = "special_request_inquiries", indexes = {
+    @Index(name = "idx_special_status_submitted", columnList = "status, submitted_at, id"),
+    @Index(name = "idx_special_submitted", columnList = "submitted_at, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
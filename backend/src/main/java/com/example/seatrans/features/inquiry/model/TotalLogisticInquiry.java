@@ -31,7 +31,9 @@ import lombok.NoArgsConstructor;
 @Entity
 @Table(name = "total_logistics_inquiries", indexes = {
     @Index(name = "idx_freight_route", columnList = "loading_port, discharging_port"),
-    @Index(name = "idx_freight_shipment", columnList = "shipment_from, shipment_to")
+    @Index(name = "idx_freight_shipment", columnList = "shipment_from, shipment_to"),
+    @Index(name = "idx_logistics_status_submitted", columnList = "status, submitted_at, id"),
+    @Index(name = "idx_logistics_submitted", columnList = "submitted_at, id")
 })
 @Data
 @NoArgsConstructor
@@ -0,0 +1,58 @@
+package com.example.seatrans.features.inquiry.repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.seatrans.features.inquiry.model.DocumentBlob;
+
+@Repository
+public interface DocumentBlobRepository extends JpaRepository<DocumentBlob, Long> {
+
+    Optional<DocumentBlob> findByChecksum(String checksum);
+
+    /**
+     * Take a reference on an existing blob; 0 when no blob has this checksum
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE DocumentBlob b SET b.refCount = b.refCount + 1, b.updatedAt = :now WHERE b.checksum = :checksum")
+    int acquire(@Param("checksum") String checksum, @Param("now") LocalDateTime now);
+
+    /**
+     * Register a freshly uploaded blob with one reference.
+     * If another upload registered the same checksum first, only its reference count is increased.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO document_blobs (checksum, cloudinary_public_id, cloudinary_url, file_size, mime_type, "
+            + "ref_count, created_at, updated_at) "
+            + "VALUES (:checksum, :publicId, :url, :fileSize, :mimeType, 1, :now, :now) AS new "
+            + "ON DUPLICATE KEY UPDATE ref_count = document_blobs.ref_count + 1, updated_at = new.updated_at",
+            nativeQuery = true)
+    int register(@Param("checksum") String checksum,
+                 @Param("publicId") String publicId,
+                 @Param("url") String url,
+                 @Param("fileSize") Long fileSize,
+                 @Param("mimeType") String mimeType,
+                 @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE DocumentBlob b SET b.refCount = b.refCount - 1, b.updatedAt = :now WHERE b.id = :id AND b.refCount > 0")
+    int release(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    /**
+     * Delete the row only if nothing references it any more (a concurrent acquire wins)
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM DocumentBlob b WHERE b.id = :id AND b.refCount <= 0")
+    int deleteIfUnreferenced(@Param("id") Long id);
+}
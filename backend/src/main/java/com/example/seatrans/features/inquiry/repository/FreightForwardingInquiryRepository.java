@@ -1,8 +1,21 @@
 package com.example.seatrans.features.inquiry.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import jakarta.persistence.QueryHint;
+
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.example.seatrans.features.inquiry.model.FreightForwardingInquiry;
@@ -13,4 +26,38 @@ public interface FreightForwardingInquiryRepository extends JpaRepository<Freigh
     Page<FreightForwardingInquiry> findByStatus(InquiryStatus status, Pageable pageable);
     Page<FreightForwardingInquiry> findByUserId(Long userId, Pageable pageable);
     Page<FreightForwardingInquiry> findByUserIdAndStatus(Long userId, InquiryStatus status, Pageable pageable);
+
+    // Count-free slices and keyset (seek) pages ordered by (submittedAt DESC, id DESC)
+    Slice<FreightForwardingInquiry> findSliceBy(Pageable pageable);
+    Slice<FreightForwardingInquiry> findSliceByStatus(InquiryStatus status, Pageable pageable);
+
+    @Query("SELECT i FROM FreightForwardingInquiry i WHERE i.submittedAt < :submittedAt OR (i.submittedAt = :submittedAt AND i.id < :id)")
+    Slice<FreightForwardingInquiry> findSliceAfter(@Param("submittedAt") LocalDateTime submittedAt, @Param("id") Long id, Pageable pageable);
+
+    @Query("SELECT i FROM FreightForwardingInquiry i WHERE i.status = :status AND (i.submittedAt < :submittedAt OR (i.submittedAt = :submittedAt AND i.id < :id))")
+    Slice<FreightForwardingInquiry> findSliceByStatusAfter(@Param("status") InquiryStatus status, @Param("submittedAt") LocalDateTime submittedAt,
+                                      @Param("id") Long id, Pageable pageable);
+
+    // Export: forward-only stream read in fixed windows of 500 rows
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT i FROM FreightForwardingInquiry i ORDER BY i.submittedAt DESC, i.id DESC")
+    Stream<FreightForwardingInquiry> streamAllForExport();
+
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT i FROM FreightForwardingInquiry i WHERE i.status = :status ORDER BY i.submittedAt DESC, i.id DESC")
+    Stream<FreightForwardingInquiry> streamByStatusForExport(@Param("status") InquiryStatus status);
+
+    // Batch delete: one ownership query and one bulk DELETE per table
+    @Query("SELECT i.id FROM FreightForwardingInquiry i WHERE i.userId = :userId AND i.id IN :ids")
+    List<Long> findIdsOwnedBy(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM FreightForwardingInquiry i WHERE i.id IN :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
 }
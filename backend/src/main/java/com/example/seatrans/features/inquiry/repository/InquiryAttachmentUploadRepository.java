@@ -0,0 +1,42 @@
+package com.example.seatrans.features.inquiry.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.seatrans.features.inquiry.model.InquiryAttachmentUpload;
+import com.example.seatrans.features.inquiry.model.InquiryAttachmentUpload.Status;
+
+@Repository
+public interface InquiryAttachmentUploadRepository extends JpaRepository<InquiryAttachmentUpload, Long> {
+
+    List<InquiryAttachmentUpload> findBySubmissionIdOrderByIdAsc(String submissionId);
+
+    @Query("SELECT u.id FROM InquiryAttachmentUpload u WHERE u.status = :status AND u.nextAttemptAt <= :now ORDER BY u.nextAttemptAt")
+    List<Long> findDueIds(@Param("status") Status status, @Param("now") LocalDateTime now, Pageable pageable);
+
+    /**
+     * Atomically move a row from one status to another; returns 0 if another worker got it first
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE InquiryAttachmentUpload u SET u.status = :to, u.updatedAt = :now WHERE u.id = :id AND u.status = :from")
+    int transition(@Param("id") Long id, @Param("from") Status from, @Param("to") Status to, @Param("now") LocalDateTime now);
+
+    /**
+     * Put uploads stuck in UPLOADING (e.g. after a restart) back into the queue
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE InquiryAttachmentUpload u SET u.status = :to, u.nextAttemptAt = :now, u.updatedAt = :now "
+            + "WHERE u.status = :from AND u.updatedAt < :staleBefore")
+    int requeueStale(@Param("from") Status from, @Param("to") Status to,
+                     @Param("staleBefore") LocalDateTime staleBefore, @Param("now") LocalDateTime now);
+}
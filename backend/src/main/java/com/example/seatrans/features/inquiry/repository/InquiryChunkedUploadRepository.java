@@ -0,0 +1,74 @@
+package com.example.seatrans.features.inquiry.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.seatrans.features.inquiry.model.InquiryChunkedUpload;
+import com.example.seatrans.features.inquiry.model.InquiryChunkedUpload.Status;
+
+@Repository
+public interface InquiryChunkedUploadRepository extends JpaRepository<InquiryChunkedUpload, Long> {
+
+    Optional<InquiryChunkedUpload> findByUploadId(String uploadId);
+
+    @Query("SELECT u.uploadId FROM InquiryChunkedUpload u WHERE u.status IN :statuses AND u.expiresAt < :now ORDER BY u.expiresAt")
+    List<String> findExpiredUploadIds(@Param("statuses") Collection<Status> statuses,
+                                      @Param("now") LocalDateTime now, Pageable pageable);
+
+    /**
+     * Uploads that have been in a status since before the cutoff (updatedAt is set by every transition)
+     */
+    @Query("SELECT u.uploadId FROM InquiryChunkedUpload u WHERE u.status = :status AND u.updatedAt < :before ORDER BY u.updatedAt")
+    List<String> findStaleUploadIds(@Param("status") Status status, @Param("before") LocalDateTime before, Pageable pageable);
+
+    /**
+     * Read straight from the database (bypasses an entity already loaded in the persistence context)
+     */
+    @Query("SELECT u.assembledChunks FROM InquiryChunkedUpload u WHERE u.uploadId = :uploadId")
+    Optional<Integer> findAssembledChunks(@Param("uploadId") String uploadId);
+
+    /**
+     * Record assembly progress and slide the expiry forward
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE InquiryChunkedUpload u SET u.assembledChunks = :chunks, u.expiresAt = :expiresAt, u.updatedAt = :now WHERE u.uploadId = :uploadId")
+    int updateProgress(@Param("uploadId") String uploadId, @Param("chunks") int chunks,
+                       @Param("expiresAt") LocalDateTime expiresAt, @Param("now") LocalDateTime now);
+
+    /**
+     * Atomically move an upload from one status to another; returns 0 if it was not in the expected status
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE InquiryChunkedUpload u SET u.status = :to, u.updatedAt = :now WHERE u.uploadId = :uploadId AND u.status = :from")
+    int transition(@Param("uploadId") String uploadId, @Param("from") Status from, @Param("to") Status to,
+                   @Param("now") LocalDateTime now);
+
+    /**
+     * Move an upload to another status and reset its expiry; returns 0 if it was not in the expected status
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE InquiryChunkedUpload u SET u.status = :to, u.expiresAt = :expiresAt, u.updatedAt = :now "
+            + "WHERE u.uploadId = :uploadId AND u.status = :from")
+    int transition(@Param("uploadId") String uploadId, @Param("from") Status from, @Param("to") Status to,
+                   @Param("expiresAt") LocalDateTime expiresAt, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE InquiryChunkedUpload u SET u.status = :to, u.documentId = :documentId, u.updatedAt = :now "
+            + "WHERE u.uploadId = :uploadId AND u.status = :from")
+    int markCompleted(@Param("uploadId") String uploadId, @Param("from") Status from, @Param("to") Status to,
+                      @Param("documentId") Long documentId, @Param("now") LocalDateTime now);
+}
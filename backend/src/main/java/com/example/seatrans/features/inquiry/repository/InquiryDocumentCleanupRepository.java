@@ -0,0 +1,19 @@
+package com.example.seatrans.features.inquiry.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.seatrans.features.inquiry.model.InquiryDocumentCleanup;
+
+@Repository
+public interface InquiryDocumentCleanupRepository extends JpaRepository<InquiryDocumentCleanup, Long> {
+
+    @Query("SELECT c FROM InquiryDocumentCleanup c WHERE c.nextAttemptAt <= :now ORDER BY c.id")
+    List<InquiryDocumentCleanup> findDue(@Param("now") LocalDateTime now, Pageable pageable);
+}
@@ -1,19 +1,56 @@
 package com.example.seatrans.features.inquiry.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.example.seatrans.features.inquiry.model.InquiryDocument;
 import com.example.seatrans.features.inquiry.model.InquiryDocument.DocumentType;
+import com.example.seatrans.features.inquiry.model.InquiryDocument.ThumbnailStatus;
 
 @Repository
 public interface InquiryDocumentRepository extends JpaRepository<InquiryDocument, Long> {
     
     List<InquiryDocument> findByServiceSlugAndTargetId(String serviceSlug, Long targetId);
+    List<InquiryDocument> findByServiceSlugAndTargetIdIn(String serviceSlug, Collection<Long> targetIds);
     List<InquiryDocument> findByServiceSlugAndTargetIdAndDocumentType(String serviceSlug, Long targetId, DocumentType documentType);
     List<InquiryDocument> findByServiceSlugAndTargetIdAndIsActiveTrue(String serviceSlug, Long targetId);
+    boolean existsByIdAndIsActiveTrue(Long id);
     boolean existsByServiceSlugAndTargetIdAndFileName(String serviceSlug, Long targetId, String fileName);
     void deleteByServiceSlugAndTargetId(String serviceSlug, Long targetId);
+
+    @Query("SELECT d.id FROM InquiryDocument d WHERE d.thumbnailStatus = :status AND d.uploadedAt < :before ORDER BY d.id")
+    List<Long> findIdsByThumbnailStatus(@Param("status") ThumbnailStatus status,
+                                        @Param("before") LocalDateTime before, Pageable pageable);
+
+    @Query("SELECT d.id FROM InquiryDocument d WHERE d.thumbnailStatus = :status AND d.thumbnailNextAttemptAt <= :now "
+            + "ORDER BY d.thumbnailNextAttemptAt")
+    List<Long> findThumbnailRetryIds(@Param("status") ThumbnailStatus status,
+                                     @Param("now") LocalDateTime now, Pageable pageable);
+
+    /**
+     * Atomically move the thumbnail status; returns 0 if it was not in the expected status
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE InquiryDocument d SET d.thumbnailStatus = :to WHERE d.id = :id AND d.thumbnailStatus = :from")
+    int transitionThumbnail(@Param("id") Long id, @Param("from") ThumbnailStatus from, @Param("to") ThumbnailStatus to);
+
+    /**
+     * Record a failed render (PENDING -> FAILED) with the attempt count and when to retry it
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE InquiryDocument d SET d.thumbnailStatus = :to, d.thumbnailAttempts = :attempts, "
+            + "d.thumbnailNextAttemptAt = :nextAttemptAt WHERE d.id = :id AND d.thumbnailStatus = :from")
+    int failThumbnail(@Param("id") Long id, @Param("from") ThumbnailStatus from, @Param("to") ThumbnailStatus to,
+                      @Param("attempts") int attempts, @Param("nextAttemptAt") LocalDateTime nextAttemptAt);
 }
@@ -0,0 +1,25 @@
+package com.example.seatrans.features.inquiry.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.seatrans.features.inquiry.model.InquiryDocumentThumbnail;
+
+@Repository
+public interface InquiryDocumentThumbnailRepository extends JpaRepository<InquiryDocumentThumbnail, Long> {
+
+    Optional<InquiryDocumentThumbnail> findByDocumentId(Long documentId);
+
+    Optional<InquiryDocumentThumbnail> findFirstByChecksum(String checksum);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM InquiryDocumentThumbnail t WHERE t.documentId = :documentId")
+    int deleteByDocumentId(@Param("documentId") Long documentId);
+}
@@ -0,0 +1,79 @@
+package com.example.seatrans.features.inquiry.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.seatrans.features.inquiry.model.InquiryIndex;
+
+import jakarta.persistence.LockModeType;
+
+@Repository
+public interface InquiryIndexRepository extends JpaRepository<InquiryIndex, Long> {
+
+    Page<InquiryIndex> findByUserId(Long userId, Pageable pageable);
+
+    Page<InquiryIndex> findByUserIdAndServiceType(Long userId, String serviceType, Pageable pageable);
+
+    Optional<InquiryIndex> findByServiceTypeAndTargetId(String serviceType, Long targetId);
+
+    boolean existsByServiceTypeAndTargetId(String serviceType, Long targetId);
+
+    /**
+     * Row lock (SELECT ... FOR UPDATE): concurrent writes to one inquiry read the status one after another,
+     * so each stats adjustment starts from the status the previous one left
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<InquiryIndex> findWithLockByServiceTypeAndTargetId(String serviceType, Long targetId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<InquiryIndex> findWithLockByServiceTypeAndTargetIdIn(String serviceType, Collection<Long> targetIds);
+
+    List<InquiryIndex> findByUserIdAndTargetIdIn(Long userId, Collection<Long> targetIds);
+
+    List<InquiryIndex> findByServiceTypeAndTargetIdIn(String serviceType, Collection<Long> targetIds);
+
+    @Modifying
+    @Query("DELETE FROM InquiryIndex i WHERE i.serviceType = :serviceType AND i.targetId = :targetId")
+    int deleteByTarget(@Param("serviceType") String serviceType, @Param("targetId") Long targetId);
+
+    @Modifying
+    @Query("DELETE FROM InquiryIndex i WHERE i.serviceType = :serviceType AND i.targetId IN :targetIds")
+    int deleteByTargets(@Param("serviceType") String serviceType, @Param("targetIds") Collection<Long> targetIds);
+
+    // ==================== Rebuild (backfill from the five inquiry tables) ====================
+
+    @Modifying
+    @Query(value = "INSERT INTO inquiry_index (service_type, target_id, user_id, status, submitted_at) "
+            + "SELECT 'SHIPPING AGENCY', id, user_id, status, submitted_at FROM shipping_agency_inquiries", nativeQuery = true)
+    int backfillShippingAgency();
+
+    @Modifying
+    @Query(value = "INSERT INTO inquiry_index (service_type, target_id, user_id, status, submitted_at) "
+            + "SELECT 'CHARTERING', id, user_id, status, submitted_at FROM chartering_broking_inquiries", nativeQuery = true)
+    int backfillChartering();
+
+    @Modifying
+    @Query(value = "INSERT INTO inquiry_index (service_type, target_id, user_id, status, submitted_at) "
+            + "SELECT 'FREIGHT FORWARDING', id, user_id, status, submitted_at FROM freight_forwarding_inquiries", nativeQuery = true)
+    int backfillFreightForwarding();
+
+    @Modifying
+    @Query(value = "INSERT INTO inquiry_index (service_type, target_id, user_id, status, submitted_at) "
+            + "SELECT 'LOGISTICS', id, user_id, status, submitted_at FROM total_logistics_inquiries", nativeQuery = true)
+    int backfillLogistics();
+
+    @Modifying
+    @Query(value = "INSERT INTO inquiry_index (service_type, target_id, user_id, status, submitted_at) "
+            + "SELECT 'SPECIAL REQUEST', id, user_id, status, submitted_at FROM special_request_inquiries", nativeQuery = true)
+    int backfillSpecialRequest();
+}
@@ -0,0 +1,65 @@
+package com.example.seatrans.features.inquiry.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.seatrans.features.inquiry.model.InquiryStat;
+
+@Repository
+public interface InquiryStatRepository extends JpaRepository<InquiryStat, Long> {
+
+    /**
+     * Atomic adjustment of one (service, status, day) bucket
+     * @param delta change of the live count
+     * @param deletedDelta change of the deleted count
+     */
+    @Modifying
+    @Query(value = "INSERT INTO inquiry_stats (service_type, status, stat_date, inquiry_count, deleted_count) "
+            + "VALUES (:serviceType, :status, :statDate, :delta, :deletedDelta) AS new "
+            + "ON DUPLICATE KEY UPDATE inquiry_count = inquiry_stats.inquiry_count + new.inquiry_count, "
+            + "deleted_count = inquiry_stats.deleted_count + new.deleted_count", nativeQuery = true)
+    int adjust(@Param("serviceType") String serviceType,
+               @Param("status") String status,
+               @Param("statDate") LocalDate statDate,
+               @Param("delta") long delta,
+               @Param("deletedDelta") long deletedDelta);
+
+    /**
+     * Rows: [serviceType, status, count]
+     */
+    @Query("SELECT s.serviceType, s.status, SUM(s.inquiryCount) FROM InquiryStat s GROUP BY s.serviceType, s.status")
+    List<Object[]> sumByServiceAndStatus();
+
+    /**
+     * Rows: [statDate, count] - submissions per day, including inquiries deleted since
+     */
+    @Query("SELECT s.statDate, SUM(s.inquiryCount + s.deletedCount) FROM InquiryStat s WHERE s.statDate >= :from GROUP BY s.statDate")
+    List<Object[]> sumByDaySince(@Param("from") LocalDate from);
+
+    /**
+     * Zero the live counts before a rebuild; deleted counts cannot be recomputed and are kept
+     */
+    @Modifying
+    @Query("UPDATE InquiryStat s SET s.inquiryCount = 0")
+    int resetLiveCounts();
+
+    /**
+     * Recompute the live counts from inquiry_index
+     */
+    @Modifying
+    @Query(value = "INSERT INTO inquiry_stats (service_type, status, stat_date, inquiry_count, deleted_count) "
+            + "SELECT * FROM ("
+            + "SELECT service_type, COALESCE(status, 'PROCESSING') AS status, "
+            + "COALESCE(DATE(submitted_at), CURRENT_DATE) AS stat_date, COUNT(*) AS inquiry_count, 0 AS deleted_count "
+            + "FROM inquiry_index "
+            + "GROUP BY service_type, COALESCE(status, 'PROCESSING'), COALESCE(DATE(submitted_at), CURRENT_DATE)"
+            + ") AS new "
+            + "ON DUPLICATE KEY UPDATE inquiry_count = new.inquiry_count", nativeQuery = true)
+    int rebuildFromIndex();
+}
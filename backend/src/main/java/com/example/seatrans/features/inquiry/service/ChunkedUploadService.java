@@ -0,0 +1,538 @@
+package com.example.seatrans.features.inquiry.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.seatrans.features.inquiry.dto.ChunkedUploadInitRequest;
+import com.example.seatrans.features.inquiry.dto.ChunkedUploadStatusDTO;
+import com.example.seatrans.features.inquiry.dto.InquiryDocumentDTO;
+import com.example.seatrans.features.inquiry.model.InquiryChunkedUpload;
+import com.example.seatrans.features.inquiry.model.InquiryChunkedUpload.Status;
+import com.example.seatrans.features.inquiry.repository.InquiryChunkedUploadRepository;
+import com.example.seatrans.shared.service.UploadPipeline;
+import com.example.seatrans.shared.service.UploadPipeline.FileKind;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Resumable chunked upload for inquiry documents larger than the multipart limit.
+ * - init(): create the session and its directory under the spool dir
+ * - putChunk(): write one chunk to disk (idempotent); each run of contiguous chunks is appended to the
+ *   data file and fed to a running SHA-256, so complete() never re-reads the file
+ * - complete(): verify checksum and PDF magic bytes, then store through InquiryDocumentService (blob dedupe)
+ * The assembled prefix is persisted per chunk; after a restart the digest is rebuilt once from the data file.
+ */
+@Service
+@Slf4j
+public class ChunkedUploadService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MIN_CHUNK_SIZE = 256 * 1024;
+    private static final int SWEEP_BATCH = 100;
+    private static final String DATA_FILE = "data";
+    private static final String CHUNK_SUFFIX = ".chunk";
+
+    private final InquiryChunkedUploadRepository uploadRepository;
+    private final InquiryDocumentService documentService;
+    private final UploadPipeline uploadPipeline;
+    private final Path uploadDir;
+    private final long maxFileSize;
+    private final int maxChunkSize;
+    private final Duration expiry;
+    private final Duration completingTimeout;
+
+    // Live assembly state per upload; dropped (and rebuilt from disk) whenever it may disagree with the data file
+    private final ConcurrentHashMap<String, Assembly> assemblies = new ConcurrentHashMap<>();
+
+    public ChunkedUploadService(InquiryChunkedUploadRepository uploadRepository,
+                                InquiryDocumentService documentService,
+                                UploadPipeline uploadPipeline,
+                                @Value("${app.upload.spool-dir:${java.io.tmpdir}/seatrans-spool}") String spoolDir,
+                                @Value("${app.upload.chunked.max-file-size:209715200}") long maxFileSize,
+                                @Value("${app.upload.chunked.chunk-size:5242880}") int maxChunkSize,
+                                @Value("${app.upload.chunked.expiry-hours:24}") long expiryHours,
+                                @Value("${app.upload.chunked.completing-timeout-minutes:60}") long completingTimeoutMinutes) {
+        this.uploadRepository = uploadRepository;
+        this.documentService = documentService;
+        this.uploadPipeline = uploadPipeline;
+        this.uploadDir = Path.of(spoolDir).resolve("chunked");
+        this.maxFileSize = maxFileSize;
+        this.maxChunkSize = Math.max(MIN_CHUNK_SIZE, maxChunkSize);
+        this.expiry = Duration.ofHours(expiryHours);
+        this.completingTimeout = Duration.ofMinutes(completingTimeoutMinutes);
+    }
+
+    /**
+     * Contiguous chunks appended to the data file, and the SHA-256 over exactly those bytes
+     */
+    private static final class Assembly {
+        private final MessageDigest sha256;
+        private volatile int chunks;
+
+        private Assembly(MessageDigest sha256, int chunks) {
+            this.sha256 = sha256;
+            this.chunks = chunks;
+        }
+    }
+
+    /**
+     * Start an upload session; the client then PUTs chunks 0..totalChunks-1 in any order
+     */
+    public ChunkedUploadStatusDTO init(String serviceSlug, Long targetId, ChunkedUploadInitRequest request,
+                                       Long userId) throws IOException {
+        if (request.getDocumentType() == null) {
+            throw new IllegalArgumentException("Document type is required");
+        }
+        String fileName = request.getFileName();
+        if (fileName == null || !fileName.toLowerCase().endsWith(".pdf")) {
+            throw new IllegalArgumentException("Only PDF files are allowed");
+        }
+        if (request.getMimeType() != null && !FileKind.PDF.contentType().equalsIgnoreCase(request.getMimeType())) {
+            throw new IllegalArgumentException("Invalid file type: " + request.getMimeType());
+        }
+        Long fileSize = request.getFileSize();
+        if (fileSize == null || fileSize <= 0) {
+            throw new IllegalArgumentException("File cannot be empty");
+        }
+        if (fileSize > maxFileSize) {
+            throw new IllegalArgumentException("File size exceeds maximum allowed size: " + maxFileSize);
+        }
+
+        int chunkSize = request.getChunkSize() == null
+            ? maxChunkSize
+            : Math.max(MIN_CHUNK_SIZE, Math.min(request.getChunkSize(), maxChunkSize));
+        int totalChunks = (int) ((fileSize + chunkSize - 1) / chunkSize);
+        String uploadId = UUID.randomUUID().toString();
+
+        Files.createDirectories(directory(uploadId));
+        Files.createFile(dataFile(uploadId));
+
+        InquiryChunkedUpload upload = uploadRepository.save(InquiryChunkedUpload.builder()
+            .uploadId(uploadId)
+            .serviceSlug(serviceSlug)
+            .targetId(targetId)
+            .documentType(request.getDocumentType())
+            .description(request.getDescription())
+            .uploaderId(userId)
+            .originalFileName(fileName)
+            .fileSize(fileSize)
+            .chunkSize(chunkSize)
+            .totalChunks(totalChunks)
+            .expectedChecksum(request.getChecksum())
+            .expiresAt(LocalDateTime.now().plus(expiry))
+            .build());
+        assemblies.put(uploadId, new Assembly(sha256(), 0));
+
+        log.info("Chunked upload {} started: service={}, target={}, file={}, size={}, chunks={}x{}",
+            uploadId, serviceSlug, targetId, fileName, fileSize, totalChunks, chunkSize);
+        return status(upload, 0);
+    }
+
+    /**
+     * Progress of an upload; missingChunks lists what still has to be sent
+     */
+    public ChunkedUploadStatusDTO getStatus(String serviceSlug, Long targetId, String uploadId, Long userId) {
+        InquiryChunkedUpload upload = find(serviceSlug, targetId, uploadId, userId);
+        Assembly live = assemblies.get(uploadId);
+        int assembled = live != null
+            ? live.chunks
+            : uploadRepository.findAssembledChunks(uploadId).orElse(0);
+        return status(upload, assembled);
+    }
+
+    /**
+     * Store one chunk. Chunks already received are acknowledged without reading the body again.
+     *
+     * @param chunkChecksum optional Base64 SHA-256 of this chunk
+     */
+    public ChunkedUploadStatusDTO putChunk(String serviceSlug, Long targetId, String uploadId, int index,
+                                           InputStream body, String chunkChecksum, Long userId) throws IOException {
+        InquiryChunkedUpload upload = requireUploading(find(serviceSlug, targetId, uploadId, userId));
+        if (index < 0 || index >= upload.getTotalChunks()) {
+            throw new IllegalArgumentException("Chunk index out of range: " + index);
+        }
+
+        Assembly assembly = assembly(upload);
+        Path chunk = chunkFile(uploadId, index);
+        if (index >= assembly.chunks && !Files.exists(chunk)) {
+            receive(upload, index, body, chunkChecksum, chunk);
+            advance(upload, assembly);
+        }
+        return status(upload, assembly.chunks);
+    }
+
+    /**
+     * Finish the upload: every chunk must be assembled. The data file is stored as an InquiryDocument.
+     * Calling it again after success returns the same document.
+     */
+    public InquiryDocumentDTO complete(String serviceSlug, Long targetId, String uploadId, Long userId)
+            throws IOException {
+        InquiryChunkedUpload upload = find(serviceSlug, targetId, uploadId, userId);
+        if (upload.getStatus() == Status.COMPLETED && upload.getDocumentId() != null) {
+            return documentService.getDocument(upload.getDocumentId());
+        }
+        requireUploading(upload);
+
+        Assembly assembly = assembly(upload);
+        advance(upload, assembly);
+        String checksum;
+        synchronized (assembly) {
+            if (assembly.chunks < upload.getTotalChunks()) {
+                throw new IllegalArgumentException("Upload is incomplete, missing chunks: "
+                    + missingChunks(upload, assembly.chunks));
+            }
+            checksum = Base64.getEncoder().encodeToString(snapshot(assembly.sha256).digest());
+        }
+        // A full expiry window from here: a slow store must not expire, and a failed one leaves time to retry
+        LocalDateTime now = LocalDateTime.now();
+        if (uploadRepository.transition(uploadId, Status.UPLOADING, Status.COMPLETING, now.plus(expiry), now) == 0) {
+            throw new IllegalArgumentException("Upload is already being completed");
+        }
+
+        Path data = dataFile(uploadId);
+        try {
+            if (upload.getExpectedChecksum() != null && !upload.getExpectedChecksum().equals(checksum)) {
+                close(uploadId, Status.COMPLETING, Status.ABORTED);
+                throw new IllegalArgumentException("Checksum mismatch: the file was corrupted during upload, please upload it again");
+            }
+            if (uploadPipeline.sniff(data).filter(kind -> kind == FileKind.PDF).isEmpty()) {
+                close(uploadId, Status.COMPLETING, Status.ABORTED);
+                throw new IllegalArgumentException("File content is not an allowed type (pdf)");
+            }
+
+            InquiryDocumentDTO document = documentService.uploadDocument(upload.getServiceSlug(), upload.getTargetId(),
+                upload.getDocumentType(), data, upload.getOriginalFileName(), FileKind.PDF.contentType(),
+                checksum, upload.getDescription(), upload.getUploaderId());
+
+            if (uploadRepository.markCompleted(uploadId, Status.COMPLETING, Status.COMPLETED, document.getId(), LocalDateTime.now()) == 0) {
+                // Ran past the completing timeout and was handed back to UPLOADING by the sweep
+                uploadRepository.markCompleted(uploadId, Status.UPLOADING, Status.COMPLETED, document.getId(), LocalDateTime.now());
+                log.warn("Chunked upload {} finished after the completing timeout", uploadId);
+            }
+            discard(uploadId);
+            log.info("Chunked upload {} completed as document {}", uploadId, document.getId());
+            return document;
+        } catch (IOException | RuntimeException e) {
+            // Storing failed (e.g. Cloudinary down): keep the assembled file so complete can be retried
+            uploadRepository.transition(uploadId, Status.COMPLETING, Status.UPLOADING, LocalDateTime.now());
+            throw e;
+        }
+    }
+
+    /**
+     * Cancel an upload and delete its chunks
+     */
+    public void abort(String serviceSlug, Long targetId, String uploadId, Long userId) {
+        requireUploading(find(serviceSlug, targetId, uploadId, userId));
+        if (!close(uploadId, Status.UPLOADING, Status.ABORTED)) {
+            throw new IllegalArgumentException("Upload is already being completed");
+        }
+        log.info("Chunked upload {} aborted", uploadId);
+    }
+
+    /**
+     * Expire abandoned uploads and free their disk space.
+     * Uploads being completed are never expired here: one left in COMPLETING longer than the completing
+     * timeout (the node died mid-store) goes back to UPLOADING with its assembled file, so complete can be
+     * retried, and only expires later like any other abandoned upload.
+     */
+    @Scheduled(initialDelayString = "${app.upload.chunked.sweep-interval-ms:600000}",
+               fixedDelayString = "${app.upload.chunked.sweep-interval-ms:600000}")
+    public void sweep() {
+        LocalDateTime now = LocalDateTime.now();
+        int requeued = 0;
+        for (String uploadId : uploadRepository.findStaleUploadIds(Status.COMPLETING, now.minus(completingTimeout),
+                PageRequest.of(0, SWEEP_BATCH))) {
+            if (uploadRepository.transition(uploadId, Status.COMPLETING, Status.UPLOADING, now.plus(expiry), now) > 0) {
+                assemblies.remove(uploadId);
+                requeued++;
+            }
+        }
+        if (requeued > 0) {
+            log.warn("Returned {} chunked uploads stuck in COMPLETING to UPLOADING", requeued);
+        }
+
+        List<String> expired = uploadRepository.findExpiredUploadIds(
+            List.of(Status.UPLOADING), now, PageRequest.of(0, SWEEP_BATCH));
+        int closed = 0;
+        for (String uploadId : expired) {
+            if (close(uploadId, Status.UPLOADING, Status.EXPIRED)) {
+                closed++;
+            }
+        }
+        if (closed > 0) {
+            log.info("Expired {} abandoned chunked uploads", closed);
+        }
+    }
+
+    // ==================== Chunk handling ====================
+
+    private void receive(InquiryChunkedUpload upload, int index, InputStream body, String chunkChecksum,
+                         Path chunk) throws IOException {
+        long expected = chunkLength(upload, index);
+        Path tmp = Files.createTempFile(directory(upload.getUploadId()), "chunk-", ".tmp");
+        MessageDigest sha256 = sha256();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        long size = 0;
+        boolean ok = false;
+        try (OutputStream out = Files.newOutputStream(tmp)) {
+            int read;
+            while ((read = body.read(buffer)) != -1) {
+                size += read;
+                if (size > expected) {
+                    break;
+                }
+                sha256.update(buffer, 0, read);
+                out.write(buffer, 0, read);
+            }
+            if (size != expected) {
+                throw new IllegalArgumentException(String.format("Chunk %d must be exactly %d bytes", index, expected));
+            }
+            if (chunkChecksum != null && !chunkChecksum.equals(Base64.getEncoder().encodeToString(sha256.digest()))) {
+                throw new IllegalArgumentException("Chunk " + index + " checksum mismatch");
+            }
+            ok = true;
+        } finally {
+            if (!ok) {
+                Files.deleteIfExists(tmp);
+            }
+        }
+        // Only complete chunks are ever visible under their final name
+        Files.move(tmp, chunk, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Append every chunk that continues the assembled prefix, updating the digest and the persisted progress
+     */
+    private void advance(InquiryChunkedUpload upload, Assembly assembly) throws IOException {
+        String uploadId = upload.getUploadId();
+        synchronized (assembly) {
+            if (assemblies.get(uploadId) != assembly) {
+                // Replaced after a failure: the chunks stay on disk for the next call
+                return;
+            }
+            try (OutputStream data = Files.newOutputStream(dataFile(uploadId), StandardOpenOption.APPEND)) {
+                byte[] buffer = new byte[BUFFER_SIZE];
+                while (assembly.chunks < upload.getTotalChunks()) {
+                    Path chunk = chunkFile(uploadId, assembly.chunks);
+                    if (!Files.exists(chunk)) {
+                        break;
+                    }
+                    try (InputStream in = Files.newInputStream(chunk)) {
+                        int read;
+                        while ((read = in.read(buffer)) != -1) {
+                            assembly.sha256.update(buffer, 0, read);
+                            data.write(buffer, 0, read);
+                        }
+                    }
+                    data.flush();
+                    LocalDateTime now = LocalDateTime.now();
+                    uploadRepository.updateProgress(uploadId, assembly.chunks + 1, now.plus(expiry), now);
+                    assembly.chunks++;
+                    Files.delete(chunk);
+                }
+            } catch (IOException | RuntimeException e) {
+                // Digest and data file may disagree now: rebuild from the persisted progress next time
+                assemblies.remove(uploadId, assembly);
+                throw e;
+            }
+        }
+    }
+
+    private Assembly assembly(InquiryChunkedUpload upload) throws IOException {
+        try {
+            return assemblies.computeIfAbsent(upload.getUploadId(), uploadId -> restore(upload));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Rebuild the assembly state after a restart: trim the data file to the persisted prefix and re-hash it
+     */
+    private Assembly restore(InquiryChunkedUpload upload) {
+        String uploadId = upload.getUploadId();
+        try {
+            int chunks = uploadRepository.findAssembledChunks(uploadId).orElse(0);
+            Path data = dataFile(uploadId);
+            Files.createDirectories(directory(uploadId));
+            long onDisk = Files.exists(data) ? Files.size(data) : 0;
+            if (onDisk < assembledBytes(upload, chunks)) {
+                // Appended data was lost (crash before it reached the disk): keep the whole chunks that survived
+                chunks = (int) (onDisk / upload.getChunkSize());
+                LocalDateTime now = LocalDateTime.now();
+                uploadRepository.updateProgress(uploadId, chunks, now.plus(expiry), now);
+            }
+            long bytes = assembledBytes(upload, chunks);
+            try (FileChannel channel = FileChannel.open(data, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                channel.truncate(bytes);
+            }
+
+            MessageDigest sha256 = sha256();
+            try (InputStream in = Files.newInputStream(data)) {
+                byte[] buffer = new byte[BUFFER_SIZE];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    sha256.update(buffer, 0, read);
+                }
+            }
+            log.info("Chunked upload {} restored at {}/{} chunks", uploadId, chunks, upload.getTotalChunks());
+            return new Assembly(sha256, chunks);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // ==================== Helpers ====================
+
+    private InquiryChunkedUpload find(String serviceSlug, Long targetId, String uploadId, Long userId) {
+        InquiryChunkedUpload upload = uploadRepository.findByUploadId(uploadId)
+            .orElseThrow(() -> new IllegalArgumentException("Upload not found: " + uploadId));
+        if (!upload.getServiceSlug().equals(serviceSlug) || !upload.getTargetId().equals(targetId)) {
+            throw new IllegalArgumentException("Upload does not belong to the specified inquiry");
+        }
+        if (!upload.getUploaderId().equals(userId)) {
+            throw new IllegalArgumentException("Upload was started by another user");
+        }
+        return upload;
+    }
+
+    private InquiryChunkedUpload requireUploading(InquiryChunkedUpload upload) {
+        if (upload.getStatus() != Status.UPLOADING) {
+            throw new IllegalArgumentException("Upload is " + upload.getStatus().name().toLowerCase());
+        }
+        if (upload.getExpiresAt().isBefore(LocalDateTime.now())) {
+            throw new IllegalArgumentException("Upload has expired");
+        }
+        return upload;
+    }
+
+    private ChunkedUploadStatusDTO status(InquiryChunkedUpload upload, int assembled) {
+        List<Integer> missing = List.of();
+        int received = 0;
+        long receivedBytes = 0;
+        if (upload.getStatus() == Status.COMPLETED) {
+            received = upload.getTotalChunks();
+            receivedBytes = upload.getFileSize();
+        } else if (upload.getStatus() == Status.UPLOADING || upload.getStatus() == Status.COMPLETING) {
+            missing = missingChunks(upload, assembled);
+            received = upload.getTotalChunks() - missing.size();
+            receivedBytes = assembledBytes(upload, assembled);
+            for (int i = assembled; i < upload.getTotalChunks(); i++) {
+                if (Files.exists(chunkFile(upload.getUploadId(), i))) {
+                    receivedBytes += chunkLength(upload, i);
+                }
+            }
+        }
+        return ChunkedUploadStatusDTO.builder()
+            .uploadId(upload.getUploadId())
+            .status(upload.getStatus())
+            .fileName(upload.getOriginalFileName())
+            .fileSize(upload.getFileSize())
+            .chunkSize(upload.getChunkSize())
+            .totalChunks(upload.getTotalChunks())
+            .receivedChunks(received)
+            .receivedBytes(receivedBytes)
+            .missingChunks(missing)
+            .documentId(upload.getDocumentId())
+            .expiresAt(upload.getExpiresAt())
+            .build();
+    }
+
+    private List<Integer> missingChunks(InquiryChunkedUpload upload, int assembled) {
+        List<Integer> missing = new ArrayList<>();
+        for (int i = assembled; i < upload.getTotalChunks(); i++) {
+            if (!Files.exists(chunkFile(upload.getUploadId(), i))) {
+                missing.add(i);
+            }
+        }
+        return missing;
+    }
+
+    /**
+     * Move an upload to a final status and delete its files; false if it was not in the expected status
+     */
+    private boolean close(String uploadId, Status from, Status to) {
+        if (uploadRepository.transition(uploadId, from, to, LocalDateTime.now()) == 0) {
+            return false;
+        }
+        discard(uploadId);
+        return true;
+    }
+
+    private void discard(String uploadId) {
+        assemblies.remove(uploadId);
+        Path directory = directory(uploadId);
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                Files.deleteIfExists(file);
+            }
+            Files.deleteIfExists(directory);
+        } catch (IOException e) {
+            log.warn("Could not delete chunked upload directory {}: {}", directory, e.getMessage());
+        }
+    }
+
+    private static long chunkLength(InquiryChunkedUpload upload, int index) {
+        long offset = (long) index * upload.getChunkSize();
+        return Math.min(upload.getChunkSize(), upload.getFileSize() - offset);
+    }
+
+    private static long assembledBytes(InquiryChunkedUpload upload, int chunks) {
+        return Math.min((long) chunks * upload.getChunkSize(), upload.getFileSize());
+    }
+
+    private Path directory(String uploadId) {
+        // uploadId is always a server-generated UUID looked up in the database, never raw client input
+        return uploadDir.resolve(uploadId);
+    }
+
+    private Path dataFile(String uploadId) {
+        return directory(uploadId).resolve(DATA_FILE);
+    }
+
+    private Path chunkFile(String uploadId, int index) {
+        return directory(uploadId).resolve(index + CHUNK_SUFFIX);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static MessageDigest snapshot(MessageDigest digest) {
+        try {
+            return (MessageDigest) digest.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException("SHA-256 digest cannot be cloned", e);
+        }
+    }
+}
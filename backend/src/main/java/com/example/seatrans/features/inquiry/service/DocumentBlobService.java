@@ -0,0 +1,77 @@
+package com.example.seatrans.features.inquiry.service;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.springframework.stereotype.Service;
+
+import com.example.seatrans.features.inquiry.model.DocumentBlob;
+import com.example.seatrans.features.inquiry.repository.DocumentBlobRepository;
+import com.example.seatrans.shared.dto.CloudinaryUploadResponse;
+import com.example.seatrans.shared.service.CloudinaryDeletionQueue;
+import com.example.seatrans.shared.service.CloudinaryService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Reference-counted, content-addressed Cloudinary assets.
+ * An upload whose checksum is already known reuses the existing blob instead of uploading again;
+ * the remote asset is queued for deletion only when its last document is hard-deleted.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DocumentBlobService {
+
+    private final DocumentBlobRepository blobRepository;
+    private final CloudinaryDeletionQueue deletionQueue;
+
+    /**
+     * Take a reference on the blob with this checksum, if there is one
+     */
+    public Optional<DocumentBlob> acquire(String checksum) {
+        if (checksum == null || blobRepository.acquire(checksum, LocalDateTime.now()) == 0) {
+            return Optional.empty();
+        }
+        return blobRepository.findByChecksum(checksum);
+    }
+
+    /**
+     * Record a fresh upload. When a concurrent upload of the same content registered first,
+     * that blob is used and the duplicate asset just uploaded is removed.
+     */
+    public DocumentBlob register(String checksum, CloudinaryUploadResponse uploaded, long fileSize, String mimeType) {
+        blobRepository.register(checksum, uploaded.getPublicId(), uploaded.getSecureUrl(), fileSize, mimeType,
+            LocalDateTime.now());
+        DocumentBlob blob = blobRepository.findByChecksum(checksum)
+            .orElseThrow(() -> new IllegalStateException("Blob not found after register: " + checksum));
+        if (!blob.getCloudinaryPublicId().equals(uploaded.getPublicId())) {
+            log.info("Duplicate upload of blob {} discarded: {}", blob.getId(), uploaded.getPublicId());
+            deletionQueue.enqueue(uploaded.getPublicId(), uploaded.getResourceType() != null
+                ? uploaded.getResourceType()
+                : CloudinaryService.resourceTypeOf(uploaded.getSecureUrl()));
+        }
+        return blob;
+    }
+
+    /**
+     * Drop one reference. When it was the last, the row is removed and the remote asset
+     * goes to the deletion outbox in the same transaction.
+     * @return true when the blob no longer exists
+     */
+    public boolean release(Long blobId) {
+        Optional<DocumentBlob> blob = blobRepository.findById(blobId);
+        if (blob.isEmpty()) {
+            return true;
+        }
+        blobRepository.release(blobId, LocalDateTime.now());
+        if (blobRepository.deleteIfUnreferenced(blobId) == 0) {
+            return false;
+        }
+        deletionQueue.enqueue(blob.get().getCloudinaryPublicId(),
+            CloudinaryService.resourceTypeOf(blob.get().getCloudinaryUrl()));
+        log.info("Blob {} released, queued {} for deletion", blobId, blob.get().getCloudinaryPublicId());
+        return true;
+    }
+}
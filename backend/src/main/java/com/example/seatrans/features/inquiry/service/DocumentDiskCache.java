@@ -0,0 +1,216 @@
+package com.example.seatrans.features.inquiry.service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.seatrans.features.inquiry.model.InquiryDocument;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Content-addressed, size-bounded LRU cache of stored documents on local disk.
+ * Entries are keyed by the document checksum (cloudinaryPublicId for rows without one);
+ * files are written to a temp name and moved into place atomically, so a cached file is always complete.
+ */
+@Component
+@Slf4j
+public class DocumentDiskCache {
+
+    private static final String SUFFIX = ".bin";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final Path dir;
+    private final long maxBytes;
+
+    /** key -> size in bytes, in access order (eldest first) */
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long totalBytes;
+
+    public DocumentDiskCache(
+            @Value("${app.documents.cache.dir:${java.io.tmpdir}/seatrans-doc-cache}") String dir,
+            @Value("${app.documents.cache.max-bytes:1073741824}") long maxBytes) {
+        this.dir = Path.of(dir);
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Rebuild the index from disk (oldest modification first) and drop leftovers of interrupted writes
+     */
+    @PostConstruct
+    void init() throws IOException {
+        Files.createDirectories(dir);
+        List<Path> files;
+        try (Stream<Path> stream = Files.list(dir)) {
+            files = stream.toList();
+        }
+        List<Path> cached = files.stream()
+            .filter(path -> {
+                if (path.getFileName().toString().endsWith(TEMP_SUFFIX)) {
+                    deleteQuietly(path);
+                    return false;
+                }
+                return path.getFileName().toString().endsWith(SUFFIX);
+            })
+            .sorted(Comparator.comparing(DocumentDiskCache::lastModified))
+            .toList();
+        synchronized (this) {
+            for (Path path : cached) {
+                String name = path.getFileName().toString();
+                long size = sizeOf(path);
+                entries.put(name.substring(0, name.length() - SUFFIX.length()), size);
+                totalBytes += size;
+            }
+            evictOverflow(null);
+        }
+        log.info("Document cache at {}: {} entries, {} bytes (max {})", dir, entries.size(), totalBytes, maxBytes);
+    }
+
+    /**
+     * Cache key of a document, or empty when it has neither checksum nor public id
+     */
+    public Optional<String> keyOf(InquiryDocument document) {
+        String source = document.getChecksum() != null && !document.getChecksum().isBlank()
+            ? "sha256:" + document.getChecksum()
+            : document.getCloudinaryPublicId() != null && !document.getCloudinaryPublicId().isBlank()
+                ? "pid:" + document.getCloudinaryPublicId()
+                : null;
+        return Optional.ofNullable(source).map(DocumentDiskCache::hash);
+    }
+
+    /**
+     * Cached file for the key, marking it most recently used
+     */
+    public Optional<Path> get(String key) {
+        synchronized (this) {
+            if (entries.get(key) == null) {
+                return Optional.empty();
+            }
+        }
+        Path path = pathOf(key);
+        if (!Files.exists(path)) {
+            remove(key);
+            return Optional.empty();
+        }
+        try {
+            // Survives restarts as the LRU order
+            Files.setLastModifiedTime(path, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException ignored) {
+            // best effort
+        }
+        return Optional.of(path);
+    }
+
+    /**
+     * New temp file in the cache directory for a download in progress
+     */
+    public Path newTempFile() throws IOException {
+        return Files.createTempFile(dir, "doc-", TEMP_SUFFIX);
+    }
+
+    /**
+     * Move a fully written temp file into the cache and evict least recently used entries over the size bound
+     */
+    public void put(String key, Path tempFile) throws IOException {
+        long size = Files.size(tempFile);
+        if (size > maxBytes) {
+            deleteQuietly(tempFile);
+            return;
+        }
+        Files.move(tempFile, pathOf(key), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        synchronized (this) {
+            Long previous = entries.put(key, size);
+            totalBytes += size - (previous != null ? previous : 0);
+            evictOverflow(key);
+        }
+    }
+
+    public void evict(InquiryDocument document) {
+        keyOf(document).ifPresent(this::remove);
+    }
+
+    public void remove(String key) {
+        synchronized (this) {
+            Long size = entries.remove(key);
+            if (size != null) {
+                totalBytes -= size;
+            }
+        }
+        deleteQuietly(pathOf(key));
+    }
+
+    public void discard(Path tempFile) {
+        deleteQuietly(tempFile);
+    }
+
+    public synchronized Map<String, Object> stats() {
+        return Map.of("entries", entries.size(), "bytes", totalBytes, "maxBytes", maxBytes);
+    }
+
+    private void evictOverflow(String keep) {
+        Iterator<Map.Entry<String, Long>> it = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && it.hasNext()) {
+            Map.Entry<String, Long> eldest = it.next();
+            if (eldest.getKey().equals(keep)) {
+                continue;
+            }
+            it.remove();
+            totalBytes -= eldest.getValue();
+            deleteQuietly(pathOf(eldest.getKey()));
+        }
+    }
+
+    private Path pathOf(String key) {
+        return dir.resolve(key + SUFFIX);
+    }
+
+    private static String hash(String source) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(source.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static long sizeOf(Path path) {
+        try {
+            return Files.size(path);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static FileTime lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Could not delete cached document {}: {}", path, e.getMessage());
+        }
+    }
+}
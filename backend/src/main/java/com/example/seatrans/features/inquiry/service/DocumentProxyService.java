@@ -0,0 +1,385 @@
+package com.example.seatrans.features.inquiry.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.example.seatrans.features.inquiry.model.InquiryDocument;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Streams stored documents to the client.
+ * Repeat previews are served from DocumentDiskCache (Tomcat sendfile when available,
+ * FileChannel.transferTo otherwise) with local Range/ETag handling and no outbound call.
+ * Misses go to Cloudinary through one shared HttpClient (keep-alive connection reuse):
+ * Range and conditional headers are forwarded so PDF.js can fetch byte ranges, the body
+ * is copied through a fixed buffer, and a full 200 response is written to the cache on the way.
+ */
+@Service
+@Slf4j
+public class DocumentProxyService {
+
+    private static final int BUFFER_SIZE = 8 * 1024;
+
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private static final List<String> FORWARDED_REQUEST_HEADERS = List.of(
+        HttpHeaders.RANGE, HttpHeaders.IF_RANGE, HttpHeaders.IF_NONE_MATCH, HttpHeaders.IF_MODIFIED_SINCE);
+
+    private static final List<String> FORWARDED_RESPONSE_HEADERS = List.of(
+        HttpHeaders.CONTENT_LENGTH, HttpHeaders.CONTENT_RANGE, HttpHeaders.ACCEPT_RANGES,
+        HttpHeaders.ETAG, HttpHeaders.LAST_MODIFIED);
+
+    private final HttpClient httpClient;
+    private final Duration responseTimeout;
+    private final DocumentDiskCache diskCache;
+    private final Executor backgroundTaskExecutor;
+
+    /** Cache keys currently being filled in the background */
+    private final Set<String> filling = ConcurrentHashMap.newKeySet();
+
+    public DocumentProxyService(
+            DocumentDiskCache diskCache,
+            @Qualifier("backgroundTaskExecutor") Executor backgroundTaskExecutor,
+            @Value("${app.documents.proxy.connect-timeout-ms:10000}") long connectTimeoutMs,
+            @Value("${app.documents.proxy.response-timeout-ms:30000}") long responseTimeoutMs) {
+        this.diskCache = diskCache;
+        this.backgroundTaskExecutor = backgroundTaskExecutor;
+        this.httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .build();
+        this.responseTimeout = Duration.ofMillis(responseTimeoutMs);
+    }
+
+    /**
+     * Open a Cloudinary-stored document for reading on the server (e.g. ZIP bundles).
+     * A cache hit is opened in place; otherwise the file is downloaded to a temp file that joins the
+     * cache when it matches the stored checksum. The channel is opened before the file is handed to the
+     * cache, so it stays readable even if the entry is evicted meanwhile.
+     */
+    public FileChannel open(InquiryDocument document) throws IOException, InterruptedException {
+        Optional<String> key = diskCache.keyOf(document);
+        if (key.isPresent()) {
+            Optional<Path> cached = diskCache.get(key.get());
+            if (cached.isPresent()) {
+                try {
+                    return FileChannel.open(cached.get(), StandardOpenOption.READ);
+                } catch (NoSuchFileException e) {
+                    // Evicted between lookup and open: download again
+                }
+            }
+        }
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create(document.getCloudinaryUrl()))
+            .timeout(responseTimeout).GET().build();
+        HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        if (response.statusCode() != HttpStatus.OK.value()) {
+            response.body().close();
+            throw new IOException("Cloudinary returned " + response.statusCode() + " for document " + document.getId());
+        }
+
+        Path temp = diskCache.newTempFile();
+        FileChannel channel = null;
+        try {
+            MessageDigest digest = sha256();
+            try (InputStream in = response.body(); OutputStream file = Files.newOutputStream(temp)) {
+                byte[] buffer = new byte[BUFFER_SIZE];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    file.write(buffer, 0, read);
+                    digest.update(buffer, 0, read);
+                }
+            }
+            channel = FileChannel.open(temp, StandardOpenOption.READ);
+            if (key.isPresent() && matches(document.getChecksum(), digest)) {
+                diskCache.put(key.get(), temp);
+                temp = null;
+            }
+            return channel;
+        } catch (IOException | RuntimeException e) {
+            if (channel != null) {
+                channel.close();
+            }
+            throw e;
+        } finally {
+            if (temp != null) {
+                diskCache.discard(temp);
+            }
+        }
+    }
+
+    /**
+     * Serve a Cloudinary-stored PDF, from the disk cache when possible
+     */
+    public ResponseEntity<StreamingResponseBody> servePdf(InquiryDocument document, HttpServletRequest request)
+            throws IOException, InterruptedException {
+        String url = document.getCloudinaryUrl();
+        Optional<String> key = diskCache.keyOf(document);
+        if (key.isEmpty()) {
+            return proxy(url, request, null, null);
+        }
+
+        Optional<Path> cached = diskCache.get(key.get());
+        if (cached.isPresent()) {
+            return serveFile(cached.get(), key.get(), request);
+        }
+
+        if (request.getHeader(HttpHeaders.RANGE) != null) {
+            // Partial request: answer it upstream and fetch the whole file for next time
+            fillInBackground(key.get(), url, document.getChecksum());
+            return proxy(url, request, null, null);
+        }
+        return proxy(url, request, key.get(), document.getChecksum());
+    }
+
+    private ResponseEntity<StreamingResponseBody> proxy(String url, HttpServletRequest request,
+                                                        String cacheKey, String checksum)
+            throws IOException, InterruptedException {
+        HttpRequest.Builder upstream = HttpRequest.newBuilder(URI.create(url))
+            .timeout(responseTimeout)
+            .GET();
+        for (String header : FORWARDED_REQUEST_HEADERS) {
+            String value = request.getHeader(header);
+            if (value != null) {
+                upstream.header(header, value);
+            }
+        }
+
+        // Returns as soon as the status line and headers arrive; the body is read lazily
+        HttpResponse<InputStream> response = httpClient.send(upstream.build(), HttpResponse.BodyHandlers.ofInputStream());
+        int status = response.statusCode();
+
+        HttpHeaders headers = new HttpHeaders();
+        for (String header : FORWARDED_RESPONSE_HEADERS) {
+            response.headers().firstValue(header).ifPresent(value -> headers.set(header, value));
+        }
+        headers.setCacheControl("public, max-age=86400");
+
+        if (status == HttpStatus.OK.value() || status == HttpStatus.PARTIAL_CONTENT.value()) {
+            headers.setContentType(MediaType.APPLICATION_PDF);
+            if (!headers.containsKey(HttpHeaders.ACCEPT_RANGES)) {
+                headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+            }
+            InputStream body = response.body();
+            StreamingResponseBody writer = cacheKey != null && status == HttpStatus.OK.value()
+                ? out -> copyAndCache(body, out, cacheKey, checksum)
+                : out -> copy(body, out);
+            return ResponseEntity.status(status).headers(headers).body(writer);
+        }
+
+        response.body().close();
+        if (status == HttpStatus.NOT_MODIFIED.value() || status == HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value()) {
+            headers.remove(HttpHeaders.CONTENT_LENGTH);
+            return ResponseEntity.status(status).headers(headers).build();
+        }
+        log.warn("Storage returned {} for {}", status, url);
+        return ResponseEntity.status(HttpStatus.BAD_GATEWAY).build();
+    }
+
+    /**
+     * Serve a cached file with local ETag / single-Range handling
+     */
+    private ResponseEntity<StreamingResponseBody> serveFile(Path file, String key, HttpServletRequest request)
+            throws IOException {
+        long length = Files.size(file);
+        String etag = "\"" + key + "\"";
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(etag);
+        headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+        headers.setCacheControl("public, max-age=86400");
+
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null && (ifNoneMatch.contains(etag) || "*".equals(ifNoneMatch.trim()))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(headers).build();
+        }
+
+        long start = 0;
+        long end = length - 1;
+        HttpStatus status = HttpStatus.OK;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (range != null && (ifRange == null || ifRange.equals(etag))) {
+            try {
+                List<HttpRange> ranges = HttpRange.parseRanges(range);
+                // Multipart byteranges are not worth it here: serve the whole file instead
+                if (ranges.size() == 1) {
+                    start = ranges.get(0).getRangeStart(length);
+                    end = ranges.get(0).getRangeEnd(length);
+                    status = HttpStatus.PARTIAL_CONTENT;
+                    headers.set(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+                }
+            } catch (IllegalArgumentException e) {
+                headers.set(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE).headers(headers).build();
+            }
+        }
+
+        long count = end - start + 1;
+        headers.setContentType(MediaType.APPLICATION_PDF);
+        headers.setContentLength(count);
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            // Tomcat writes the file with sendfile(2) after the handler returns: no copy through the heap
+            request.setAttribute(SENDFILE_FILENAME, file.toRealPath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return ResponseEntity.status(status).headers(headers).build();
+        }
+
+        long position = start;
+        return ResponseEntity.status(status).headers(headers).body(out -> transfer(file, position, count, out));
+    }
+
+    private static void transfer(Path file, long position, long count, OutputStream out) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(out);
+            long sent = 0;
+            while (sent < count) {
+                long n = channel.transferTo(position + sent, count - sent, target);
+                if (n <= 0) {
+                    break;
+                }
+                sent += n;
+            }
+            out.flush();
+        }
+    }
+
+    /**
+     * Stream to the client and into a temp file; the file joins the cache only when the
+     * download completed and matches the stored checksum
+     */
+    private void copyAndCache(InputStream in, OutputStream out, String key, String checksum) throws IOException {
+        Path temp = diskCache.newTempFile();
+        boolean complete = false;
+        try (in; OutputStream file = Files.newOutputStream(temp)) {
+            MessageDigest digest = sha256();
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+                file.write(buffer, 0, read);
+                digest.update(buffer, 0, read);
+            }
+            out.flush();
+            complete = matches(checksum, digest);
+        } finally {
+            if (complete) {
+                diskCache.put(key, temp);
+            } else {
+                diskCache.discard(temp);
+            }
+        }
+    }
+
+    private void fillInBackground(String key, String url, String checksum) {
+        if (!filling.add(key)) {
+            return;
+        }
+        backgroundTaskExecutor.execute(() -> {
+            Path temp = null;
+            try {
+                HttpRequest request = HttpRequest.newBuilder(URI.create(url)).timeout(responseTimeout).GET().build();
+                HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+                if (response.statusCode() != HttpStatus.OK.value()) {
+                    response.body().close();
+                    return;
+                }
+                temp = diskCache.newTempFile();
+                MessageDigest digest = sha256();
+                try (InputStream in = response.body(); OutputStream file = Files.newOutputStream(temp)) {
+                    byte[] buffer = new byte[BUFFER_SIZE];
+                    int read;
+                    while ((read = in.read(buffer)) != -1) {
+                        file.write(buffer, 0, read);
+                        digest.update(buffer, 0, read);
+                    }
+                }
+                if (matches(checksum, digest)) {
+                    diskCache.put(key, temp);
+                    temp = null;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException e) {
+                log.warn("Could not cache document from {}: {}", url, e.getMessage());
+            } finally {
+                if (temp != null) {
+                    diskCache.discard(temp);
+                }
+                filling.remove(key);
+            }
+        });
+    }
+
+    private static boolean matches(String checksum, MessageDigest digest) {
+        if (checksum == null || checksum.isBlank()) {
+            return true;
+        }
+        boolean ok = checksum.equals(Base64.getEncoder().encodeToString(digest.digest()));
+        if (!ok) {
+            log.warn("Downloaded document does not match stored checksum; not caching");
+        }
+        return ok;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Copy through a fixed buffer; closing the upstream stream also releases the connection
+     * when the client aborts mid-transfer.
+     */
+    static void copy(InputStream in, OutputStream out) throws IOException {
+        try (in) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            out.flush();
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package com.example.seatrans.features.inquiry.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.seatrans.features.inquiry.model.InquiryDocument;
+import com.example.seatrans.features.inquiry.model.InquiryDocument.ThumbnailStatus;
+import com.example.seatrans.features.inquiry.model.InquiryDocumentThumbnail;
+import com.example.seatrans.features.inquiry.repository.InquiryDocumentRepository;
+import com.example.seatrans.features.inquiry.repository.InquiryDocumentThumbnailRepository;
+import com.example.seatrans.shared.outbox.RetryPolicy;
+import com.example.seatrans.shared.service.CloudinaryDeletionQueue;
+import com.example.seatrans.shared.service.CloudinaryService;
+import com.example.seatrans.shared.service.CloudinaryService.RenderedPage;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * First-page thumbnails for inquiry documents.
+ * A PENDING document is rendered after commit on the thumbnail executor: Cloudinary fetches the stored
+ * PDF and renders page 1 to a small image, which is downloaded, stored in inquiry_document_thumbnails
+ * and served by the thumbnail endpoint; the temporary Cloudinary asset goes to the deletion outbox.
+ * Documents with the same checksum share the rendered image without another Cloudinary call.
+ * Failed renders are retried by the sweep with exponential backoff up to max-attempts.
+ */
+@Service
+@Slf4j
+public class DocumentThumbnailService {
+
+    private static final int SWEEP_BATCH = 50;
+    private static final Duration STALE_PENDING = Duration.ofMinutes(10);
+    private static final long MAX_THUMBNAIL_BYTES = 2 * 1024 * 1024;
+    private static final Duration BASE_BACKOFF = Duration.ofMinutes(1);
+    private static final Duration MAX_BACKOFF = Duration.ofHours(1);
+
+    private final InquiryDocumentRepository documentRepository;
+    private final InquiryDocumentThumbnailRepository thumbnailRepository;
+    private final CloudinaryService cloudinaryService;
+    private final CloudinaryDeletionQueue deletionQueue;
+    private final Executor executor;
+    private final HttpClient httpClient;
+    private final Duration responseTimeout;
+    private final int width;
+    private final String format;
+    private final RetryPolicy retryPolicy;
+
+    public DocumentThumbnailService(InquiryDocumentRepository documentRepository,
+                                    InquiryDocumentThumbnailRepository thumbnailRepository,
+                                    CloudinaryService cloudinaryService,
+                                    CloudinaryDeletionQueue deletionQueue,
+                                    @Qualifier("thumbnailExecutor") Executor executor,
+                                    @Value("${app.documents.proxy.connect-timeout-ms:10000}") long connectTimeoutMs,
+                                    @Value("${app.documents.proxy.response-timeout-ms:30000}") long responseTimeoutMs,
+                                    @Value("${app.documents.thumbnail.width:320}") int width,
+                                    @Value("${app.documents.thumbnail.format:webp}") String format,
+                                    @Value("${app.documents.thumbnail.max-attempts:5}") int maxAttempts) {
+        this.documentRepository = documentRepository;
+        this.thumbnailRepository = thumbnailRepository;
+        this.cloudinaryService = cloudinaryService;
+        this.deletionQueue = deletionQueue;
+        this.executor = executor;
+        this.httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .build();
+        this.responseTimeout = Duration.ofMillis(responseTimeoutMs);
+        this.width = width;
+        this.format = format;
+        this.retryPolicy = new RetryPolicy(BASE_BACKOFF, MAX_BACKOFF, maxAttempts);
+    }
+
+    /**
+     * Render the thumbnail of a PENDING document once the current transaction commits
+     */
+    public void generateAfterCommit(Long documentId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatch(documentId);
+                }
+            });
+        } else {
+            dispatch(documentId);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<InquiryDocumentThumbnail> getThumbnail(Long documentId) {
+        return thumbnailRepository.findByDocumentId(documentId);
+    }
+
+    public void delete(Long documentId) {
+        thumbnailRepository.deleteByDocumentId(documentId);
+    }
+
+    /**
+     * Pick up documents whose render was rejected (queue full) or lost in a restart,
+     * and retry failed renders whose backoff has elapsed
+     */
+    @Scheduled(initialDelayString = "${app.documents.thumbnail.sweep-interval-ms:300000}",
+               fixedDelayString = "${app.documents.thumbnail.sweep-interval-ms:300000}")
+    public void sweep() {
+        LocalDateTime now = LocalDateTime.now();
+        documentRepository.findIdsByThumbnailStatus(ThumbnailStatus.PENDING,
+                now.minus(STALE_PENDING), PageRequest.of(0, SWEEP_BATCH))
+            .forEach(this::dispatch);
+        documentRepository.findThumbnailRetryIds(ThumbnailStatus.FAILED, now, PageRequest.of(0, SWEEP_BATCH))
+            .stream()
+            .filter(id -> documentRepository.transitionThumbnail(id, ThumbnailStatus.FAILED, ThumbnailStatus.PENDING) == 1)
+            .forEach(this::dispatch);
+    }
+
+    private void dispatch(Long documentId) {
+        try {
+            executor.execute(() -> generate(documentId));
+        } catch (RejectedExecutionException e) {
+            // Queue full: the document stays PENDING and the next sweep picks it up
+            log.warn("Thumbnail queue full, deferring document {}", documentId);
+        }
+    }
+
+    private void generate(Long documentId) {
+        Optional<InquiryDocument> found = documentRepository.findById(documentId);
+        if (found.isEmpty() || found.get().getThumbnailStatus() != ThumbnailStatus.PENDING
+                || !Boolean.TRUE.equals(found.get().getIsActive())) {
+            return;
+        }
+        InquiryDocument document = found.get();
+        try {
+            InquiryDocumentThumbnail thumbnail = reuse(document).orElseGet(() -> render(document));
+            thumbnailRepository.save(thumbnail);
+            if (!documentRepository.existsByIdAndIsActiveTrue(documentId)) {
+                // Deleted while rendering: its delete already ran, so remove the row we just wrote
+                thumbnailRepository.deleteByDocumentId(documentId);
+                log.info("Discarded thumbnail of document {} deleted during rendering", documentId);
+                return;
+            }
+            documentRepository.transitionThumbnail(documentId, ThumbnailStatus.PENDING, ThumbnailStatus.READY);
+            log.info("Thumbnail ready for document {} ({} bytes)", documentId, thumbnail.getContent().length);
+        } catch (DataIntegrityViolationException e) {
+            // Rendered concurrently by the sweeper: the other copy won
+            documentRepository.transitionThumbnail(documentId, ThumbnailStatus.PENDING, ThumbnailStatus.READY);
+        } catch (RuntimeException e) {
+            int attempts = (document.getThumbnailAttempts() != null ? document.getThumbnailAttempts() : 0) + 1;
+            // Parked once the limit is reached: FAILED with no next attempt
+            LocalDateTime nextAttemptAt = retryPolicy.nextAttemptAt(attempts);
+            documentRepository.failThumbnail(documentId, ThumbnailStatus.PENDING, ThumbnailStatus.FAILED,
+                attempts, nextAttemptAt);
+            log.warn("Thumbnail generation failed for document {} (attempt {}/{}): {}",
+                documentId, attempts, retryPolicy.maxAttempts(), e.getMessage());
+        }
+    }
+
+    /**
+     * Copy of a thumbnail already rendered for the same content (shared blob)
+     */
+    private Optional<InquiryDocumentThumbnail> reuse(InquiryDocument document) {
+        if (document.getChecksum() == null) {
+            return Optional.empty();
+        }
+        return thumbnailRepository.findFirstByChecksum(document.getChecksum())
+            .map(existing -> InquiryDocumentThumbnail.builder()
+                .documentId(document.getId())
+                .checksum(existing.getChecksum())
+                .contentType(existing.getContentType())
+                .width(existing.getWidth())
+                .height(existing.getHeight())
+                .content(existing.getContent())
+                .build());
+    }
+
+    private InquiryDocumentThumbnail render(InquiryDocument document) {
+        if (document.getCloudinaryUrl() == null || document.getCloudinaryUrl().isBlank()) {
+            throw new IllegalStateException("Document is not stored on Cloudinary");
+        }
+        RenderedPage page = cloudinaryService.renderPdfPage(document.getCloudinaryUrl(), 1, width, format);
+        try {
+            return InquiryDocumentThumbnail.builder()
+                .documentId(document.getId())
+                .checksum(document.getChecksum())
+                .contentType(contentType(format))
+                .width(page.width())
+                .height(page.height())
+                .content(download(page.url()))
+                .build();
+        } finally {
+            deletionQueue.enqueue(page.publicId(), CloudinaryService.RESOURCE_TYPE_IMAGE);
+        }
+    }
+
+    private byte[] download(String url) {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(url)).timeout(responseTimeout).GET().build();
+            HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            try (InputStream in = response.body()) {
+                if (response.statusCode() != 200) {
+                    throw new IllegalStateException("Cloudinary returned " + response.statusCode() + " for thumbnail");
+                }
+                byte[] content = in.readNBytes((int) MAX_THUMBNAIL_BYTES + 1);
+                if (content.length > MAX_THUMBNAIL_BYTES) {
+                    throw new IllegalStateException("Rendered thumbnail is too large");
+                }
+                return content;
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not download thumbnail: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while downloading thumbnail", e);
+        }
+    }
+
+    private static String contentType(String format) {
+        return switch (format.toLowerCase()) {
+            case "jpg", "jpeg" -> "image/jpeg";
+            default -> "image/" + format.toLowerCase();
+        };
+    }
+}
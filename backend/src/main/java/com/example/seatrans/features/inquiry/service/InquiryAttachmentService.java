@@ -0,0 +1,302 @@
+package com.example.seatrans.features.inquiry.service;
+
+import java.io.IOException;
+import java.nio.file.DirectoryNotEmptyException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.example.seatrans.features.inquiry.dto.InquiryAttachmentUploadDTO;
+import com.example.seatrans.features.inquiry.dto.InquiryDocumentDTO;
+import com.example.seatrans.features.inquiry.model.InquiryAttachmentUpload;
+import com.example.seatrans.features.inquiry.model.InquiryAttachmentUpload.Status;
+import com.example.seatrans.features.inquiry.model.InquiryDocument.DocumentType;
+import com.example.seatrans.features.inquiry.repository.InquiryAttachmentUploadRepository;
+import com.example.seatrans.shared.exception.FileUploadException;
+import com.example.seatrans.shared.exception.ResourceNotFoundException;
+import com.example.seatrans.shared.outbox.RetryPolicy;
+import com.example.seatrans.shared.service.UploadPipeline;
+import com.example.seatrans.shared.service.UploadPipeline.SpooledUpload;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Background pipeline for inquiry attachments.
+ * - submit(): spool files to local disk and record PENDING rows (request thread, no Cloudinary call)
+ * - process(): upload one spooled file on the bounded executor and create its InquiryDocument
+ * - sweep(): retry due PENDING rows with exponential backoff and recover rows stuck in UPLOADING
+ */
+@Service
+@Slf4j
+public class InquiryAttachmentService {
+
+    private static final int SWEEP_BATCH = 50;
+    private static final Duration BASE_BACKOFF = Duration.ofSeconds(30);
+    private static final Duration MAX_BACKOFF = Duration.ofMinutes(30);
+    private static final Duration STALE_UPLOADING = Duration.ofMinutes(15);
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final InquiryAttachmentUploadRepository uploadRepository;
+    private final InquiryDocumentService documentService;
+    private final UploadPipeline uploadPipeline;
+    private final Executor executor;
+    private final Path spoolDir;
+    private final RetryPolicy retryPolicy;
+
+    public InquiryAttachmentService(InquiryAttachmentUploadRepository uploadRepository,
+                                    InquiryDocumentService documentService,
+                                    UploadPipeline uploadPipeline,
+                                    @Qualifier("attachmentUploadExecutor") Executor executor,
+                                    @Value("${app.upload.spool-dir:${java.io.tmpdir}/seatrans-spool}") String spoolDir,
+                                    @Value("${app.upload.attachment.max-attempts:5}") int maxAttempts) {
+        this.uploadRepository = uploadRepository;
+        this.documentService = documentService;
+        this.uploadPipeline = uploadPipeline;
+        this.executor = executor;
+        this.spoolDir = Path.of(spoolDir);
+        this.retryPolicy = new RetryPolicy(BASE_BACKOFF, MAX_BACKOFF, maxAttempts);
+    }
+
+    /**
+     * Spool attachments to disk and queue them for upload.
+     * Uploads are dispatched only after the surrounding transaction commits.
+     * @return submission id, or null when no file was attached
+     */
+    @Transactional
+    public String submit(String serviceSlug, Long targetId, Long uploaderId, MultipartFile[] files) throws IOException {
+        if (files == null || files.length == 0) {
+            return null;
+        }
+
+        String submissionId = UUID.randomUUID().toString();
+        Path dir = spoolDir.resolve(submissionId);
+        Files.createDirectories(dir);
+
+        List<Long> queued = new ArrayList<>();
+        List<Path> spooledFiles = new ArrayList<>();
+        int recorded = 0;
+        try {
+            for (MultipartFile file : files) {
+                if (file.isEmpty()) {
+                    log.warn("Skipping empty file");
+                    continue;
+                }
+
+                InquiryAttachmentUpload upload = InquiryAttachmentUpload.builder()
+                    .submissionId(submissionId)
+                    .serviceSlug(serviceSlug)
+                    .targetId(targetId)
+                    .uploaderId(uploaderId)
+                    .originalFileName(file.getOriginalFilename() != null ? file.getOriginalFilename() : "attachment")
+                    .contentType(file.getContentType())
+                    .fileSize(file.getSize())
+                    .build();
+
+                // One pass over the upload: metadata checks, magic bytes, SHA-256 and spool file
+                SpooledUpload spooled;
+                try {
+                    documentService.validateFile(file);
+                    spooled = uploadPipeline.spool(file, dir.resolve(UUID.randomUUID() + ".part"),
+                        documentService.getMaxFileSize(), UploadPipeline.PDF_ONLY);
+                } catch (IllegalArgumentException | FileUploadException ex) {
+                    log.warn("Rejected attachment {}: {}", file.getOriginalFilename(), ex.getMessage());
+                    upload.setStatus(Status.FAILED);
+                    upload.setLastError(ex.getMessage());
+                    uploadRepository.save(upload);
+                    recorded++;
+                    continue;
+                }
+                spooledFiles.add(spooled.path());
+
+                // Name the spool file after the detected type, not the client's claim
+                String extension = spooled.kind().extension();
+                Path spoolFile = Files.move(spooled.path(),
+                    spooled.path().resolveSibling(stripExtension(spooled.path()) + "." + extension));
+                spooledFiles.set(spooledFiles.size() - 1, spoolFile);
+                if (file.getOriginalFilename() == null) {
+                    upload.setOriginalFileName("attachment." + extension);
+                }
+
+                upload.setSpoolPath(spoolFile.toString());
+                upload.setChecksum(spooled.sha256());
+                upload.setContentType(spooled.kind().contentType());
+                upload.setFileSize(spooled.size());
+                upload.setStatus(Status.PENDING);
+                upload.setNextAttemptAt(LocalDateTime.now());
+                queued.add(uploadRepository.save(upload).getId());
+                recorded++;
+            }
+        } catch (IOException | RuntimeException e) {
+            // The rows roll back with the transaction; the files spooled so far would be orphaned
+            spooledFiles.forEach(this::deleteSpool);
+            deleteDirectoryIfEmpty(dir);
+            throw e;
+        }
+
+        if (queued.isEmpty()) {
+            deleteDirectoryIfEmpty(dir);
+        }
+        if (recorded == 0) {
+            return null;
+        }
+
+        log.info("Spooled {} attachments for service={}, target={}, submission={}",
+            queued.size(), serviceSlug, targetId, submissionId);
+        dispatchAfterCommit(queued);
+        return submissionId;
+    }
+
+    @Transactional(readOnly = true)
+    public List<InquiryAttachmentUpload> getSubmission(String submissionId) {
+        return uploadRepository.findBySubmissionIdOrderByIdAsc(submissionId);
+    }
+
+    public List<InquiryAttachmentUploadDTO> toDTOs(List<InquiryAttachmentUpload> uploads) {
+        return uploads.stream().map(InquiryAttachmentUploadDTO::from).toList();
+    }
+
+    /**
+     * Upload one spooled attachment. Safe to call concurrently: the PENDING -> UPLOADING claim is atomic.
+     */
+    public void process(Long uploadId) {
+        if (uploadRepository.transition(uploadId, Status.PENDING, Status.UPLOADING, LocalDateTime.now()) == 0) {
+            return;
+        }
+        InquiryAttachmentUpload upload = uploadRepository.findById(uploadId).orElse(null);
+        if (upload == null) {
+            return;
+        }
+
+        Path file = upload.getSpoolPath() != null ? Path.of(upload.getSpoolPath()) : null;
+        int attempts = upload.getAttempts() + 1;
+        upload.setAttempts(attempts);
+        try {
+            if (file == null || !Files.exists(file)) {
+                throw new IOException("Spooled file is missing");
+            }
+            InquiryDocumentDTO document = documentService.uploadDocument(
+                upload.getServiceSlug(), upload.getTargetId(), DocumentType.OTHER, file,
+                upload.getOriginalFileName(), upload.getContentType(), upload.getChecksum(), "User attachment",
+                upload.getUploaderId());
+
+            upload.setStatus(Status.COMPLETED);
+            upload.setDocumentId(document.getId());
+            upload.setLastError(null);
+            upload.setNextAttemptAt(null);
+            uploadRepository.save(upload);
+            deleteSpool(file);
+            log.info("Attachment uploaded: upload={}, document={}, attempts={}", uploadId, document.getId(), attempts);
+
+        } catch (Exception e) {
+            upload.setLastError(truncate(e.getMessage()));
+            // A deleted inquiry will not come back: fail without retrying
+            boolean retryable = !(e instanceof ResourceNotFoundException)
+                && file != null && Files.exists(file) && !retryPolicy.exhausted(attempts);
+            if (retryable) {
+                Duration backoff = retryPolicy.backoff(attempts);
+                upload.setStatus(Status.PENDING);
+                upload.setNextAttemptAt(LocalDateTime.now().plus(backoff));
+                log.warn("Attachment upload {} failed (attempt {}/{}), retrying in {}s: {}",
+                    uploadId, attempts, retryPolicy.maxAttempts(), backoff.toSeconds(), e.getMessage());
+            } else {
+                upload.setStatus(Status.FAILED);
+                upload.setNextAttemptAt(null);
+                deleteSpool(file);
+                log.error("Attachment upload {} failed permanently after {} attempts: {}",
+                    uploadId, attempts, e.getMessage(), e);
+            }
+            uploadRepository.save(upload);
+        }
+    }
+
+    /**
+     * Retry due uploads and recover uploads left in UPLOADING by a crash or restart
+     */
+    @Scheduled(initialDelayString = "${app.upload.attachment.sweep-interval-ms:30000}",
+               fixedDelayString = "${app.upload.attachment.sweep-interval-ms:30000}")
+    public void sweep() {
+        LocalDateTime now = LocalDateTime.now();
+        int requeued = uploadRepository.requeueStale(Status.UPLOADING, Status.PENDING, now.minus(STALE_UPLOADING), now);
+        if (requeued > 0) {
+            log.warn("Requeued {} stale attachment uploads", requeued);
+        }
+        uploadRepository.findDueIds(Status.PENDING, now, PageRequest.of(0, SWEEP_BATCH))
+            .forEach(this::dispatch);
+    }
+
+    private void dispatchAfterCommit(List<Long> uploadIds) {
+        if (uploadIds.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    uploadIds.forEach(InquiryAttachmentService.this::dispatch);
+                }
+            });
+        } else {
+            uploadIds.forEach(this::dispatch);
+        }
+    }
+
+    private void dispatch(Long uploadId) {
+        try {
+            executor.execute(() -> process(uploadId));
+        } catch (RejectedExecutionException ex) {
+            // Queue full: the row stays PENDING and the next sweep picks it up
+            log.warn("Attachment upload queue full, deferring upload {}", uploadId);
+        }
+    }
+
+    private void deleteSpool(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+            deleteDirectoryIfEmpty(file.getParent());
+        } catch (IOException e) {
+            log.warn("Could not delete spooled file {}: {}", file, e.getMessage());
+        }
+    }
+
+    private void deleteDirectoryIfEmpty(Path dir) {
+        try {
+            Files.deleteIfExists(dir);
+        } catch (DirectoryNotEmptyException ignored) {
+            // other attachments of the submission are still spooled
+        } catch (IOException e) {
+            log.warn("Could not delete spool directory {}: {}", dir, e.getMessage());
+        }
+    }
+
+    private static String stripExtension(Path file) {
+        String name = file.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return dot > 0 ? name.substring(0, dot) : name;
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+}
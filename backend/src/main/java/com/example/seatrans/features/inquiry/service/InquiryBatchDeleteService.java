@@ -0,0 +1,130 @@
+package com.example.seatrans.features.inquiry.service;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.seatrans.features.inquiry.model.InquiryIndex;
+import com.example.seatrans.features.inquiry.repository.CharteringBrokingInquiryRepository;
+import com.example.seatrans.features.inquiry.repository.FreightForwardingInquiryRepository;
+import com.example.seatrans.features.inquiry.repository.InquiryIndexRepository;
+import com.example.seatrans.features.inquiry.repository.ShippingAgencyInquiryRepository;
+import com.example.seatrans.features.inquiry.repository.SpecialRequestInquiryRepository;
+import com.example.seatrans.features.inquiry.repository.TotalLogisticInquiryRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Set-based delete of a user's own inquiries.
+ * Per service table: one ownership query (user_id = ? AND id IN (...)) and one bulk DELETE,
+ * all in a single transaction. Documents are cleaned up in the background after commit.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class InquiryBatchDeleteService {
+
+    private static final String SHIPPING_AGENCY = "SHIPPING AGENCY";
+    private static final String CHARTERING = "CHARTERING";
+    private static final String FREIGHT_FORWARDING = "FREIGHT FORWARDING";
+    private static final String LOGISTICS = "LOGISTICS";
+    private static final String SPECIAL_REQUEST = "SPECIAL REQUEST";
+
+    private final ShippingAgencyInquiryRepository shippingAgencyInquiryRepository;
+    private final CharteringBrokingInquiryRepository charteringBrokingInquiryRepository;
+    private final FreightForwardingInquiryRepository freightForwardingInquiryRepository;
+    private final TotalLogisticInquiryRepository totalLogisticInquiryRepository;
+    private final SpecialRequestInquiryRepository specialRequestInquiryRepository;
+    private final InquiryIndexRepository inquiryIndexRepository;
+    private final InquiryIndexService inquiryIndexService;
+    private final InquiryDocumentCleanupService documentCleanupService;
+
+    /**
+     * Delete the inquiries the user owns among the requested (service type, id) pairs
+     * @param idsByService service type name -> requested ids
+     * @return service type name -> ids actually deleted
+     */
+    public Map<String, List<Long>> deleteOwned(Long userId, Map<String, ? extends Collection<Long>> idsByService) {
+        Map<String, List<Long>> deleted = new LinkedHashMap<>();
+        for (Map.Entry<String, ? extends Collection<Long>> entry : idsByService.entrySet()) {
+            String serviceName = entry.getKey();
+            Collection<Long> ids = entry.getValue();
+            if (ids == null || ids.isEmpty()) {
+                continue;
+            }
+            List<Long> owned = switch (serviceName) {
+                case SHIPPING_AGENCY -> deleteOwnedIn(ids,
+                    requested -> shippingAgencyInquiryRepository.findIdsOwnedBy(userId, requested),
+                    shippingAgencyInquiryRepository::deleteAllByIdIn);
+                case CHARTERING -> deleteOwnedIn(ids,
+                    requested -> charteringBrokingInquiryRepository.findIdsOwnedBy(userId, requested),
+                    charteringBrokingInquiryRepository::deleteAllByIdIn);
+                case FREIGHT_FORWARDING -> deleteOwnedIn(ids,
+                    requested -> freightForwardingInquiryRepository.findIdsOwnedBy(userId, requested),
+                    freightForwardingInquiryRepository::deleteAllByIdIn);
+                case LOGISTICS -> deleteOwnedIn(ids,
+                    requested -> totalLogisticInquiryRepository.findIdsOwnedBy(userId, requested),
+                    totalLogisticInquiryRepository::deleteAllByIdIn);
+                case SPECIAL_REQUEST -> deleteOwnedIn(ids,
+                    requested -> specialRequestInquiryRepository.findIdsOwnedBy(userId, requested),
+                    specialRequestInquiryRepository::deleteAllByIdIn);
+                default -> List.of();
+            };
+            if (owned.isEmpty()) {
+                continue;
+            }
+            inquiryIndexService.removeAll(serviceName, owned);
+            documentCleanupService.enqueue(serviceName, owned);
+            deleted.put(serviceName, owned);
+        }
+        log.info("User {} batch-deleted {} inquiries", userId, deleted.values().stream().mapToInt(List::size).sum());
+        return deleted;
+    }
+
+    /**
+     * Resolve bare ids (legacy request shape) through the user's own index rows.
+     * Ids are only unique per service table, so an id the user owns in more than one service is rejected
+     * instead of deleting every match; ids the user does not own are simply not returned.
+     * @throws IllegalArgumentException when an id matches inquiries of several service types
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Set<Long>> resolveOwnedIds(Long userId, Collection<Long> ids) {
+        Map<Long, String> serviceById = new HashMap<>();
+        Set<Long> ambiguous = new TreeSet<>();
+        Map<String, Set<Long>> idsByService = new LinkedHashMap<>();
+        for (InquiryIndex entry : inquiryIndexRepository.findByUserIdAndTargetIdIn(userId, ids)) {
+            String previous = serviceById.putIfAbsent(entry.getTargetId(), entry.getServiceType());
+            if (previous != null && !previous.equals(entry.getServiceType())) {
+                ambiguous.add(entry.getTargetId());
+            }
+            idsByService.computeIfAbsent(entry.getServiceType(), k -> new LinkedHashSet<>()).add(entry.getTargetId());
+        }
+        if (!ambiguous.isEmpty()) {
+            throw new IllegalArgumentException("Ids " + ambiguous
+                + " match inquiries of several service types; send items with serviceType and id");
+        }
+        return idsByService;
+    }
+
+    private List<Long> deleteOwnedIn(Collection<Long> ids,
+                                     Function<Collection<Long>, List<Long>> findOwned,
+                                     Consumer<Collection<Long>> bulkDelete) {
+        List<Long> owned = findOwned.apply(ids);
+        if (!owned.isEmpty()) {
+            bulkDelete.accept(owned);
+        }
+        return owned;
+    }
+}
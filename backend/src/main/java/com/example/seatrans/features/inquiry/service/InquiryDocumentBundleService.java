@@ -0,0 +1,218 @@
+package com.example.seatrans.features.inquiry.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.example.seatrans.features.inquiry.model.InquiryDocument;
+import com.example.seatrans.features.inquiry.repository.InquiryDocumentRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Streams all active documents of an inquiry as one ZIP.
+ * Files are fetched concurrently (disk cache or Cloudinary) and written in completion order as
+ * STORED entries: PDFs are already compressed, and a STORED entry only needs the size and CRC-32,
+ * which are taken from the local copy. A permit is held from fetch start until the entry is written,
+ * so at most `parallelism` files are open at once and the archive itself is never buffered.
+ */
+@Service
+@Slf4j
+public class InquiryDocumentBundleService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String MISSING_FILES_ENTRY = "MISSING_FILES.txt";
+
+    private final InquiryDocumentRepository documentRepository;
+    private final DocumentProxyService documentProxyService;
+    private final int parallelism;
+
+    public InquiryDocumentBundleService(InquiryDocumentRepository documentRepository,
+                                        DocumentProxyService documentProxyService,
+                                        @Value("${app.documents.bundle.parallelism:4}") int parallelism) {
+        this.documentRepository = documentRepository;
+        this.documentProxyService = documentProxyService;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /**
+     * A document copied (or cached) locally, ready to be written as a STORED entry
+     */
+    private record Fetched(InquiryDocument document, FileChannel channel, long size, long crc) implements AutoCloseable {
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    /**
+     * Active documents of an inquiry in bundle order (by type, then upload time)
+     */
+    public List<InquiryDocument> getBundleDocuments(String serviceSlug, Long targetId) {
+        return documentRepository.findByServiceSlugAndTargetIdAndIsActiveTrue(serviceSlug, targetId).stream()
+            .sorted(Comparator.comparing(InquiryDocument::getDocumentType)
+                .thenComparing(InquiryDocument::getUploadedAt, Comparator.nullsLast(Comparator.naturalOrder())))
+            .toList();
+    }
+
+    /**
+     * Write the ZIP to the response. Documents that cannot be fetched are listed in MISSING_FILES.txt
+     * instead of failing the download (the response headers are already sent).
+     */
+    public void writeZip(List<InquiryDocument> documents, OutputStream out) throws IOException {
+        ZipOutputStream zip = new ZipOutputStream(out);
+        Set<String> usedNames = new HashSet<>();
+        List<String> missing = new ArrayList<>();
+        Semaphore permits = new Semaphore(parallelism);
+
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        CompletionService<Fetched> completion = new ExecutorCompletionService<>(executor);
+        int pending = 0;
+        try {
+            for (InquiryDocument document : documents) {
+                completion.submit(() -> {
+                    permits.acquire();
+                    try {
+                        return fetch(document);
+                    } catch (Exception e) {
+                        permits.release();
+                        throw e;
+                    }
+                });
+                pending++;
+            }
+
+            while (pending > 0) {
+                Future<Fetched> next = completion.take();
+                pending--;
+                Fetched fetched;
+                try {
+                    fetched = next.get();
+                } catch (ExecutionException e) {
+                    missing.add(e.getCause().getMessage());
+                    continue;
+                }
+                try (fetched) {
+                    write(zip, entryName(fetched.document(), usedNames), fetched);
+                } finally {
+                    permits.release();
+                }
+            }
+
+            if (!missing.isEmpty()) {
+                zip.putNextEntry(new ZipEntry(MISSING_FILES_ENTRY));
+                zip.write(String.join("\r\n", missing).getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+            zip.finish();
+            zip.flush();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Bundle download interrupted", e);
+        } finally {
+            // Client gone or failure: stop fetches still running and release what they opened
+            executor.shutdownNow();
+            executor.close();
+            for (; pending > 0; pending--) {
+                Future<Fetched> leftover = completion.poll();
+                if (leftover == null) {
+                    break;
+                }
+                try (Fetched fetched = leftover.get()) {
+                    // closed by try-with-resources
+                } catch (ExecutionException | InterruptedException ignored) {
+                    // nothing was opened
+                }
+            }
+        }
+    }
+
+    private Fetched fetch(InquiryDocument document) throws IOException, InterruptedException {
+        String cloudinaryUrl = document.getCloudinaryUrl();
+        FileChannel channel;
+        try {
+            channel = cloudinaryUrl != null && !cloudinaryUrl.isBlank()
+                ? documentProxyService.open(document)
+                : FileChannel.open(Paths.get(document.getFilePath()), StandardOpenOption.READ);
+        } catch (IOException e) {
+            // The reason goes to the log only: MISSING_FILES.txt must not expose server paths or URLs
+            log.warn("Could not fetch document {} for bundle: {}", document.getId(), e.getMessage());
+            throw new IOException(document.getOriginalFileName() + ": could not be retrieved", e);
+        }
+
+        try {
+            CRC32 crc = new CRC32();
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            long size = 0;
+            int read;
+            while ((read = channel.read(buffer)) != -1) {
+                buffer.flip();
+                crc.update(buffer);
+                buffer.clear();
+                size += read;
+            }
+            return new Fetched(document, channel, size, crc.getValue());
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private static void write(ZipOutputStream zip, String name, Fetched fetched) throws IOException {
+        ZipEntry entry = new ZipEntry(name);
+        entry.setMethod(ZipEntry.STORED);
+        entry.setSize(fetched.size());
+        entry.setCompressedSize(fetched.size());
+        entry.setCrc(fetched.crc());
+        if (fetched.document().getUploadedAt() != null) {
+            entry.setTimeLocal(fetched.document().getUploadedAt());
+        }
+        zip.putNextEntry(entry);
+        fetched.channel().position(0);
+        // Not closed here: closing the stream would close the channel, which Fetched owns
+        Channels.newInputStream(fetched.channel()).transferTo(zip);
+        zip.closeEntry();
+        zip.flush();
+    }
+
+    /**
+     * "INVOICE/name.pdf", made safe for archive tools and unique within the bundle
+     */
+    private static String entryName(InquiryDocument document, Set<String> usedNames) {
+        String fileName = document.getOriginalFileName() != null ? document.getOriginalFileName() : "document.pdf";
+        fileName = fileName.replaceAll("[\\\\/:*?\"<>|\\p{Cntrl}]", "_").replaceAll("^\\.+", "_");
+        String folder = document.getDocumentType() != null ? document.getDocumentType().name() + "/" : "";
+
+        String candidate = folder + fileName;
+        int dot = fileName.lastIndexOf('.');
+        String base = dot > 0 ? fileName.substring(0, dot) : fileName;
+        String extension = dot > 0 ? fileName.substring(dot) : "";
+        for (int copy = 2; !usedNames.add(candidate); copy++) {
+            candidate = folder + base + " (" + copy + ")" + extension;
+        }
+        return candidate;
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.seatrans.features.inquiry.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.seatrans.features.inquiry.model.InquiryDocument;
+import com.example.seatrans.features.inquiry.model.InquiryDocumentCleanup;
+import com.example.seatrans.features.inquiry.repository.InquiryDocumentCleanupRepository;
+import com.example.seatrans.features.inquiry.repository.InquiryDocumentRepository;
+import com.example.seatrans.shared.outbox.RetryPolicy;
+import com.example.seatrans.shared.outbox.SerialFlusher;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Removes the documents (database rows and Cloudinary files) of deleted inquiries in the background,
+ * so bulk deletes do not wait on Cloudinary round trips.
+ * Delete paths call enqueue() inside their own transaction: the outbox rows commit (or roll back) with the
+ * inquiry delete, so a restart between commit and cleanup does not leave documents behind. Rows are worked
+ * off after commit and on a schedule as a safety net; failures are retried with exponential backoff.
+ */
+@Service
+@Slf4j
+public class InquiryDocumentCleanupService {
+
+    private static final int FETCH_SIZE = 100;
+    private static final Duration BASE_BACKOFF = Duration.ofMinutes(1);
+    private static final Duration MAX_BACKOFF = Duration.ofHours(6);
+    private static final int MAX_ERROR_LENGTH = 512;
+
+    private final InquiryDocumentCleanupRepository cleanupRepository;
+    private final InquiryDocumentRepository documentRepository;
+    private final InquiryDocumentService documentService;
+    private final RetryPolicy retryPolicy;
+    private final SerialFlusher flusher;
+
+    public InquiryDocumentCleanupService(InquiryDocumentCleanupRepository cleanupRepository,
+                                         InquiryDocumentRepository documentRepository,
+                                         InquiryDocumentService documentService,
+                                         @Qualifier("backgroundTaskExecutor") Executor executor,
+                                         @Value("${app.inquiry.document-cleanup.max-attempts:10}") int maxAttempts) {
+        this.cleanupRepository = cleanupRepository;
+        this.documentRepository = documentRepository;
+        this.documentService = documentService;
+        this.retryPolicy = new RetryPolicy(BASE_BACKOFF, MAX_BACKOFF, maxAttempts);
+        this.flusher = new SerialFlusher("Inquiry document cleanup", executor, this::drain);
+    }
+
+    /**
+     * Queue cleanup of all documents of the given targets once the current transaction commits
+     */
+    @Transactional
+    public void enqueue(String serviceSlug, Collection<Long> targetIds) {
+        if (targetIds == null || targetIds.isEmpty()) {
+            return;
+        }
+        List<InquiryDocumentCleanup> rows = targetIds.stream()
+            .distinct()
+            .map(targetId -> InquiryDocumentCleanup.builder()
+                .serviceSlug(serviceSlug)
+                .targetId(targetId)
+                .build())
+            .toList();
+        cleanupRepository.saveAll(rows);
+        flusher.flushAfterCommit();
+    }
+
+    /**
+     * Clean up every due target; also picks up rows left behind by a crash or restart
+     */
+    @Scheduled(initialDelayString = "${app.inquiry.document-cleanup.sweep-interval-ms:60000}",
+               fixedDelayString = "${app.inquiry.document-cleanup.sweep-interval-ms:60000}")
+    public void flush() {
+        flusher.flush();
+    }
+
+    private void drain() {
+        List<InquiryDocumentCleanup> due;
+        while (!(due = cleanupRepository.findDue(LocalDateTime.now(), PageRequest.of(0, FETCH_SIZE))).isEmpty()) {
+            due.forEach(this::cleanup);
+        }
+    }
+
+    private void cleanup(InquiryDocumentCleanup row) {
+        List<InquiryDocument> documents = documentRepository.findByServiceSlugAndTargetId(row.getServiceSlug(), row.getTargetId());
+        Exception failure = null;
+        for (InquiryDocument document : documents) {
+            try {
+                documentService.hardDeleteDocument(document.getId());
+            } catch (Exception e) {
+                failure = e;
+                log.warn("Could not clean up document {} of {} #{}: {}",
+                    document.getId(), row.getServiceSlug(), row.getTargetId(), e.getMessage());
+            }
+        }
+
+        if (failure == null) {
+            cleanupRepository.deleteById(row.getId());
+            if (!documents.isEmpty()) {
+                log.info("Cleaned up {} documents of deleted {} inquiry #{}",
+                    documents.size(), row.getServiceSlug(), row.getTargetId());
+            }
+            return;
+        }
+
+        int attempts = row.getAttempts() + 1;
+        row.setAttempts(attempts);
+        row.setLastError(truncate(failure.getMessage()));
+        row.setNextAttemptAt(retryPolicy.nextAttemptAt(attempts));
+        if (row.getNextAttemptAt() == null) {
+            // Parked: stays in the outbox for manual cleanup
+            log.error("Giving up cleaning up documents of {} inquiry #{} after {} attempts",
+                row.getServiceSlug(), row.getTargetId(), attempts);
+        }
+        cleanupRepository.save(row);
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+}
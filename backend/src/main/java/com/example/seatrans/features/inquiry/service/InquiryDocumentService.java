@@ -1,25 +1,38 @@
 package com.example.seatrans.features.inquiry.service;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.Base64;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.example.seatrans.features.auth.model.User;
 import com.example.seatrans.features.auth.service.UserService;
 import com.example.seatrans.features.inquiry.dto.InquiryDocumentDTO;
+import com.example.seatrans.features.inquiry.model.DocumentBlob;
 import com.example.seatrans.features.inquiry.model.InquiryDocument;
 import com.example.seatrans.features.inquiry.model.InquiryDocument.DocumentType;
+import com.example.seatrans.features.inquiry.model.InquiryDocument.ThumbnailStatus;
 import com.example.seatrans.features.inquiry.repository.InquiryDocumentRepository;
+import com.example.seatrans.features.inquiry.repository.InquiryIndexRepository;
 import com.example.seatrans.shared.dto.CloudinaryUploadResponse;
+import com.example.seatrans.shared.exception.ResourceNotFoundException;
+import com.example.seatrans.shared.service.CloudinaryDeletionQueue;
 import com.example.seatrans.shared.service.CloudinaryService;
+import com.example.seatrans.shared.service.UploadPipeline;
+import com.example.seatrans.shared.service.UploadPipeline.SpooledUpload;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -42,6 +55,12 @@ public class InquiryDocumentService {
     private final InquiryDocumentRepository documentRepository;
     private final UserService userService;
     private final CloudinaryService cloudinaryService;
+    private final DocumentDiskCache documentDiskCache;
+    private final UploadPipeline uploadPipeline;
+    private final DocumentBlobService blobService;
+    private final CloudinaryDeletionQueue deletionQueue;
+    private final InquiryIndexRepository inquiryIndexRepository;
+    private final DocumentThumbnailService thumbnailService;
 
     /**
      * Tải lên tài liệu cho inquiry
@@ -55,38 +74,123 @@ public class InquiryDocumentService {
         
         // 1. Validation
         validateFile(file);
-        
-        // 2. Upload to Cloudinary
-        String cloudinaryFolder = "pdf";
-        CloudinaryUploadResponse cloudinaryResponse = cloudinaryService.uploadFile(file, cloudinaryFolder);
-        
-        // 3. Calculate checksum
-        String checksum = calculateChecksum(file.getBytes());
-        
-        // 4. Create document entity
+
+        // 2. Read the upload once: checksum + PDF magic-byte check + spool to disk
+        try (SpooledUpload upload = uploadPipeline.spool(file, maxFileSize, UploadPipeline.PDF_ONLY)) {
+            // 3. Reuse the stored blob with the same checksum, or upload to Cloudinary (streamed from the spool file)
+            DocumentBlob blob = storeBlob(upload.path(), file.getOriginalFilename(), upload.kind().contentType(),
+                upload.sha256(), upload.size());
+
+            // 4. Create document entity
+            return saveDocument(serviceSlug, targetId, documentType, blob, file.getOriginalFilename(),
+                upload.size(), upload.kind().contentType(), description, upload.sha256(), userId);
+        }
+    }
+
+    /**
+     * Tải lên tài liệu đã được spool ra đĩa (pipeline upload nền)
+     * File được validate và tính checksum lúc spool (UploadPipeline), không đọc lại file
+     * Không giữ transaction (và connection) trong lúc chờ Cloudinary
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public InquiryDocumentDTO uploadDocument(String serviceSlug, Long targetId, DocumentType documentType,
+                                            Path file, String originalFileName, String contentType,
+                                            String checksum, String description, Long userId) throws IOException {
+        if (checksum == null) {
+            // Rows spooled before checksums were recorded at submit time
+            checksum = calculateChecksum(file);
+        }
+        long fileSize = Files.size(file);
+        requireInquiry(serviceSlug, targetId);
+        DocumentBlob blob = storeBlob(file, originalFileName, contentType, checksum, fileSize);
+        try {
+            // The inquiry may have been deleted while the file was uploading
+            requireInquiry(serviceSlug, targetId);
+            return saveDocument(serviceSlug, targetId, documentType, blob, originalFileName,
+                fileSize, contentType, description, checksum, userId);
+        } catch (RuntimeException e) {
+            // No surrounding transaction here: give the reference back ourselves
+            blobService.release(blob.getId());
+            throw e;
+        }
+    }
+
+    /**
+     * Kiểm tra người dùng có phải chủ inquiry (người gửi) hay không
+     */
+    @Transactional(readOnly = true)
+    public boolean isInquiryOwner(String serviceSlug, Long targetId, Long userId) {
+        return userId != null && inquiryIndexRepository.findByServiceTypeAndTargetId(serviceSlug, targetId)
+            .map(index -> userId.equals(index.getUserId()))
+            .orElse(false);
+    }
+
+    private void requireInquiry(String serviceSlug, Long targetId) {
+        if (!inquiryIndexRepository.existsByServiceTypeAndTargetId(serviceSlug, targetId)) {
+            throw new ResourceNotFoundException("Inquiry not found: " + serviceSlug + "/" + targetId);
+        }
+    }
+
+    /**
+     * Dùng lại blob cùng checksum (không upload lại), hoặc upload lên Cloudinary và đăng ký blob mới
+     */
+    private DocumentBlob storeBlob(Path file, String originalFileName, String contentType,
+                                   String checksum, long fileSize) {
+        if (checksum == null) {
+            throw new IllegalStateException("Checksum is required to store a document");
+        }
+        Optional<DocumentBlob> existing = blobService.acquire(checksum);
+        if (existing.isPresent()) {
+            log.info("Reusing stored blob {} for {}", existing.get().getId(), originalFileName);
+            return existing.get();
+        }
+        CloudinaryUploadResponse uploaded = cloudinaryService.uploadFile(file.toFile(), originalFileName, contentType, "pdf");
+        String resourceType = uploaded.getResourceType() != null
+            ? uploaded.getResourceType()
+            : CloudinaryService.resourceTypeOf(uploaded.getSecureUrl());
+        // Uploaded inside the caller's transaction: on rollback no row references the asset any more
+        deletionQueue.enqueueOnRollback(uploaded.getPublicId(), resourceType);
+        try {
+            return blobService.register(checksum, uploaded, fileSize, contentType);
+        } catch (RuntimeException e) {
+            if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+                // No surrounding transaction (background pipeline): give the asset back ourselves
+                deletionQueue.enqueue(uploaded.getPublicId(), resourceType);
+            }
+            throw e;
+        }
+    }
+
+    private InquiryDocumentDTO saveDocument(String serviceSlug, Long targetId, DocumentType documentType,
+                                            DocumentBlob blob, String originalFileName,
+                                            long fileSize, String mimeType, String description,
+                                            String checksum, Long userId) {
         User uploadedBy = userService.getUserById(userId);
         InquiryDocument document = InquiryDocument.builder()
             .serviceSlug(serviceSlug)
             .targetId(targetId)
             .documentType(documentType)
-            .fileName(cloudinaryResponse.getPublicId())
-            .originalFileName(file.getOriginalFilename())
-            .filePath(cloudinaryResponse.getSecureUrl()) // Store Cloudinary URL
-            .fileSize(file.getSize())
-            .mimeType(file.getContentType())
+            .fileName(blob.getCloudinaryPublicId())
+            .originalFileName(originalFileName)
+            .filePath(blob.getCloudinaryUrl()) // Store Cloudinary URL
+            .fileSize(fileSize)
+            .mimeType(mimeType)
             .description(description)
             .uploadedBy(uploadedBy)
             .checksum(checksum)
-            .cloudinaryUrl(cloudinaryResponse.getSecureUrl())
-            .cloudinaryPublicId(cloudinaryResponse.getPublicId())
+            .cloudinaryUrl(blob.getCloudinaryUrl())
+            .cloudinaryPublicId(blob.getCloudinaryPublicId())
+            .blobId(blob.getId())
+            .thumbnailStatus(ThumbnailStatus.PENDING)
             .version(1)
             .isActive(true)
             .build();
         
         InquiryDocument saved = documentRepository.save(document);
+        thumbnailService.generateAfterCommit(saved.getId());
 
-        log.info("Document uploaded to Cloudinary: id={}, service={}, target={}, type={}, publicId={}", 
-                 saved.getId(), serviceSlug, targetId, documentType, cloudinaryResponse.getPublicId());
+        log.info("Document stored: id={}, service={}, target={}, type={}, publicId={}, blob={}",
+                 saved.getId(), serviceSlug, targetId, documentType, blob.getCloudinaryPublicId(), blob.getId());
 
         return mapToDTO(saved);
     }
@@ -122,6 +226,11 @@ public class InquiryDocumentService {
             .orElseThrow(() -> new IllegalArgumentException("Document not found: " + documentId));
     }
 
+    @Transactional(readOnly = true)
+    public InquiryDocumentDTO getDocument(Long documentId) {
+        return mapToDTO(getDocumentById(documentId));
+    }
+
     /**
      * Xóa tài liệu (soft delete)
      */
@@ -129,6 +238,7 @@ public class InquiryDocumentService {
         InquiryDocument document = getDocumentById(documentId);
         document.setIsActive(false);
         documentRepository.save(document);
+        thumbnailService.delete(documentId);
         
         log.info("Document soft-deleted: id={}, service={}, target={}", documentId, document.getServiceSlug(), document.getTargetId());
     }
@@ -139,23 +249,27 @@ public class InquiryDocumentService {
     public void hardDeleteDocument(Long documentId) throws IOException {
         InquiryDocument document = getDocumentById(documentId);
         
-        // Delete file from Cloudinary if public ID exists
-        if (document.getCloudinaryPublicId() != null && !document.getCloudinaryPublicId().isEmpty()) {
-            boolean deleted = cloudinaryService.deleteFile(document.getCloudinaryPublicId());
-            if (deleted) {
-                log.info("File deleted from Cloudinary: {}", document.getCloudinaryPublicId());
-            } else {
-                log.warn("Failed to delete file from Cloudinary: {}", document.getCloudinaryPublicId());
-            }
+        boolean fileRemoved = true;
+        if (document.getBlobId() != null) {
+            // Shared blob: the remote file is destroyed (after commit) only with the last reference
+            fileRemoved = blobService.release(document.getBlobId());
+        } else if (document.getCloudinaryPublicId() != null && !document.getCloudinaryPublicId().isEmpty()) {
+            // Documents uploaded before deduplication: delete through the outbox, after commit
+            deletionQueue.enqueue(document.getCloudinaryPublicId(),
+                CloudinaryService.resourceTypeOf(document.getCloudinaryUrl()));
         }
-        
+        if (fileRemoved) {
+            documentDiskCache.evict(document);
+        }
+        thumbnailService.delete(documentId);
+
         // Delete from database
         documentRepository.delete(document);
         log.info("Document hard-deleted: id={}", documentId);
     }
 
     /**
-     * Hard delete all documents for a service/target pair (including Cloudinary cleanup)
+     * Hard delete all documents for a service/target pair (Cloudinary assets are queued and deleted in bulk)
      */
     public void hardDeleteByServiceAndTarget(String serviceSlug, Long targetId) throws IOException {
         List<InquiryDocument> documents = documentRepository.findByServiceSlugAndTargetId(serviceSlug, targetId);
@@ -167,7 +281,7 @@ public class InquiryDocumentService {
     /**
      * Validate file
      */
-    private void validateFile(MultipartFile file) {
+    public void validateFile(MultipartFile file) {
         if (file == null || file.isEmpty()) {
             throw new IllegalArgumentException("File cannot be empty");
         }
@@ -190,6 +304,10 @@ public class InquiryDocumentService {
         }
     }
 
+    public long getMaxFileSize() {
+        return maxFileSize;
+    }
+
     /**
      * Kiểm tra MIME type hợp lệ
      */
@@ -203,13 +321,17 @@ public class InquiryDocumentService {
     }
 
     /**
-     * Tính toán checksum SHA-256
+     * Tính toán checksum SHA-256 của file trên đĩa (đọc theo stream)
      */
-    private String calculateChecksum(byte[] fileContent) {
-        try {
+    private String calculateChecksum(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
             MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] hash = digest.digest(fileContent);
-            return Base64.getEncoder().encodeToString(hash);
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+            return Base64.getEncoder().encodeToString(digest.digest());
         } catch (NoSuchAlgorithmException e) {
             log.warn("Failed to calculate checksum", e);
             return null;
@@ -238,6 +360,7 @@ public class InquiryDocumentService {
             .isActive(document.getIsActive())
             .cloudinaryUrl(document.getCloudinaryUrl())
             .cloudinaryPublicId(document.getCloudinaryPublicId())
+            .thumbnailStatus(document.getThumbnailStatus())
             .build();
     }
 }
@@ -0,0 +1,212 @@
+package com.example.seatrans.features.inquiry.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.seatrans.features.inquiry.dto.CharteringBrokingInquiryResponse;
+import com.example.seatrans.features.inquiry.dto.FreightForwardingInquiryResponse;
+import com.example.seatrans.features.inquiry.dto.InquiryUserInfo;
+import com.example.seatrans.features.inquiry.dto.ShippingAgencyInquiryResponse;
+import com.example.seatrans.features.inquiry.dto.SpecialRequestInquiryResponse;
+import com.example.seatrans.features.inquiry.dto.TotalLogisticInquiryResponse;
+import com.example.seatrans.features.inquiry.model.InquiryStatus;
+import com.example.seatrans.features.inquiry.repository.CharteringBrokingInquiryRepository;
+import com.example.seatrans.features.inquiry.repository.FreightForwardingInquiryRepository;
+import com.example.seatrans.features.inquiry.repository.ShippingAgencyInquiryRepository;
+import com.example.seatrans.features.inquiry.repository.SpecialRequestInquiryRepository;
+import com.example.seatrans.features.inquiry.repository.TotalLogisticInquiryRepository;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Streams inquiries of one service type as CSV.
+ * Rows come from a forward-only JPA stream; every window of WINDOW_SIZE rows is
+ * enriched with one user lookup, written, flushed and detached, so heap stays flat
+ * regardless of the number of rows exported.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class InquiryExportService {
+
+    private static final int WINDOW_SIZE = 500;
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+    private static final TypeReference<Map<String, Object>> ROW_TYPE = new TypeReference<>() {};
+
+    private static final String SHIPPING_AGENCY = "SHIPPING AGENCY";
+    private static final String CHARTERING = "CHARTERING";
+    private static final String FREIGHT_FORWARDING = "FREIGHT FORWARDING";
+    private static final String LOGISTICS = "LOGISTICS";
+    private static final String SPECIAL_REQUEST = "SPECIAL REQUEST";
+
+    private static final Set<String> SUPPORTED = Set.of(
+        SHIPPING_AGENCY, CHARTERING, FREIGHT_FORWARDING, LOGISTICS, SPECIAL_REQUEST);
+
+    private final ShippingAgencyInquiryRepository shippingAgencyInquiryRepository;
+    private final CharteringBrokingInquiryRepository charteringBrokingInquiryRepository;
+    private final FreightForwardingInquiryRepository freightForwardingInquiryRepository;
+    private final TotalLogisticInquiryRepository totalLogisticInquiryRepository;
+    private final SpecialRequestInquiryRepository specialRequestInquiryRepository;
+    private final InquiryResponseEnricher enricher;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+
+    private final Map<Class<?>, List<String>> columnCache = new ConcurrentHashMap<>();
+
+    public boolean supports(String serviceTypeName) {
+        return serviceTypeName != null && SUPPORTED.contains(serviceTypeName);
+    }
+
+    /**
+     * Write all inquiries of a service type (optionally filtered by status) to the output stream
+     * @return number of rows written
+     */
+    @Transactional(readOnly = true)
+    public long exportCsv(String serviceTypeName, InquiryStatus status, OutputStream out) throws IOException {
+        long rows = switch (serviceTypeName) {
+            case SHIPPING_AGENCY -> write(status != null
+                    ? shippingAgencyInquiryRepository.streamByStatusForExport(status)
+                    : shippingAgencyInquiryRepository.streamAllForExport(),
+                ShippingAgencyInquiryResponse::from, ShippingAgencyInquiryResponse.class, out);
+            case CHARTERING -> write(status != null
+                    ? charteringBrokingInquiryRepository.streamByStatusForExport(status)
+                    : charteringBrokingInquiryRepository.streamAllForExport(),
+                CharteringBrokingInquiryResponse::from, CharteringBrokingInquiryResponse.class, out);
+            case FREIGHT_FORWARDING -> write(status != null
+                    ? freightForwardingInquiryRepository.streamByStatusForExport(status)
+                    : freightForwardingInquiryRepository.streamAllForExport(),
+                FreightForwardingInquiryResponse::from, FreightForwardingInquiryResponse.class, out);
+            case LOGISTICS -> write(status != null
+                    ? totalLogisticInquiryRepository.streamByStatusForExport(status)
+                    : totalLogisticInquiryRepository.streamAllForExport(),
+                TotalLogisticInquiryResponse::from, TotalLogisticInquiryResponse.class, out);
+            case SPECIAL_REQUEST -> write(status != null
+                    ? specialRequestInquiryRepository.streamByStatusForExport(status)
+                    : specialRequestInquiryRepository.streamAllForExport(),
+                SpecialRequestInquiryResponse::from, SpecialRequestInquiryResponse.class, out);
+            default -> throw new IllegalArgumentException("Unsupported service type: " + serviceTypeName);
+        };
+        log.info("Exported {} {} inquiries (status={})", rows, serviceTypeName, status);
+        return rows;
+    }
+
+    private <E, D extends InquiryUserInfo> long write(Stream<E> source, Function<E, D> mapper, Class<D> rowType,
+                                                      OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+        // BOM so Excel opens UTF-8 (Vietnamese names) correctly
+        writer.write('\uFEFF');
+
+        CsvSink sink = new CsvSink(writer, columnsOf(rowType));
+        List<D> window = new ArrayList<>(WINDOW_SIZE);
+        try (source) {
+            Iterator<E> it = source.iterator();
+            while (it.hasNext()) {
+                E entity = it.next();
+                window.add(mapper.apply(entity));
+                entityManager.detach(entity);
+                if (window.size() == WINDOW_SIZE) {
+                    writeWindow(window, sink);
+                }
+            }
+            writeWindow(window, sink);
+        }
+        writer.flush();
+        return sink.rows;
+    }
+
+    private <D extends InquiryUserInfo> void writeWindow(List<D> window, CsvSink sink) throws IOException {
+        if (window.isEmpty()) {
+            return;
+        }
+        enricher.enrichAll(window);
+        for (D dto : window) {
+            sink.writeRow(objectMapper.convertValue(dto, ROW_TYPE));
+        }
+        sink.writer.flush();
+        window.clear();
+    }
+
+    /**
+     * Fixed column list of a response type: every property its serializer writes, in serialization order,
+     * whether or not a given row has a value for it
+     */
+    private List<String> columnsOf(Class<?> rowType) {
+        return columnCache.computeIfAbsent(rowType, type -> {
+            try {
+                List<String> names = new ArrayList<>();
+                objectMapper.getSerializerProviderInstance().findValueSerializer(type)
+                    .properties()
+                    .forEachRemaining(property -> names.add(property.getName()));
+                return List.copyOf(names);
+            } catch (JsonMappingException e) {
+                throw new IllegalStateException("Cannot resolve CSV columns for " + type.getSimpleName(), e);
+            }
+        });
+    }
+
+    private static final class CsvSink {
+        private final Writer writer;
+        private final List<String> columns;
+        private long rows;
+
+        private CsvSink(Writer writer, List<String> columns) throws IOException {
+            this.writer = writer;
+            this.columns = columns;
+            writeLine(columns.stream().map(c -> (Object) c).toList());
+        }
+
+        private void writeRow(Map<String, Object> row) throws IOException {
+            List<Object> values = new ArrayList<>(columns.size());
+            for (String column : columns) {
+                values.add(row.get(column));
+            }
+            writeLine(values);
+            rows++;
+        }
+
+        private void writeLine(List<Object> values) throws IOException {
+            for (int i = 0; i < values.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(escape(values.get(i)));
+            }
+            writer.write("\r\n");
+        }
+
+        private static String escape(Object value) {
+            if (value == null) {
+                return "";
+            }
+            String text = value.toString();
+            // Neutralise spreadsheet formulas in user-entered text
+            if (value instanceof String && !text.isEmpty() && "=+-@".indexOf(text.charAt(0)) >= 0) {
+                text = "'" + text;
+            }
+            if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+                return '"' + text.replace("\"", "\"\"") + '"';
+            }
+            return text;
+        }
+    }
+}
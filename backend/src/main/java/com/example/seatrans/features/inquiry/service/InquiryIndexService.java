@@ -0,0 +1,117 @@
+package com.example.seatrans.features.inquiry.service;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.seatrans.features.inquiry.model.InquiryIndex;
+import com.example.seatrans.features.inquiry.model.InquiryStatus;
+import com.example.seatrans.features.inquiry.repository.InquiryIndexRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps the inquiry_index projection in sync with the five inquiry tables.
+ * Every write path on an inquiry (submit, status change, delete) must go through here from inside the
+ * transaction that writes the inquiry row (InquiryWriteService, InquiryBatchDeleteService);
+ * the inquiry_stats counters are adjusted in the same transaction, from the index row read under a row lock.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class InquiryIndexService {
+
+    private final InquiryIndexRepository inquiryIndexRepository;
+    private final InquiryStatsService inquiryStatsService;
+
+    /**
+     * Insert or refresh the index row for a saved inquiry
+     */
+    public void record(String serviceType, Long targetId, Long userId, InquiryStatus status, LocalDateTime submittedAt) {
+        InquiryIndex entry = inquiryIndexRepository.findWithLockByServiceTypeAndTargetId(serviceType, targetId)
+            .orElseGet(() -> InquiryIndex.builder()
+                .serviceType(serviceType)
+                .targetId(targetId)
+                .build());
+        if (entry.getId() != null) {
+            inquiryStatsService.decrement(serviceType, entry.getStatus(), entry.getSubmittedAt());
+        }
+        inquiryStatsService.increment(serviceType, status, submittedAt);
+        entry.setUserId(userId);
+        entry.setStatus(status);
+        entry.setSubmittedAt(submittedAt);
+        inquiryIndexRepository.save(entry);
+    }
+
+    public void updateStatus(String serviceType, Long targetId, InquiryStatus status) {
+        inquiryIndexRepository.findWithLockByServiceTypeAndTargetId(serviceType, targetId).ifPresent(entry -> {
+            if (entry.getStatus() != status) {
+                inquiryStatsService.move(serviceType, entry.getStatus(), status, entry.getSubmittedAt());
+                entry.setStatus(status);
+            }
+        });
+    }
+
+    public void remove(String serviceType, Long targetId) {
+        inquiryIndexRepository.findWithLockByServiceTypeAndTargetId(serviceType, targetId).ifPresent(entry ->
+            inquiryStatsService.markDeleted(serviceType, entry.getStatus(), entry.getSubmittedAt(), 1));
+        inquiryIndexRepository.deleteByTarget(serviceType, targetId);
+    }
+
+    /**
+     * Remove many index rows of one service type (batch delete)
+     */
+    public void removeAll(String serviceType, Collection<Long> targetIds) {
+        if (targetIds == null || targetIds.isEmpty()) {
+            return;
+        }
+        Map<StatBucket, Long> buckets = inquiryIndexRepository.findWithLockByServiceTypeAndTargetIdIn(serviceType, targetIds)
+            .stream()
+            .collect(Collectors.groupingBy(StatBucket::of, Collectors.counting()));
+        buckets.forEach((bucket, count) ->
+            inquiryStatsService.markDeleted(serviceType, bucket.status(), bucket.day(), count));
+        inquiryIndexRepository.deleteByTargets(serviceType, targetIds);
+    }
+
+    /**
+     * Rebuild the whole projection from the source tables
+     */
+    public long rebuild() {
+        inquiryIndexRepository.deleteAllInBatch();
+        long total = inquiryIndexRepository.backfillShippingAgency()
+            + inquiryIndexRepository.backfillChartering()
+            + inquiryIndexRepository.backfillFreightForwarding()
+            + inquiryIndexRepository.backfillLogistics()
+            + inquiryIndexRepository.backfillSpecialRequest();
+        log.info("Inquiry index rebuilt: {} rows", total);
+        inquiryStatsService.rebuild();
+        return total;
+    }
+
+    /**
+     * Backfill once on first start after the index table is introduced
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        if (inquiryIndexRepository.count() == 0) {
+            rebuild();
+        } else if (inquiryStatsService.isEmpty()) {
+            inquiryStatsService.rebuild();
+        }
+    }
+
+    private record StatBucket(InquiryStatus status, LocalDateTime day) {
+        static StatBucket of(InquiryIndex entry) {
+            LocalDateTime submittedAt = entry.getSubmittedAt();
+            return new StatBucket(entry.getStatus(), submittedAt != null ? submittedAt.toLocalDate().atStartOfDay() : null);
+        }
+    }
+}
@@ -1,101 +1,99 @@
 package com.example.seatrans.features.inquiry.service;
 
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.data.domain.Page;
 import org.springframework.stereotype.Service;
 
-import com.example.seatrans.features.auth.model.User;
+import com.example.seatrans.features.auth.dto.UserContactView;
 import com.example.seatrans.features.auth.service.UserService;
 import com.example.seatrans.features.inquiry.dto.CharteringBrokingInquiryResponse;
 import com.example.seatrans.features.inquiry.dto.FreightForwardingInquiryResponse;
+import com.example.seatrans.features.inquiry.dto.InquiryUserInfo;
 import com.example.seatrans.features.inquiry.dto.ShippingAgencyInquiryResponse;
 import com.example.seatrans.features.inquiry.dto.SpecialRequestInquiryResponse;
 import com.example.seatrans.features.inquiry.dto.TotalLogisticInquiryResponse;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
 /**
  * Service to enrich inquiry responses with user information
  */
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class InquiryResponseEnricher {
     
     private final UserService userService;
-    
-    public ShippingAgencyInquiryResponse enrichShippingAgency(ShippingAgencyInquiryResponse response) {
-        if (response.getUserId() != null) {
-            try {
-                User user = userService.getUserById(response.getUserId());
-                if (user != null) {
-                    response.setFullName(user.getFullName());
-                    response.setEmail(user.getEmail());
-                    response.setPhone(user.getPhone());
-                    response.setCompany(user.getCompany());
-                }
-            } catch (Exception e) {
-                // User not found or error fetching user, keep fields null
-                // Log the error for debugging but don't propagate
-            }
-        }
-        return response;
+
+    /**
+     * Enrich a whole page with one user lookup for all distinct user ids
+     */
+    public <T extends InquiryUserInfo> Page<T> enrichPage(Page<T> page) {
+        enrichAll(page.getContent());
+        return page;
     }
-    
-    public FreightForwardingInquiryResponse enrichFreightForwarding(FreightForwardingInquiryResponse response) {
-        if (response.getUserId() != null) {
-            try {
-                User user = userService.getUserById(response.getUserId());
+
+    /**
+     * Enrich a list of responses with one user lookup for all distinct user ids
+     */
+    public <T extends InquiryUserInfo> List<T> enrichAll(List<T> responses) {
+        if (responses == null || responses.isEmpty()) {
+            return responses;
+        }
+        Set<Long> userIds = responses.stream()
+            .map(InquiryUserInfo::getUserId)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+
+        Map<Long, UserContactView> contacts;
+        try {
+            contacts = userService.getUserContacts(userIds);
+        } catch (Exception e) {
+            // Error fetching users, keep fields null
+            log.warn("Could not load user info for {} users: {}", userIds.size(), e.getMessage());
+            return responses;
+        }
+
+        for (T response : responses) {
+            UserContactView user = response.getUserId() != null ? contacts.get(response.getUserId()) : null;
+            if (user != null) {
                 response.setFullName(user.getFullName());
                 response.setEmail(user.getEmail());
                 response.setPhone(user.getPhone());
                 response.setCompany(user.getCompany());
-            } catch (Exception ignored) {
-                // User not found, keep fields null
             }
         }
-        return response;
+        return responses;
+    }
+    
+    public ShippingAgencyInquiryResponse enrichShippingAgency(ShippingAgencyInquiryResponse response) {
+        return enrichOne(response);
+    }
+    
+    public FreightForwardingInquiryResponse enrichFreightForwarding(FreightForwardingInquiryResponse response) {
+        return enrichOne(response);
     }
     
     public CharteringBrokingInquiryResponse enrichChartering(CharteringBrokingInquiryResponse response) {
-        if (response.getUserId() != null) {
-            try {
-                User user = userService.getUserById(response.getUserId());
-                response.setFullName(user.getFullName());
-                response.setEmail(user.getEmail());
-                response.setPhone(user.getPhone());
-                response.setCompany(user.getCompany());
-            } catch (Exception ignored) {
-                // User not found, keep fields null
-            }
-        }
-        return response;
+        return enrichOne(response);
     }
     
     public TotalLogisticInquiryResponse enrichLogistics(TotalLogisticInquiryResponse response) {
-        if (response.getUserId() != null) {
-            try {
-                User user = userService.getUserById(response.getUserId());
-                response.setFullName(user.getFullName());
-                response.setEmail(user.getEmail());
-                response.setPhone(user.getPhone());
-                response.setCompany(user.getCompany());
-            } catch (Exception ignored) {
-                // User not found, keep fields null
-            }
-        }
-        return response;
+        return enrichOne(response);
     }
     
     public SpecialRequestInquiryResponse enrichSpecialRequest(SpecialRequestInquiryResponse response) {
-        if (response.getUserId() != null) {
-            try {
-                User user = userService.getUserById(response.getUserId());
-                response.setFullName(user.getFullName());
-                response.setEmail(user.getEmail());
-                response.setPhone(user.getPhone());
-                response.setCompany(user.getCompany());
-            } catch (Exception ignored) {
-                // User not found, keep fields null
-            }
-        }
+        return enrichOne(response);
+    }
+
+    private <T extends InquiryUserInfo> T enrichOne(T response) {
+        enrichAll(List.of(response));
         return response;
     }
 }
@@ -0,0 +1,148 @@
+package com.example.seatrans.features.inquiry.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.seatrans.features.inquiry.model.InquiryStatus;
+import com.example.seatrans.features.inquiry.repository.InquiryStatRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Maintains the inquiry_stats rollup (service type x status x submit day) and serves dashboard reads.
+ * Status totals count live inquiries; the daily series counts submissions, so deletes never lower a past day.
+ * Writes are driven by InquiryIndexService so every inquiry write path keeps the counters in sync.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class InquiryStatsService {
+
+    public static final int MAX_DAYS = 366;
+
+    private final InquiryStatRepository inquiryStatRepository;
+
+    public void increment(String serviceType, InquiryStatus status, LocalDateTime submittedAt) {
+        adjust(serviceType, status, submittedAt, 1);
+    }
+
+    public void decrement(String serviceType, InquiryStatus status, LocalDateTime submittedAt) {
+        adjust(serviceType, status, submittedAt, -1);
+    }
+
+    /**
+     * Move one inquiry from one status bucket to another
+     */
+    public void move(String serviceType, InquiryStatus from, InquiryStatus to, LocalDateTime submittedAt) {
+        if (bucketStatus(from) == bucketStatus(to)) {
+            return;
+        }
+        adjust(serviceType, from, submittedAt, -1);
+        adjust(serviceType, to, submittedAt, 1);
+    }
+
+    public void adjust(String serviceType, InquiryStatus status, LocalDateTime submittedAt, long delta) {
+        if (delta == 0) {
+            return;
+        }
+        inquiryStatRepository.adjust(serviceType, bucketStatus(status).name(), bucketDate(submittedAt), delta, 0);
+    }
+
+    /**
+     * Take deleted inquiries out of their status bucket while keeping them in the submission count of their day
+     */
+    public void markDeleted(String serviceType, InquiryStatus status, LocalDateTime submittedAt, long count) {
+        if (count == 0) {
+            return;
+        }
+        inquiryStatRepository.adjust(serviceType, bucketStatus(status).name(), bucketDate(submittedAt), -count, count);
+    }
+
+    /**
+     * Recompute the live counters from inquiry_index; deleted counts are kept
+     */
+    public long rebuild() {
+        inquiryStatRepository.resetLiveCounts();
+        long buckets = inquiryStatRepository.rebuildFromIndex();
+        log.info("Inquiry stats rebuilt: {} buckets", buckets);
+        return buckets;
+    }
+
+    public boolean isEmpty() {
+        return inquiryStatRepository.count() == 0;
+    }
+
+    /**
+     * Counts by status, by service (with per-status breakdown) and per day for the last N days
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getDashboard(int days) {
+        int window = Math.max(1, Math.min(days, MAX_DAYS));
+
+        Map<InquiryStatus, Long> byStatus = new EnumMap<>(InquiryStatus.class);
+        for (InquiryStatus status : InquiryStatus.values()) {
+            byStatus.put(status, 0L);
+        }
+        Map<String, Map<String, Object>> byService = new TreeMap<>();
+        long total = 0;
+
+        for (Object[] row : inquiryStatRepository.sumByServiceAndStatus()) {
+            String serviceType = (String) row[0];
+            InquiryStatus status = (InquiryStatus) row[1];
+            long count = ((Number) row[2]).longValue();
+            total += count;
+            byStatus.merge(status, count, Long::sum);
+
+            Map<String, Object> service = byService.computeIfAbsent(serviceType, k -> {
+                Map<String, Object> init = new LinkedHashMap<>();
+                init.put("total", 0L);
+                init.put("byStatus", new EnumMap<InquiryStatus, Long>(InquiryStatus.class));
+                return init;
+            });
+            service.put("total", (Long) service.get("total") + count);
+            @SuppressWarnings("unchecked")
+            Map<InquiryStatus, Long> serviceByStatus = (Map<InquiryStatus, Long>) service.get("byStatus");
+            serviceByStatus.merge(status, count, Long::sum);
+        }
+
+        LocalDate today = LocalDate.now();
+        LocalDate from = today.minusDays(window - 1L);
+        Map<LocalDate, Long> perDay = new HashMap<>();
+        for (Object[] row : inquiryStatRepository.sumByDaySince(from)) {
+            perDay.put((LocalDate) row[0], ((Number) row[1]).longValue());
+        }
+        List<Map<String, Object>> daily = new ArrayList<>(window);
+        for (LocalDate day = from; !day.isAfter(today); day = day.plusDays(1)) {
+            daily.add(Map.of("date", day, "count", perDay.getOrDefault(day, 0L)));
+        }
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("total", total);
+        body.put("byStatus", byStatus);
+        body.put("byService", byService);
+        body.put("days", window);
+        body.put("daily", daily);
+        return body;
+    }
+
+    private static InquiryStatus bucketStatus(InquiryStatus status) {
+        // Matches the entity default for rows saved without a status
+        return status != null ? status : InquiryStatus.PROCESSING;
+    }
+
+    private static LocalDate bucketDate(LocalDateTime submittedAt) {
+        return submittedAt != null ? submittedAt.toLocalDate() : LocalDate.now();
+    }
+}
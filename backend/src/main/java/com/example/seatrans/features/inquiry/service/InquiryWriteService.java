@@ -0,0 +1,138 @@
+package com.example.seatrans.features.inquiry.service;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.seatrans.features.inquiry.model.CharteringBrokingInquiry;
+import com.example.seatrans.features.inquiry.model.FreightForwardingInquiry;
+import com.example.seatrans.features.inquiry.model.InquiryStatus;
+import com.example.seatrans.features.inquiry.model.ShippingAgencyInquiry;
+import com.example.seatrans.features.inquiry.model.SpecialRequestInquiry;
+import com.example.seatrans.features.inquiry.model.TotalLogisticInquiry;
+import com.example.seatrans.features.inquiry.repository.CharteringBrokingInquiryRepository;
+import com.example.seatrans.features.inquiry.repository.FreightForwardingInquiryRepository;
+import com.example.seatrans.features.inquiry.repository.ShippingAgencyInquiryRepository;
+import com.example.seatrans.features.inquiry.repository.SpecialRequestInquiryRepository;
+import com.example.seatrans.features.inquiry.repository.TotalLogisticInquiryRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Single-inquiry writes (submit, status change, delete).
+ * The inquiry row, its inquiry_index entry and the inquiry_stats counters are written in one
+ * transaction, so a failure in any of them rolls the whole write back.
+ * A delete also queues the cleanup of the inquiry's documents in the same transaction.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class InquiryWriteService {
+
+    private static final String SHIPPING_AGENCY = "SHIPPING AGENCY";
+    private static final String CHARTERING = "CHARTERING";
+    private static final String FREIGHT_FORWARDING = "FREIGHT FORWARDING";
+    private static final String LOGISTICS = "LOGISTICS";
+    private static final String SPECIAL_REQUEST = "SPECIAL REQUEST";
+
+    private final ShippingAgencyInquiryRepository shippingAgencyInquiryRepository;
+    private final CharteringBrokingInquiryRepository charteringBrokingInquiryRepository;
+    private final FreightForwardingInquiryRepository freightForwardingInquiryRepository;
+    private final TotalLogisticInquiryRepository totalLogisticInquiryRepository;
+    private final SpecialRequestInquiryRepository specialRequestInquiryRepository;
+    private final InquiryIndexService inquiryIndexService;
+    private final InquiryDocumentCleanupService documentCleanupService;
+
+    public ShippingAgencyInquiry submit(ShippingAgencyInquiry inquiry) {
+        ShippingAgencyInquiry saved = shippingAgencyInquiryRepository.save(inquiry);
+        inquiryIndexService.record(SHIPPING_AGENCY, saved.getId(), saved.getUserId(), saved.getStatus(), saved.getSubmittedAt());
+        return saved;
+    }
+
+    public CharteringBrokingInquiry submit(CharteringBrokingInquiry inquiry) {
+        CharteringBrokingInquiry saved = charteringBrokingInquiryRepository.save(inquiry);
+        inquiryIndexService.record(CHARTERING, saved.getId(), saved.getUserId(), saved.getStatus(), saved.getSubmittedAt());
+        return saved;
+    }
+
+    public FreightForwardingInquiry submit(FreightForwardingInquiry inquiry) {
+        FreightForwardingInquiry saved = freightForwardingInquiryRepository.save(inquiry);
+        inquiryIndexService.record(FREIGHT_FORWARDING, saved.getId(), saved.getUserId(), saved.getStatus(), saved.getSubmittedAt());
+        return saved;
+    }
+
+    public TotalLogisticInquiry submit(TotalLogisticInquiry inquiry) {
+        TotalLogisticInquiry saved = totalLogisticInquiryRepository.save(inquiry);
+        inquiryIndexService.record(LOGISTICS, saved.getId(), saved.getUserId(), saved.getStatus(), saved.getSubmittedAt());
+        return saved;
+    }
+
+    public SpecialRequestInquiry submit(SpecialRequestInquiry inquiry) {
+        SpecialRequestInquiry saved = specialRequestInquiryRepository.save(inquiry);
+        inquiryIndexService.record(SPECIAL_REQUEST, saved.getId(), saved.getUserId(), saved.getStatus(), saved.getSubmittedAt());
+        return saved;
+    }
+
+    /**
+     * Change the status of one inquiry
+     * @return the saved inquiry, empty when it does not exist
+     * @throws IllegalArgumentException for an unsupported service type
+     */
+    public Optional<?> updateStatus(String serviceType, Long id, InquiryStatus status) {
+        return switch (serviceType) {
+            case SHIPPING_AGENCY -> changeStatus(serviceType, shippingAgencyInquiryRepository, id, status,
+                ShippingAgencyInquiry::setStatus);
+            case CHARTERING -> changeStatus(serviceType, charteringBrokingInquiryRepository, id, status,
+                CharteringBrokingInquiry::setStatus);
+            case FREIGHT_FORWARDING -> changeStatus(serviceType, freightForwardingInquiryRepository, id, status,
+                FreightForwardingInquiry::setStatus);
+            case LOGISTICS -> changeStatus(serviceType, totalLogisticInquiryRepository, id, status,
+                TotalLogisticInquiry::setStatus);
+            case SPECIAL_REQUEST -> changeStatus(serviceType, specialRequestInquiryRepository, id, status,
+                SpecialRequestInquiry::setStatus);
+            default -> throw new IllegalArgumentException("Unsupported service type: " + serviceType);
+        };
+    }
+
+    /**
+     * Delete one inquiry and its index entry; its documents are removed in the background
+     * @return false when it does not exist or the service type is unsupported
+     */
+    public boolean delete(String serviceType, Long id) {
+        boolean deleted = switch (serviceType) {
+            case SHIPPING_AGENCY -> deleteIfExists(shippingAgencyInquiryRepository, id);
+            case CHARTERING -> deleteIfExists(charteringBrokingInquiryRepository, id);
+            case FREIGHT_FORWARDING -> deleteIfExists(freightForwardingInquiryRepository, id);
+            case LOGISTICS -> deleteIfExists(totalLogisticInquiryRepository, id);
+            case SPECIAL_REQUEST -> deleteIfExists(specialRequestInquiryRepository, id);
+            default -> false;
+        };
+        if (deleted) {
+            inquiryIndexService.remove(serviceType, id);
+            documentCleanupService.enqueue(serviceType, List.of(id));
+        }
+        return deleted;
+    }
+
+    private <T> Optional<T> changeStatus(String serviceType, JpaRepository<T, Long> repository, Long id,
+                                         InquiryStatus status, BiConsumer<T, InquiryStatus> setStatus) {
+        return repository.findById(id).map(inquiry -> {
+            setStatus.accept(inquiry, status);
+            T saved = repository.save(inquiry);
+            inquiryIndexService.updateStatus(serviceType, id, status);
+            return saved;
+        });
+    }
+
+    private <T> boolean deleteIfExists(JpaRepository<T, Long> repository, Long id) {
+        if (!repository.existsById(id)) {
+            return false;
+        }
+        repository.deleteById(id);
+        return true;
+    }
+}
@@ -13,6 +13,7 @@ import com.example.seatrans.features.logistics.dto.ServiceTypeDTO;
 import com.example.seatrans.features.logistics.model.ServiceTypeEntity;
 import com.example.seatrans.features.logistics.repository.ServiceTypeRepository;
 import com.example.seatrans.shared.mapper.EntityMapper;
+import com.example.seatrans.shared.service.ReferenceDataCache;
 
 @Service
 public class ServiceTypeService {
@@ -26,6 +27,9 @@ public class ServiceTypeService {
     @Autowired
     private EntityMapper entityMapper;
 
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
     public List<ServiceTypeDTO> getAllServiceTypes() {
         return serviceTypeRepository.findAll()
                 .stream()
@@ -77,6 +81,7 @@ public class ServiceTypeService {
         serviceType.setIsActive(true);
 
         ServiceTypeEntity savedServiceType = serviceTypeRepository.save(serviceType);
+        referenceDataCache.refreshAfterCommit();
         return entityMapper.toServiceTypeDTO(savedServiceType);
     }
 
@@ -92,6 +97,7 @@ public class ServiceTypeService {
         serviceType.setDescription(request.getDescription());
 
         ServiceTypeEntity updatedServiceType = serviceTypeRepository.save(serviceType);
+        referenceDataCache.refreshAfterCommit();
         return entityMapper.toServiceTypeDTO(updatedServiceType);
     }
 
@@ -101,6 +107,7 @@ public class ServiceTypeService {
             throw new IllegalStateException("Cannot delete service type while " + imageCount + " images are linked to it");
         }
         serviceTypeRepository.deleteById(id);
+        referenceDataCache.refreshAfterCommit();
     }
 
     public long getServiceTypeCount() {
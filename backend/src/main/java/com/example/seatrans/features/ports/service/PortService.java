@@ -14,6 +14,7 @@ import com.example.seatrans.features.ports.repository.PortRepository;
 import com.example.seatrans.features.provinces.model.Province;
 import com.example.seatrans.features.provinces.repository.ProvinceRepository;
 import com.example.seatrans.shared.mapper.EntityMapper;
+import com.example.seatrans.shared.service.ReferenceDataCache;
 
 @Service
 public class PortService {
@@ -27,6 +28,9 @@ public class PortService {
     @Autowired
     private EntityMapper entityMapper;
 
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
     public List<PortDTO> getAllPorts() {
         return portRepository.findAll()
                 .stream()
@@ -102,6 +106,7 @@ public class PortService {
         port.setIsActive(true);
 
         Port savedPort = portRepository.save(port);
+        referenceDataCache.refreshAfterCommit();
         return entityMapper.toPortDTO(savedPort);
     }
 
@@ -121,11 +126,13 @@ public class PortService {
         port.setProvince(provinceOpt.get());
 
         Port updatedPort = portRepository.save(port);
+        referenceDataCache.refreshAfterCommit();
         return entityMapper.toPortDTO(updatedPort);
     }
 
     public void deletePort(Long id) {
         portRepository.deleteById(id);
+        referenceDataCache.refreshAfterCommit();
     }
 
     public long getPortCount() {
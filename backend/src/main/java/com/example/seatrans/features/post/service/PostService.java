@@ -1,6 +1,7 @@
 package com.example.seatrans.features.post.service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
@@ -25,6 +26,7 @@ import com.example.seatrans.features.post.repository.CategoryRepository;
 import com.example.seatrans.features.post.repository.PostImageRepository;
 import com.example.seatrans.features.post.repository.PostRepository;
 import com.example.seatrans.shared.mapper.EntityMapper;
+import com.example.seatrans.shared.service.CloudinaryDeletionQueue;
 import com.example.seatrans.shared.service.CloudinaryService;
 import com.example.seatrans.shared.util.HtmlSanitizer;
 
@@ -44,7 +46,7 @@ public class PostService {
     private final UserRepository userRepository;
     private final PostImageRepository postImageRepository;
     private final CategoryRepository categoryRepository;
-    private final CloudinaryService cloudinaryService;
+    private final CloudinaryDeletionQueue deletionQueue;
     private final EntityMapper entityMapper;
     private final HtmlSanitizer htmlSanitizer;
     
@@ -121,7 +123,7 @@ public class PostService {
             String newPublicId = request.getThumbnailPublicId();
 
             if (newPublicId != null && !Objects.equals(oldPublicId, newPublicId) && oldPublicId != null) {
-                cloudinaryService.deleteFile(oldPublicId);
+                deletionQueue.enqueue(oldPublicId, CloudinaryService.RESOURCE_TYPE_IMAGE);
             }
 
             if (request.getThumbnailUrl() != null) {
@@ -173,18 +175,18 @@ public class PostService {
         Post post = postRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Post not found with id: " + id));
 
-        // Remove thumbnail from Cloudinary if present
+        // Remove thumbnail and post images from Cloudinary (bulk, after commit)
+        List<String> publicIds = new ArrayList<>();
         if (post.getThumbnailPublicId() != null) {
-            cloudinaryService.deleteFile(post.getThumbnailPublicId());
+            publicIds.add(post.getThumbnailPublicId());
         }
-
-        // Remove post images from Cloudinary if present
         if (post.getImages() != null) {
             post.getImages().stream()
                 .map(PostImage::getCloudinaryPublicId)
                 .filter(Objects::nonNull)
-                .forEach(cloudinaryService::deleteFile);
+                .forEach(publicIds::add);
         }
+        deletionQueue.enqueue(publicIds, CloudinaryService.RESOURCE_TYPE_IMAGE);
 
         postRepository.delete(post);
         log.info("Post deleted: {}", id);
@@ -13,6 +13,7 @@ import com.example.seatrans.features.provinces.dto.ProvinceDTO;
 import com.example.seatrans.features.provinces.model.Province;
 import com.example.seatrans.features.provinces.repository.ProvinceRepository;
 import com.example.seatrans.shared.mapper.EntityMapper;
+import com.example.seatrans.shared.service.ReferenceDataCache;
 
 @Service
 @Transactional(readOnly = true)
@@ -24,6 +25,9 @@ public class ProvinceService {
     @Autowired
     private EntityMapper entityMapper;
 
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
     public List<ProvinceDTO> getAllProvinces() {
         return provinceRepository.findAll()
                 .stream()
@@ -77,6 +81,7 @@ public class ProvinceService {
         province.setIsActive(true);
 
         Province savedProvince = provinceRepository.save(province);
+        referenceDataCache.refreshAfterCommit();
         return entityMapper.toProvinceDTO(savedProvince);
     }
 
@@ -90,11 +95,13 @@ public class ProvinceService {
         province.setName(request.getName());
 
         Province updatedProvince = provinceRepository.save(province);
+        referenceDataCache.refreshAfterCommit();
         return entityMapper.toProvinceDTO(updatedProvince);
     }
 
     public void deleteProvince(Long id) {
         provinceRepository.deleteById(id);
+        referenceDataCache.refreshAfterCommit();
     }
 
     public long getProvinceCount() {
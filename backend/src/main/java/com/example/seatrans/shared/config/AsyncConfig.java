@@ -0,0 +1,107 @@
+package com.example.seatrans.shared.config;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Background executors and scheduled jobs
+ */
+@Configuration
+@EnableScheduling
+public class AsyncConfig {
+
+    /**
+     * Bounded pool for Cloudinary attachment uploads.
+     * When the queue is full the task is rejected and the row stays PENDING for the sweeper.
+     */
+    @Bean(name = "attachmentUploadExecutor")
+    public Executor attachmentUploadExecutor(
+            @Value("${app.upload.attachment.pool-size:2}") int poolSize,
+            @Value("${app.upload.attachment.max-pool-size:4}") int maxPoolSize,
+            @Value("${app.upload.attachment.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(maxPoolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("attachment-upload-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Pool for rendering document thumbnails (Cloudinary round trips).
+     * When the queue is full the task is rejected and the document stays PENDING for the sweeper.
+     */
+    @Bean(name = "thumbnailExecutor")
+    public Executor thumbnailExecutor(
+            @Value("${app.documents.thumbnail.pool-size:2}") int poolSize,
+            @Value("${app.documents.thumbnail.queue-capacity:200}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("thumbnail-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Pool for BCrypt hashing (login, registration), sized to the CPU share hashing may take.
+     * When the queue is full the caller gets a 503 instead of waiting (see BoundedBCryptPasswordEncoder).
+     */
+    @Bean(name = "passwordHashExecutor")
+    public Executor passwordHashExecutor(
+            @Value("${app.security.bcrypt.pool-size:2}") int poolSize,
+            @Value("${app.security.bcrypt.queue-capacity:50}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("password-hash-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Small pool for deferred housekeeping (e.g. document cleanup after deletes).
+     * When saturated the submitting thread runs the task itself, so work is never dropped.
+     */
+    @Bean(name = "backgroundTaskExecutor")
+    public Executor backgroundTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(500);
+        executor.setThreadNamePrefix("background-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * CPU pool for evaluating fee formulas in bulk (quote recomputation).
+     * Parallelism defaults to the number of cores.
+     */
+    @Bean(name = "quoteComputePool", destroyMethod = "shutdown")
+    public ForkJoinPool quoteComputePool(@Value("${app.quote.recompute.parallelism:0}") int parallelism) {
+        return new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+}
@@ -1,7 +1,10 @@
 package com.example.seatrans.shared.config;
 
 import java.util.Arrays;
+import java.util.concurrent.Executor;
 
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -9,7 +12,6 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -17,9 +19,12 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import com.example.seatrans.shared.ratelimit.RateLimitFilter;
+import com.example.seatrans.shared.security.BoundedBCryptPasswordEncoder;
 import com.example.seatrans.shared.security.JwtAuthenticationFilter;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
 /**
  * Simplified Security Configuration
@@ -30,16 +35,26 @@ import lombok.RequiredArgsConstructor;
 @EnableWebSecurity
 @EnableMethodSecurity
 @RequiredArgsConstructor
+@Slf4j
 public class SecurityConfig {
     
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final RateLimitFilter rateLimitFilter;
     
     /**
      * Password encoder bean for hashing passwords
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Qualifier("passwordHashExecutor") Executor passwordHashExecutor,
+            @Value("${app.security.bcrypt.strength:0}") int strength,
+            @Value("${app.security.bcrypt.min-strength:10}") int minStrength,
+            @Value("${app.security.bcrypt.target-ms:250}") long targetMs,
+            @Value("${app.security.bcrypt.wait-timeout-ms:5000}") long waitTimeoutMs) {
+        // strength = 0: calibrate the cost factor to the target latency on this machine
+        int cost = strength > 0 ? strength : BoundedBCryptPasswordEncoder.calibrate(targetMs, minStrength);
+        log.info("BCrypt cost factor {} ({})", cost, strength > 0 ? "configured" : "calibrated to " + targetMs + " ms");
+        return new BoundedBCryptPasswordEncoder(passwordHashExecutor, cost, waitTimeoutMs);
     }
     
     /**
@@ -53,6 +68,10 @@ public class SecurityConfig {
         // Include PATCH for admin status updates
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(Arrays.asList("*"));
+        // PDF.js needs to read these for cross-origin range requests on document preview
+        configuration.setExposedHeaders(Arrays.asList("Accept-Ranges", "Content-Range", "Content-Length", "ETag", "Content-Disposition"));
+        // Rate limit headers let the client back off before hitting 429
+        RateLimitFilter.RESPONSE_HEADERS.forEach(configuration::addExposedHeader);
         configuration.setAllowCredentials(true);
         
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -109,6 +128,10 @@ public class SecurityConfig {
                 .requestMatchers(HttpMethod.GET, "/api/v1/inquiries/user/**").authenticated()
                 // Inquiry submission requires authentication
                 .requestMatchers(HttpMethod.POST, "/api/v1/inquiries").authenticated()
+                // Document bundles are admin only (checked again by @PreAuthorize)
+                .requestMatchers(HttpMethod.GET, "/api/v1/inquiries/*/*/documents/bundle.zip").authenticated()
+                // Thumbnails: staff or the inquiry owner (checked in the controller)
+                .requestMatchers(HttpMethod.GET, "/api/v1/inquiries/*/*/documents/thumbnail/**").authenticated()
                 // Public inquiry listing
                 .requestMatchers(HttpMethod.GET, "/api/v1/inquiries").permitAll()
                 .requestMatchers(HttpMethod.GET, "/api/v1/inquiries/**").permitAll()
@@ -119,6 +142,8 @@ public class SecurityConfig {
                 .anyRequest().authenticated()
             )
             .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+            // After JWT so authenticated requests are limited per user instead of per IP
+            .addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class)
             .formLogin(form -> form.disable())
             .logout(logout -> logout.disable());
         
@@ -0,0 +1,14 @@
+package com.example.seatrans.shared.exception;
+
+/**
+ * Thrown when a bounded worker pool is saturated; mapped to 503 so clients retry shortly
+ */
+public class ServiceBusyException extends RuntimeException {
+    public ServiceBusyException(String message) {
+        super(message);
+    }
+
+    public ServiceBusyException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
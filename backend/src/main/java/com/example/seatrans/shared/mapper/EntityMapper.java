@@ -3,6 +3,7 @@ package com.example.seatrans.shared.mapper;
 import org.springframework.stereotype.Component;
 
 import com.example.seatrans.features.auth.dto.UserDTO;
+import com.example.seatrans.features.auth.dto.UserProfile;
 import com.example.seatrans.features.auth.model.User;
 import com.example.seatrans.features.gallery.dto.GalleryImageDTO;
 import com.example.seatrans.features.gallery.dto.ImageTypeDTO;
@@ -55,6 +56,30 @@ public class EntityMapper {
             .build();
     }
     
+    /**
+     * Convert cached UserProfile snapshot sang UserDTO
+     */
+    public UserDTO toUserDTO(UserProfile profile) {
+        if (profile == null) {
+            return null;
+        }
+        
+        return UserDTO.builder()
+            .id(profile.getId())
+            .email(profile.getEmail())
+            .fullName(profile.getFullName())
+            .phone(profile.getPhone())
+            .company(profile.getCompany())
+            .isActive(profile.getIsActive())
+            .createdAt(profile.getCreatedAt())
+            .updatedAt(profile.getUpdatedAt())
+            .lastLogin(profile.getLastLogin())
+            .roleId(profile.getRoleId())
+            .role(profile.getRoleName())
+            .roleGroup(profile.getRoleGroup() != null ? profile.getRoleGroup().name() : null)
+            .build();
+    }
+    
     // ==================== Gallery Image Mapping ====================
     
     /**
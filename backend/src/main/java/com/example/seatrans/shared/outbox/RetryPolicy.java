@@ -0,0 +1,31 @@
+package com.example.seatrans.shared.outbox;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Exponential backoff for background rows retried by a sweep (outbox rows, pending uploads, thumbnails).
+ * Retry n waits base x 2^(n-1), capped at max; after maxAttempts failures the row is parked
+ * (no next attempt) and left for manual follow-up instead of being retried forever.
+ */
+public record RetryPolicy(Duration base, Duration max, int maxAttempts) {
+
+    /**
+     * Delay before the next try after the given number of failed attempts (1-based)
+     */
+    public Duration backoff(int attempts) {
+        Duration delay = base.multipliedBy(1L << Math.min(Math.max(attempts, 1) - 1, 10));
+        return delay.compareTo(max) > 0 ? max : delay;
+    }
+
+    public boolean exhausted(int attempts) {
+        return attempts >= maxAttempts;
+    }
+
+    /**
+     * When the next try is due after the given number of failed attempts; null once parked
+     */
+    public LocalDateTime nextAttemptAt(int attempts) {
+        return exhausted(attempts) ? null : LocalDateTime.now().plus(backoff(attempts));
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.seatrans.shared.outbox;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs an outbox drain one at a time: a flush requested while one is running makes the running
+ * flush go round again instead of starting a second one. Owners trigger it after their enqueue
+ * commits and from their @Scheduled sweep, which picks up rows left behind by a crash or restart.
+ */
+@Slf4j
+public class SerialFlusher {
+
+    private final String name;
+    private final Executor executor;
+    private final Runnable drain;
+
+    private final AtomicBoolean flushing = new AtomicBoolean();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+    /**
+     * @param name used in log messages
+     * @param executor runs flushes triggered by a commit
+     * @param drain works off every due row
+     */
+    public SerialFlusher(String name, Executor executor, Runnable drain) {
+        this.name = name;
+        this.executor = executor;
+        this.drain = drain;
+    }
+
+    /**
+     * Drain on the calling thread, or hand over to the flush already running
+     */
+    public void flush() {
+        flushRequested.set(true);
+        while (flushRequested.get() && flushing.compareAndSet(false, true)) {
+            try {
+                flushRequested.set(false);
+                drain.run();
+            } catch (RuntimeException e) {
+                log.error("{} flush failed: {}", name, e.getMessage(), e);
+            } finally {
+                flushing.set(false);
+            }
+        }
+    }
+
+    /**
+     * Flush on the executor once the current transaction commits (immediately without one)
+     */
+    public void flushAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    executor.execute(SerialFlusher.this::flush);
+                }
+            });
+        } else {
+            executor.execute(this::flush);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.seatrans.shared.ratelimit;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Per-node token buckets.
+ * Each bucket is an immutable (tokens, timestamp) state swapped with compare-and-set, so concurrent
+ * requests on the same key never lock. A bucket that has been idle long enough to refill completely is
+ * indistinguishable from a new one and is evicted by the sweep; when the map still reaches max-buckets,
+ * the least recently used tenth is dropped (which only resets those clients' buckets).
+ */
+@Component
+@Slf4j
+public class InMemoryRateLimitBackend implements RateLimitBackend {
+
+    private record State(double tokens, long updatedAtNanos) {
+    }
+
+    private static final class Bucket {
+        final RateLimitPolicy policy;
+        final AtomicReference<State> state;
+
+        Bucket(RateLimitPolicy policy, long now) {
+            this.policy = policy;
+            this.state = new AtomicReference<>(new State(policy.capacity(), now));
+        }
+
+        boolean isFull(long now) {
+            State current = state.get();
+            return current.tokens() + (now - current.updatedAtNanos()) * policy.tokensPerNano() >= policy.capacity();
+        }
+    }
+
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final int maxBuckets;
+
+    public InMemoryRateLimitBackend(@Value("${app.rate-limit.max-buckets:100000}") int maxBuckets) {
+        this.maxBuckets = Math.max(1, maxBuckets);
+    }
+
+    @Override
+    public RateLimitResult tryConsume(String key, RateLimitPolicy policy) {
+        long now = System.nanoTime();
+        Bucket bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= maxBuckets) {
+                shrink(now);
+            }
+            bucket = buckets.computeIfAbsent(key, k -> new Bucket(policy, now));
+        }
+
+        double rate = policy.tokensPerNano();
+        while (true) {
+            State current = bucket.state.get();
+            double available = Math.min(policy.capacity(),
+                current.tokens() + Math.max(0, now - current.updatedAtNanos()) * rate);
+            boolean allowed = available >= 1;
+            double left = allowed ? available - 1 : available;
+            State next = new State(left, Math.max(now, current.updatedAtNanos()));
+            if (bucket.state.compareAndSet(current, next)) {
+                Duration resetAfter = Duration.ofNanos((long) Math.ceil((policy.capacity() - left) / rate));
+                Duration retryAfter = allowed ? Duration.ZERO : Duration.ofNanos((long) Math.ceil((1 - left) / rate));
+                return new RateLimitResult(allowed, policy.capacity(), (long) Math.floor(left), resetAfter, retryAfter);
+            }
+        }
+    }
+
+    /**
+     * Drop buckets that have refilled completely; they carry no state worth keeping
+     */
+    @Scheduled(fixedDelayString = "${app.rate-limit.sweep-interval-ms:60000}")
+    public void evictIdle() {
+        long now = System.nanoTime();
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+        if (before != buckets.size()) {
+            log.debug("Rate limit sweep evicted {} idle buckets", before - buckets.size());
+        }
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    private synchronized void shrink(long now) {
+        if (buckets.size() < maxBuckets) {
+            return;
+        }
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+        int excess = buckets.size() - maxBuckets * 9 / 10;
+        if (excess <= 0) {
+            return;
+        }
+        buckets.entrySet().stream()
+            .sorted(Comparator.comparingLong(entry -> entry.getValue().state.get().updatedAtNanos()))
+            .limit(excess)
+            .map(Map.Entry::getKey)
+            .toList()
+            .forEach(buckets::remove);
+        log.warn("Rate limit store reached {} buckets, evicted {} least recently used", maxBuckets, excess);
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.seatrans.shared.ratelimit;
+
+import java.net.InetAddress;
+
+import com.google.common.net.InetAddresses;
+
+/**
+ * CIDR range ("173.245.48.0/20", "2400:cb00::/32") or a single address; parsing never does a DNS lookup
+ */
+record IpRange(byte[] network, int prefixLength) {
+
+    static IpRange parse(String cidr) {
+        String value = cidr.strip();
+        int slash = value.indexOf('/');
+        String address = slash >= 0 ? value.substring(0, slash) : value;
+        if (!InetAddresses.isInetAddress(address)) {
+            throw new IllegalArgumentException("Invalid trusted proxy range: " + cidr);
+        }
+        byte[] network = InetAddresses.forString(address).getAddress();
+        int prefixLength = slash >= 0 ? Integer.parseInt(value.substring(slash + 1)) : network.length * 8;
+        if (prefixLength < 0 || prefixLength > network.length * 8) {
+            throw new IllegalArgumentException("Invalid prefix length in trusted proxy range: " + cidr);
+        }
+        return new IpRange(network, prefixLength);
+    }
+
+    /**
+     * Whether the literal address lies in the range; anything that is not an IP literal never matches
+     */
+    boolean contains(String address) {
+        if (address == null || !InetAddresses.isInetAddress(address)) {
+            return false;
+        }
+        InetAddress parsed = InetAddresses.forString(address);
+        byte[] bytes = parsed.getAddress();
+        if (bytes.length != network.length) {
+            return false;
+        }
+        int fullBytes = prefixLength / 8;
+        for (int i = 0; i < fullBytes; i++) {
+            if (bytes[i] != network[i]) {
+                return false;
+            }
+        }
+        int remainingBits = prefixLength % 8;
+        if (remainingBits == 0) {
+            return true;
+        }
+        int mask = 0xFF << (8 - remainingBits) & 0xFF;
+        return (bytes[fullBytes] & mask) == (network[fullBytes] & mask);
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.seatrans.shared.ratelimit;
+
+/**
+ * Storage of token buckets.
+ * The in-memory backend limits per node; a shared implementation (e.g. Redis) can replace it
+ * as the only RateLimitBackend bean without touching RateLimitFilter.
+ */
+public interface RateLimitBackend {
+
+    /**
+     * Take one token from the bucket identified by key, creating it full on first use
+     */
+    RateLimitResult tryConsume(String key, RateLimitPolicy policy);
+}
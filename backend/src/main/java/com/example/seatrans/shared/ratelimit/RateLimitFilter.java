@@ -0,0 +1,159 @@
+package com.example.seatrans.shared.ratelimit;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Rate Limit Filter
+ * Token-bucket limits for the endpoints that are expensive to abuse (BCrypt on login/registration,
+ * DB writes on inquiry submission). Buckets are keyed by endpoint group plus the user id when the
+ * request carries a valid token (set by JwtAuthenticationFilter, which runs first), otherwise the
+ * client IP (the remote address, or the client-IP header when the request comes from a trusted proxy).
+ * Every limited response carries RateLimit-Limit/Remaining/Reset; rejected ones get 429
+ * with Retry-After.
+ */
+@Component
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String HEADER_LIMIT = "RateLimit-Limit";
+    private static final String HEADER_REMAINING = "RateLimit-Remaining";
+    private static final String HEADER_RESET = "RateLimit-Reset";
+    private static final String HEADER_POLICY = "RateLimit-Policy";
+    private static final String HEADER_RETRY_AFTER = "Retry-After";
+
+    /** Exposed through CORS so the frontend can read them */
+    public static final List<String> RESPONSE_HEADERS =
+        List.of(HEADER_LIMIT, HEADER_REMAINING, HEADER_RESET, HEADER_POLICY, HEADER_RETRY_AFTER);
+
+    /** Decoded, context-relative path without ;params, so "/api/v1/auth/%6cogin" or a context path cannot dodge a group */
+    private static final UrlPathHelper PATH_HELPER = new UrlPathHelper();
+
+    private record Group(RateLimitPolicy policy, HttpMethod method, List<String> paths) {
+        boolean matches(HttpServletRequest request) {
+            return method.matches(request.getMethod()) && paths.contains(PATH_HELPER.getPathWithinApplication(request));
+        }
+    }
+
+    private final RateLimitBackend backend;
+    private final boolean enabled;
+    private final String clientIpHeader;
+    private final List<IpRange> trustedProxies;
+    private final List<Group> groups;
+
+    public RateLimitFilter(RateLimitBackend backend,
+                           @Value("${app.rate-limit.enabled:true}") boolean enabled,
+                           @Value("${app.rate-limit.client-ip-header:}") String clientIpHeader,
+                           @Value("${app.rate-limit.trusted-proxies:}") List<String> trustedProxies,
+                           @Value("${app.rate-limit.auth.capacity:10}") long authCapacity,
+                           @Value("${app.rate-limit.auth.refill-tokens:5}") long authRefillTokens,
+                           @Value("${app.rate-limit.auth.refill-period-seconds:60}") long authRefillSeconds,
+                           @Value("${app.rate-limit.inquiry.capacity:30}") long inquiryCapacity,
+                           @Value("${app.rate-limit.inquiry.refill-tokens:10}") long inquiryRefillTokens,
+                           @Value("${app.rate-limit.inquiry.refill-period-seconds:60}") long inquiryRefillSeconds) {
+        this.backend = backend;
+        this.enabled = enabled;
+        this.clientIpHeader = clientIpHeader;
+        this.trustedProxies = trustedProxies.stream()
+            .filter(range -> !range.isBlank())
+            .map(IpRange::parse)
+            .toList();
+        if (clientIpHeader != null && !clientIpHeader.isBlank() && this.trustedProxies.isEmpty()) {
+            log.warn("app.rate-limit.client-ip-header is set but app.rate-limit.trusted-proxies is empty: "
+                + "the header is ignored and clients are keyed by remote address");
+        }
+        this.groups = List.of(
+            new Group(new RateLimitPolicy("auth", authCapacity, authRefillTokens, Duration.ofSeconds(authRefillSeconds)),
+                HttpMethod.POST, List.of("/api/v1/auth/login", "/api/v1/auth/register/customer")),
+            new Group(new RateLimitPolicy("inquiry", inquiryCapacity, inquiryRefillTokens, Duration.ofSeconds(inquiryRefillSeconds)),
+                HttpMethod.POST, List.of("/api/v1/inquiries")));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Group group = groups.stream().filter(candidate -> candidate.matches(request)).findFirst().orElse(null);
+        if (group == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        RateLimitPolicy policy = group.policy();
+        RateLimitResult result = backend.tryConsume(policy.name() + ":" + clientKey(request), policy);
+        response.setHeader(HEADER_LIMIT, String.valueOf(result.limit()));
+        response.setHeader(HEADER_REMAINING, String.valueOf(result.remaining()));
+        response.setHeader(HEADER_RESET, String.valueOf(ceilSeconds(result.resetAfter())));
+        response.setHeader(HEADER_POLICY, policy.capacity() + ";w=" + policy.timeToFull().toSeconds());
+
+        if (!result.allowed()) {
+            log.warn("Rate limit '{}' exceeded by {}", policy.name(), clientKey(request));
+            response.setStatus(429);
+            response.setHeader(HEADER_RETRY_AFTER, String.valueOf(ceilSeconds(result.retryAfter())));
+            response.setContentType("application/json");
+            response.getWriter().write("{\"success\":false,\"message\":\"Too many requests, please try again later\"}");
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * "user:{id}" for authenticated requests, otherwise "ip:{address}"
+     */
+    private String clientKey(HttpServletRequest request) {
+        Object userId = request.getAttribute("userId");
+        if (userId != null) {
+            return "user:" + userId;
+        }
+        return "ip:" + clientIp(request);
+    }
+
+    /**
+     * The remote address, unless it is a trusted proxy (e.g. the Cloudflare edge) that put the real client
+     * in the client-IP header. A list header (X-Forwarded-For) is read right to left, skipping trusted hops,
+     * so entries prepended by the client are never used. Requests from anywhere else cannot spoof their key.
+     */
+    private String clientIp(HttpServletRequest request) {
+        String remoteAddr = request.getRemoteAddr();
+        if (clientIpHeader == null || clientIpHeader.isBlank() || !isTrustedProxy(remoteAddr)) {
+            return remoteAddr;
+        }
+        String header = request.getHeader(clientIpHeader);
+        if (header == null || header.isBlank()) {
+            return remoteAddr;
+        }
+        String[] hops = header.split(",");
+        for (int i = hops.length - 1; i >= 0; i--) {
+            String hop = hops[i].strip();
+            if (!hop.isEmpty() && !isTrustedProxy(hop)) {
+                return hop;
+            }
+        }
+        return remoteAddr;
+    }
+
+    private boolean isTrustedProxy(String address) {
+        return trustedProxies.stream().anyMatch(range -> range.contains(address));
+    }
+
+    private static long ceilSeconds(Duration duration) {
+        return Math.max(0, (duration.toMillis() + 999) / 1000);
+    }
+}
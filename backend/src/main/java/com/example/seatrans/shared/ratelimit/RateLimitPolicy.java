@@ -0,0 +1,30 @@
+package com.example.seatrans.shared.ratelimit;
+
+import java.time.Duration;
+
+/**
+ * Token bucket parameters: up to `capacity` requests in a burst, refilled continuously at
+ * `refillTokens` per `refillPeriod`
+ */
+public record RateLimitPolicy(String name, long capacity, long refillTokens, Duration refillPeriod) {
+
+    public RateLimitPolicy {
+        if (capacity <= 0 || refillTokens <= 0 || refillPeriod.isZero() || refillPeriod.isNegative()) {
+            throw new IllegalArgumentException("Invalid rate limit policy: " + name);
+        }
+    }
+
+    /**
+     * Refill rate in tokens per nanosecond
+     */
+    public double tokensPerNano() {
+        return (double) refillTokens / refillPeriod.toNanos();
+    }
+
+    /**
+     * Time an empty bucket needs to fill up again
+     */
+    public Duration timeToFull() {
+        return Duration.ofNanos((long) Math.ceil(capacity / tokensPerNano()));
+    }
+}
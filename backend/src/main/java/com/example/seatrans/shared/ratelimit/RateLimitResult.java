@@ -0,0 +1,15 @@
+package com.example.seatrans.shared.ratelimit;
+
+import java.time.Duration;
+
+/**
+ * Outcome of one consume attempt
+ *
+ * @param allowed    Whether the request may proceed
+ * @param limit      Bucket capacity
+ * @param remaining  Whole tokens left after this request
+ * @param resetAfter Time until the bucket is full again
+ * @param retryAfter Time until the next token (zero when allowed)
+ */
+public record RateLimitResult(boolean allowed, long limit, long remaining, Duration resetAfter, Duration retryAfter) {
+}
@@ -0,0 +1,19 @@
+package com.example.seatrans.shared.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.seatrans.shared.model.CloudinaryDeletion;
+
+@Repository
+public interface CloudinaryDeletionRepository extends JpaRepository<CloudinaryDeletion, Long> {
+
+    @Query("SELECT d FROM CloudinaryDeletion d WHERE d.nextAttemptAt <= :now ORDER BY d.id")
+    List<CloudinaryDeletion> findDue(@Param("now") LocalDateTime now, Pageable pageable);
+}
@@ -0,0 +1,108 @@
+package com.example.seatrans.shared.security;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.example.seatrans.shared.exception.ServiceBusyException;
+
+/**
+ * BCrypt encoder that hashes on a dedicated bounded pool instead of the calling (Tomcat) thread.
+ * At most pool-size hashes run at once and at most queue-capacity callers wait for one; beyond that
+ * the call fails fast with ServiceBusyException (503), so a login burst cannot tie up the worker
+ * threads that serve everything else. A caller waits at most waitTimeoutMs for its hash, then also gets 503.
+ * upgradeEncoding() reports hashes made with a lower cost, so login can rehash them transparently.
+ */
+public class BoundedBCryptPasswordEncoder implements PasswordEncoder {
+
+    private static final Logger log = LoggerFactory.getLogger(BoundedBCryptPasswordEncoder.class);
+
+    private static final int MIN_STRENGTH = 10;
+    private static final int MAX_STRENGTH = 16;
+
+    private final BCryptPasswordEncoder delegate;
+    private final Executor executor;
+    private final int strength;
+    private final long waitTimeoutMs;
+
+    public BoundedBCryptPasswordEncoder(Executor executor, int strength, long waitTimeoutMs) {
+        this.executor = executor;
+        this.strength = strength;
+        this.waitTimeoutMs = waitTimeoutMs;
+        this.delegate = new BCryptPasswordEncoder(strength);
+    }
+
+    /**
+     * Highest cost (at least minStrength, at most 16) whose hash stays within targetMs on this machine
+     */
+    public static int calibrate(long targetMs, int minStrength) {
+        int floor = Math.max(MIN_STRENGTH, minStrength);
+        // Warm up so the first timed round is not dominated by JIT compilation
+        new BCryptPasswordEncoder(4).encode("calibration");
+        int chosen = floor;
+        for (int candidate = floor; candidate <= MAX_STRENGTH; candidate++) {
+            long start = System.nanoTime();
+            new BCryptPasswordEncoder(candidate).encode("calibration");
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+            log.debug("BCrypt cost {} took {} ms", candidate, elapsedMs);
+            if (elapsedMs > targetMs) {
+                break;
+            }
+            chosen = candidate;
+        }
+        return chosen;
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T run(Supplier<T> task) {
+        CompletableFuture<T> future;
+        try {
+            future = CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException e) {
+            throw new ServiceBusyException("Server is busy, please try again shortly", e);
+        }
+        try {
+            return future.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // A queued hash is skipped once cancelled; one already running finishes on the pool
+            future.cancel(true);
+            throw new ServiceBusyException("Server is busy, please try again shortly", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new IllegalStateException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+}
@@ -12,6 +12,8 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.example.seatrans.features.auth.service.TokenRevocationService;
+
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -31,6 +33,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private static final String BEARER_PREFIX = "Bearer ";
     
     private final TokenProvider tokenProvider;
+    private final TokenRevocationService tokenRevocationService;
     
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
@@ -40,11 +43,27 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             String token = extractTokenFromRequest(request);
             
             if (token != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                if (tokenProvider.validateToken(token)) {
-                    // Extract user information from token
-                    Long userId = tokenProvider.getUserIdFromToken(token);
-                    String email = tokenProvider.getEmailFromToken(token);
-                    String role = tokenProvider.getRoleFromToken(token);
+                // Single signature verification; all user information comes from the same parse
+                TokenClaims claims = tokenProvider.parseAndVerify(token).orElse(null);
+                if (claims != null && tokenRevocationService.isRevoked(claims)) {
+                    log.warn("Revoked JWT token provided - returning 401");
+                    response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+                    response.setContentType("application/json");
+                    response.getWriter().write("{\"success\":false,\"message\":\"Token revoked\"}");
+                    return;
+                }
+                if (claims != null && claims.isRefreshToken()) {
+                    // Refresh tokens are only accepted by /auth/refresh-token (request body), never as a bearer
+                    log.warn("Refresh token used as bearer token - returning 401");
+                    response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+                    response.setContentType("application/json");
+                    response.getWriter().write("{\"success\":false,\"message\":\"Refresh token cannot be used for authentication\"}");
+                    return;
+                }
+                if (claims != null) {
+                    Long userId = claims.userId();
+                    String email = claims.email();
+                    String role = claims.role();
                     
                     log.debug("JWT token validated for user: {} (ID: {}) with role: {}", email, userId, role);
                     
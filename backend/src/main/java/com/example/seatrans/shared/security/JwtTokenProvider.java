@@ -1,6 +1,10 @@
 package com.example.seatrans.shared.security;
 
 import java.util.Date;
+import java.util.Optional;
+import java.util.UUID;
+
+import javax.crypto.SecretKey;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -11,6 +15,7 @@ import com.example.seatrans.features.auth.model.User;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.SignatureAlgorithm;
@@ -29,6 +34,8 @@ public class JwtTokenProvider implements TokenProvider {
     private static final Logger log = LoggerFactory.getLogger(JwtTokenProvider.class);
 
     private static final String CLAIM_ROLES = "roles";
+    private static final String CLAIM_FAMILY = "family";
+    private static final String CLAIM_TOKEN_TYPE = "tokenType";
     
     @Value("${app.jwt.secret:}")
     private String jwtSecret;
@@ -39,7 +46,15 @@ public class JwtTokenProvider implements TokenProvider {
     @Value("${app.jwt.refresh-expiration:604800000}") // 7 days default
     private long refreshExpirationMs;
     
-    private byte[] secretKey;
+    // Built once: the key and the (thread-safe) parser are reused for every token
+    private SecretKey secretKey;
+    private JwtParser jwtParser;
+
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    public JwtTokenProvider(VerifiedTokenCache verifiedTokenCache) {
+        this.verifiedTokenCache = verifiedTokenCache;
+    }
     
     @PostConstruct
     public void init() {
@@ -48,26 +63,31 @@ public class JwtTokenProvider implements TokenProvider {
             throw new IllegalStateException("JWT secret is not configured. Set APP_JWT_SECRET or app.jwt.secret.");
         }
 
+        byte[] keyBytes;
         if (jwtSecret.length() < 32) {
             String paddedSecret = String.format("%-32s", jwtSecret).replace(' ', 'x');
-            this.secretKey = paddedSecret.getBytes();
+            keyBytes = paddedSecret.getBytes();
         } else {
-            this.secretKey = jwtSecret.getBytes();
+            keyBytes = jwtSecret.getBytes();
         }
+        this.secretKey = Keys.hmacShaKeyFor(keyBytes);
+        this.jwtParser = Jwts.parser()
+                .verifyWith(secretKey)
+                .build();
     }
     
     /**
      * Generate JWT token
      */
     public String generateToken(Long userId, String email) {
-        return generateToken(userId, email, jwtExpirationMs, null);
+        return generateToken(userId, email, jwtExpirationMs, null, newTokenFamily(), TokenClaims.TYPE_ACCESS);
     }
 
     /**
      * Generate Refresh Token
      */
     public String generateRefreshToken(Long userId, String email) {
-        return generateToken(userId, email, refreshExpirationMs, null);
+        return generateToken(userId, email, refreshExpirationMs, null, newTokenFamily(), TokenClaims.TYPE_REFRESH);
     }
 
     /**
@@ -75,34 +95,88 @@ public class JwtTokenProvider implements TokenProvider {
      */
     @Override
     public String generateToken(User user) {
-        String roleName = user.getRole() != null
-            ? user.getRole().getName()
-            : null;
-        return generateToken(user.getId(), user.getEmail(), jwtExpirationMs, roleName);
+        return generateToken(user, newTokenFamily());
     }
 
     @Override
     public String generateRefreshToken(User user) {
-        String roleName = user.getRole() != null
+        return generateRefreshToken(user, newTokenFamily());
+    }
+
+    @Override
+    public String generateToken(User user, String familyId) {
+        return generateToken(user.getId(), user.getEmail(), jwtExpirationMs, roleNameOf(user), familyId, TokenClaims.TYPE_ACCESS);
+    }
+
+    @Override
+    public String generateRefreshToken(User user, String familyId) {
+        return generateToken(user.getId(), user.getEmail(), refreshExpirationMs, roleNameOf(user), familyId, TokenClaims.TYPE_REFRESH);
+    }
+
+    private static String roleNameOf(User user) {
+        return user.getRole() != null
             ? user.getRole().getName()
             : null;
-        return generateToken(user.getId(), user.getEmail(), refreshExpirationMs, roleName);
     }
 
-        private String generateToken(Long userId, String email, long expirationMs, String roleName) {
+    private String generateToken(Long userId, String email, long expirationMs, String roleName,
+                                 String familyId, String tokenType) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + expirationMs);
         
         return Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .subject(email)
                 .claim("userId", userId)
-            .claim(CLAIM_ROLES, roleName)
+                .claim(CLAIM_ROLES, roleName)
+                .claim(CLAIM_FAMILY, familyId)
+                .claim(CLAIM_TOKEN_TYPE, tokenType)
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(Keys.hmacShaKeyFor(secretKey), SignatureAlgorithm.HS512)
+                .signWith(secretKey, SignatureAlgorithm.HS512)
                 .compact();
     }
     
+    /**
+     * Verify the token once and read every claim the application uses.
+     * Tokens verified recently are answered from the verified-token cache.
+     */
+    @Override
+    public Optional<TokenClaims> parseAndVerify(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+        Optional<TokenClaims> cached = verifiedTokenCache.get(token);
+        if (cached.isPresent()) {
+            return cached;
+        }
+        try {
+            Claims claims = getAllClaimsFromToken(token);
+            TokenClaims verified = new TokenClaims(
+                    claims.get("userId", Long.class),
+                    claims.getSubject(),
+                    claims.get(CLAIM_ROLES, String.class),
+                    claims.getId(),
+                    claims.get(CLAIM_FAMILY, String.class),
+                    claims.get(CLAIM_TOKEN_TYPE, String.class),
+                    claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+                    claims.getExpiration() != null ? claims.getExpiration().toInstant() : null);
+            verifiedTokenCache.put(token, verified);
+            return Optional.of(verified);
+        } catch (SignatureException e) {
+            log.error("Invalid JWT signature: {}", e.getMessage());
+        } catch (MalformedJwtException e) {
+            log.error("Invalid JWT token: {}", e.getMessage());
+        } catch (ExpiredJwtException e) {
+            log.error("JWT token is expired: {}", e.getMessage());
+        } catch (UnsupportedJwtException e) {
+            log.error("JWT token is unsupported: {}", e.getMessage());
+        } catch (IllegalArgumentException e) {
+            log.error("JWT claims string is empty: {}", e.getMessage());
+        }
+        return Optional.empty();
+    }
+    
     /**
      * Get email from JWT token
      */
@@ -135,35 +209,14 @@ public class JwtTokenProvider implements TokenProvider {
      */
     @Override
     public boolean validateToken(String token) {
-        try {
-            Jwts.parser()
-                    .verifyWith(Keys.hmacShaKeyFor(secretKey))
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
-        } catch (SignatureException e) {
-            log.error("Invalid JWT signature: {}", e.getMessage());
-        } catch (MalformedJwtException e) {
-            log.error("Invalid JWT token: {}", e.getMessage());
-        } catch (ExpiredJwtException e) {
-            log.error("JWT token is expired: {}", e.getMessage());
-        } catch (UnsupportedJwtException e) {
-            log.error("JWT token is unsupported: {}", e.getMessage());
-        } catch (IllegalArgumentException e) {
-            log.error("JWT claims string is empty: {}", e.getMessage());
-        }
-        return false;
+        return parseAndVerify(token).isPresent();
     }
     
     /**
      * Get all claims from token
      */
     private Claims getAllClaimsFromToken(String token) {
-        return Jwts.parser()
-                .verifyWith(Keys.hmacShaKeyFor(secretKey))
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return jwtParser.parseSignedClaims(token).getPayload();
     }
     
     /**
@@ -0,0 +1,28 @@
+package com.example.seatrans.shared.security;
+
+import java.time.Instant;
+
+/**
+ * Verified token claims
+ * Produced once per token by {@link TokenProvider#parseAndVerify(String)}
+ *
+ * @param userId    User ID (may be null for tokens issued without it)
+ * @param email     Email subject
+ * @param role      Role name (may be null for legacy tokens)
+ * @param tokenId   Token ID (jti), used for revocation (null for legacy tokens)
+ * @param familyId  Login session the token belongs to; access and refresh tokens of one session share it
+ * @param tokenType "access" or "refresh" (null for legacy tokens)
+ * @param issuedAt  Issue time
+ * @param expiresAt Expiration time
+ */
+public record TokenClaims(Long userId, String email, String role,
+                          String tokenId, String familyId, String tokenType,
+                          Instant issuedAt, Instant expiresAt) {
+
+    public static final String TYPE_ACCESS = "access";
+    public static final String TYPE_REFRESH = "refresh";
+
+    public boolean isRefreshToken() {
+        return TYPE_REFRESH.equals(tokenType);
+    }
+}
@@ -1,5 +1,8 @@
 package com.example.seatrans.shared.security;
 
+import java.util.Optional;
+import java.util.UUID;
+
 import com.example.seatrans.features.auth.model.User;
 
 /**
@@ -23,6 +26,36 @@ public interface TokenProvider {
      */
     String generateRefreshToken(User user);
     
+    /**
+     * Generate access token belonging to a login session
+     * @param user User entity with roles
+     * @param familyId Session (token family) id, see {@link #newTokenFamily()}
+     * @return Token string
+     */
+    String generateToken(User user, String familyId);
+    
+    /**
+     * Generate refresh token belonging to a login session
+     * @param user User entity with roles
+     * @param familyId Session (token family) id, shared with the access token
+     * @return Refresh token string
+     */
+    String generateRefreshToken(User user, String familyId);
+    
+    /**
+     * New login session id; logout or refresh-token reuse revokes every token of the session
+     */
+    default String newTokenFamily() {
+        return UUID.randomUUID().toString();
+    }
+    
+    /**
+     * Verify signature and expiration and read all claims in a single parse
+     * @param token Token string
+     * @return Claims if the token is valid, empty otherwise
+     */
+    Optional<TokenClaims> parseAndVerify(String token);
+    
     /**
      * Validate token signature and expiration
      * @param token Token string
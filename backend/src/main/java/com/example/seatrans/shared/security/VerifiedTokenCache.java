@@ -0,0 +1,135 @@
+package com.example.seatrans.shared.security;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Size- and TTL-bounded cache of verified tokens (Guava cache: concurrent, no global lock).
+ * Keyed by the token's signature segment, which is already a MAC of header and payload, so no extra hash
+ * is computed per request; a hit also compares the signed part, so a signature glued to another payload
+ * never matches. The signature alone is not a usable credential and the full token is never kept.
+ * A repeat bearer token skips signature verification and claim parsing; an entry never outlives the
+ * token's own expiration. Revocation paths call invalidateUser()/invalidateAll(); disable() turns the
+ * cache off entirely (app.jwt.cache.enabled at startup, /api/v1/admin/token-cache at runtime).
+ */
+@Component
+@Slf4j
+public class VerifiedTokenCache {
+
+    private record Entry(String signedPart, TokenClaims claims, Instant expiresAt) {
+    }
+
+    private volatile boolean enabled;
+
+    /** signature segment -> claims; size-bounded (approximate LRU) and expired after the TTL */
+    private final Cache<String, Entry> entries;
+
+    private final Counter hits;
+    private final Counter misses;
+
+    public VerifiedTokenCache(MeterRegistry meterRegistry,
+                              @Value("${app.jwt.cache.enabled:true}") boolean enabled,
+                              @Value("${app.jwt.cache.max-entries:10000}") int maxEntries,
+                              @Value("${app.jwt.cache.ttl-seconds:300}") long ttlSeconds) {
+        this.enabled = enabled;
+        this.entries = CacheBuilder.newBuilder()
+            .maximumSize(Math.max(1, maxEntries))
+            .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+            .build();
+        this.hits = Counter.builder("auth.token.cache.requests").tag("result", "hit")
+            .description("Bearer tokens served from the verified-token cache").register(meterRegistry);
+        this.misses = Counter.builder("auth.token.cache.requests").tag("result", "miss")
+            .description("Bearer tokens that needed full verification").register(meterRegistry);
+        Gauge.builder("auth.token.cache.size", this, VerifiedTokenCache::size)
+            .description("Entries in the verified-token cache").register(meterRegistry);
+    }
+
+    /**
+     * Claims of a previously verified, still valid token
+     */
+    public Optional<TokenClaims> get(String token) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        int dot = token.lastIndexOf('.');
+        String key = dot > 0 ? token.substring(dot + 1) : null;
+        Entry entry = key != null ? entries.getIfPresent(key) : null;
+        if (entry != null && entry.signedPart().length() == dot && token.startsWith(entry.signedPart())) {
+            if (entry.expiresAt().isAfter(Instant.now())) {
+                hits.increment();
+                return Optional.of(entry.claims());
+            }
+            entries.invalidate(key);
+        }
+        misses.increment();
+        return Optional.empty();
+    }
+
+    /**
+     * Remember a token that has just passed verification
+     */
+    public void put(String token, TokenClaims claims) {
+        if (!enabled) {
+            return;
+        }
+        int dot = token.lastIndexOf('.');
+        if (dot <= 0) {
+            return;
+        }
+        // The cache TTL bounds every entry; the token's exp can only shorten it
+        Instant expiresAt = claims.expiresAt() != null ? claims.expiresAt() : Instant.MAX;
+        if (!expiresAt.isAfter(Instant.now())) {
+            return;
+        }
+        entries.put(token.substring(dot + 1), new Entry(token.substring(0, dot), claims, expiresAt));
+    }
+
+    /**
+     * Drop every cached token of a user (logout, role change, account disabled or deleted)
+     */
+    public void invalidateUser(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        entries.asMap().values().removeIf(entry -> userId.equals(entry.claims().userId()));
+    }
+
+    public void invalidateAll() {
+        entries.invalidateAll();
+        log.info("Verified-token cache cleared");
+    }
+
+    /**
+     * Kill switch: every token is fully verified again until enable() is called
+     */
+    public void disable() {
+        enabled = false;
+        invalidateAll();
+        log.warn("Verified-token cache disabled");
+    }
+
+    public void enable() {
+        enabled = true;
+        log.info("Verified-token cache enabled");
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long size() {
+        return entries.size();
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.seatrans.shared.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.seatrans.shared.model.CloudinaryDeletion;
+import com.example.seatrans.shared.outbox.RetryPolicy;
+import com.example.seatrans.shared.outbox.SerialFlusher;
+import com.example.seatrans.shared.repository.CloudinaryDeletionRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Transactional outbox for Cloudinary deletions.
+ * Delete paths call enqueue() inside their own transaction, so the outbox rows commit (or roll back)
+ * together with the database change and no transaction waits on Cloudinary. After commit, and on a
+ * schedule as a safety net, due rows are flushed in deleteResources calls of up to 100 ids per
+ * resource type; failures are retried with exponential backoff.
+ */
+@Service
+@Slf4j
+public class CloudinaryDeletionQueue {
+
+    private static final int FETCH_SIZE = 500;
+    private static final Duration BASE_BACKOFF = Duration.ofMinutes(1);
+    private static final Duration MAX_BACKOFF = Duration.ofHours(6);
+
+    private final CloudinaryDeletionRepository deletionRepository;
+    private final CloudinaryService cloudinaryService;
+    private final TransactionTemplate newTransaction;
+    private final RetryPolicy retryPolicy;
+    private final SerialFlusher flusher;
+
+    public CloudinaryDeletionQueue(CloudinaryDeletionRepository deletionRepository,
+                                   CloudinaryService cloudinaryService,
+                                   @Qualifier("backgroundTaskExecutor") Executor executor,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${app.cloudinary.deletion.max-attempts:10}") int maxAttempts) {
+        this.deletionRepository = deletionRepository;
+        this.cloudinaryService = cloudinaryService;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.retryPolicy = new RetryPolicy(BASE_BACKOFF, MAX_BACKOFF, maxAttempts);
+        this.flusher = new SerialFlusher("Cloudinary deletion", executor, this::drain);
+    }
+
+    /**
+     * Queue one asset for deletion once the current transaction commits
+     */
+    @Transactional
+    public void enqueue(String publicId, String resourceType) {
+        enqueue(List.of(publicId), resourceType);
+    }
+
+    /**
+     * Queue assets of one resource type for deletion once the current transaction commits
+     */
+    @Transactional
+    public void enqueue(Collection<String> publicIds, String resourceType) {
+        List<CloudinaryDeletion> rows = publicIds.stream()
+            .filter(publicId -> publicId != null && !publicId.isBlank())
+            .distinct()
+            .map(publicId -> CloudinaryDeletion.builder()
+                .publicId(publicId)
+                .resourceType(resourceType)
+                .build())
+            .toList();
+        if (rows.isEmpty()) {
+            return;
+        }
+        deletionRepository.saveAll(rows);
+        log.debug("Queued {} Cloudinary {} deletions", rows.size(), resourceType);
+        flusher.flushAfterCommit();
+    }
+
+    /**
+     * Queue an asset uploaded inside the current transaction in case that transaction rolls back:
+     * the row that would reference it is then never committed. Nothing happens on commit.
+     * Without an active transaction there is nothing to roll back and the call does nothing.
+     */
+    public void enqueueOnRollback(String publicId, String resourceType) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_ROLLED_BACK) {
+                    return;
+                }
+                try {
+                    // The original transaction is over; the outbox row needs a transaction of its own
+                    newTransaction.executeWithoutResult(tx -> enqueue(List.of(publicId), resourceType));
+                    log.info("Queued Cloudinary {} asset {} for deletion after rollback", resourceType, publicId);
+                } catch (RuntimeException e) {
+                    log.error("Could not queue orphaned Cloudinary {} asset {} for deletion: {}",
+                        resourceType, publicId, e.getMessage(), e);
+                }
+            }
+        });
+    }
+
+    /**
+     * Delete every due asset; also picks up rows left behind by a crash or restart
+     */
+    @Scheduled(initialDelayString = "${app.cloudinary.deletion.sweep-interval-ms:60000}",
+               fixedDelayString = "${app.cloudinary.deletion.sweep-interval-ms:60000}")
+    public void flush() {
+        flusher.flush();
+    }
+
+    private void drain() {
+        List<CloudinaryDeletion> due;
+        while (!(due = deletionRepository.findDue(LocalDateTime.now(), PageRequest.of(0, FETCH_SIZE))).isEmpty()) {
+            Map<String, List<CloudinaryDeletion>> byType = due.stream()
+                .collect(Collectors.groupingBy(CloudinaryDeletion::getResourceType, LinkedHashMap::new, Collectors.toList()));
+            byType.forEach((resourceType, rows) -> {
+                for (int from = 0; from < rows.size(); from += CloudinaryService.MAX_BULK_DELETE) {
+                    deleteBatch(resourceType, rows.subList(from, Math.min(from + CloudinaryService.MAX_BULK_DELETE, rows.size())));
+                }
+            });
+        }
+    }
+
+    private void deleteBatch(String resourceType, List<CloudinaryDeletion> rows) {
+        List<String> publicIds = rows.stream().map(CloudinaryDeletion::getPublicId).distinct().toList();
+        Map<String, Boolean> results = cloudinaryService.deleteMultipleFiles(publicIds, resourceType);
+
+        List<Long> done = new ArrayList<>();
+        List<CloudinaryDeletion> failed = new ArrayList<>();
+        for (CloudinaryDeletion row : rows) {
+            if (Boolean.TRUE.equals(results.get(row.getPublicId()))) {
+                done.add(row.getId());
+                continue;
+            }
+            int attempts = row.getAttempts() + 1;
+            row.setAttempts(attempts);
+            row.setLastError("Cloudinary did not confirm deletion");
+            row.setNextAttemptAt(retryPolicy.nextAttemptAt(attempts));
+            if (row.getNextAttemptAt() == null) {
+                // Parked: stays in the outbox for manual cleanup
+                log.error("Giving up deleting Cloudinary {} asset {} after {} attempts",
+                    resourceType, row.getPublicId(), attempts);
+            }
+            failed.add(row);
+        }
+
+        if (!done.isEmpty()) {
+            deletionRepository.deleteAllByIdInBatch(done);
+        }
+        if (!failed.isEmpty()) {
+            deletionRepository.saveAll(failed);
+            log.warn("{} of {} Cloudinary {} deletions failed, will retry", failed.size(), rows.size(), resourceType);
+        }
+        log.info("Deleted {} Cloudinary {} assets in one batch", done.size(), resourceType);
+    }
+}
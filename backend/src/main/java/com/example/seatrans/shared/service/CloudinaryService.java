@@ -1,5 +1,6 @@
 package com.example.seatrans.shared.service;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.List;
@@ -12,9 +13,11 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.cloudinary.Cloudinary;
+import com.cloudinary.EagerTransformation;
 import com.cloudinary.Transformation;
 import com.example.seatrans.shared.dto.CloudinaryUploadResponse;
 import com.example.seatrans.shared.exception.FileUploadException;
+import com.example.seatrans.shared.service.UploadPipeline.SpooledUpload;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -25,6 +28,7 @@ import lombok.extern.slf4j.Slf4j;
 public class CloudinaryService {
 
     private final Cloudinary cloudinary;
+    private final UploadPipeline uploadPipeline;
 
     private static final Set<String> ALLOWED_FILE_TYPES = Set.of(
         "image/jpeg", "image/jpg", "image/png", "image/webp", "image/gif",
@@ -32,36 +36,65 @@ public class CloudinaryService {
     );
 
     private static final long MAX_FILE_SIZE = 10 * 1024 * 1024; // 10MB
+    private static final long LARGE_UPLOAD_THRESHOLD = 20 * 1024 * 1024; // 20MB
+
+    public static final String RESOURCE_TYPE_IMAGE = "image";
+    public static final String RESOURCE_TYPE_RAW = "raw";
+    public static final String RESOURCE_TYPE_VIDEO = "video";
+    // Admin API limit for deleteResources
+    public static final int MAX_BULK_DELETE = 100;
 
     /**
      * Upload a single file to Cloudinary
+     * The multipart stream is read once (type sniffed from content) into a spool file that the SDK streams from disk
      */
     public CloudinaryUploadResponse uploadFile(MultipartFile file, String folder) {
         validateFile(file);
-        
-        try {
-            Map<String, Object> uploadParams = new HashMap<>();
-            uploadParams.put("folder", folder);
-            String contentType = file.getContentType() != null ? file.getContentType().toLowerCase() : "";
-            boolean isPdf = contentType.contains("pdf");
-            // Force PDF to use raw delivery to avoid image-specific delivery restrictions
-            uploadParams.put("resource_type", isPdf ? "raw" : "auto");
-            uploadParams.put("overwrite", true);
-            
-            // Generate unique filename (folder is already set above)
-            String uniqueFilename = generateUniqueFilename(file.getOriginalFilename());
-            uploadParams.put("public_id", uniqueFilename);
 
-            Map<String, Object> uploadResult = cloudinary.uploader().upload(file.getBytes(), uploadParams);
-            
-            return mapToResponse(uploadResult, file.getOriginalFilename());
-            
+        try (SpooledUpload upload = uploadPipeline.spool(file, MAX_FILE_SIZE, UploadPipeline.IMAGES_AND_PDF)) {
+            return uploadFile(upload.path().toFile(), file.getOriginalFilename(), upload.kind().contentType(), folder);
         } catch (IOException e) {
             log.error("Failed to upload file to Cloudinary: {}", e.getMessage(), e);
             throw new FileUploadException("Failed to upload file: " + e.getMessage());
         }
     }
 
+    /**
+     * Upload a file already on local disk (e.g. a spooled attachment); the SDK streams it from disk
+     */
+    public CloudinaryUploadResponse uploadFile(File file, String originalFilename, String contentType, String folder) {
+        if (file == null || !file.isFile() || file.length() == 0) {
+            throw new FileUploadException("File is empty");
+        }
+
+        try {
+            Map<String, Object> uploadParams = buildUploadParams(folder, contentType, originalFilename);
+            // Large files (chunked inquiry uploads) go through Cloudinary's chunked upload API
+            Map<String, Object> uploadResult = file.length() > LARGE_UPLOAD_THRESHOLD
+                ? cloudinary.uploader().uploadLarge(file, uploadParams)
+                : cloudinary.uploader().upload(file, uploadParams);
+
+            return mapToResponse(uploadResult, originalFilename);
+
+        } catch (IOException e) {
+            log.error("Failed to upload file to Cloudinary: {}", e.getMessage(), e);
+            throw new FileUploadException("Failed to upload file: " + e.getMessage(), e);
+        }
+    }
+
+    private Map<String, Object> buildUploadParams(String folder, String contentType, String originalFilename) {
+        Map<String, Object> uploadParams = new HashMap<>();
+        uploadParams.put("folder", folder);
+        boolean isPdf = contentType != null && contentType.toLowerCase().contains("pdf");
+        // Force PDF to use raw delivery to avoid image-specific delivery restrictions
+        uploadParams.put("resource_type", isPdf ? "raw" : "auto");
+        uploadParams.put("overwrite", true);
+
+        // Generate unique filename (folder is already set above)
+        uploadParams.put("public_id", generateUniqueFilename(originalFilename));
+        return uploadParams;
+    }
+
     /**
      * Upload multiple files to Cloudinary (parallel upload)
      */
@@ -90,6 +123,41 @@ public class CloudinaryService {
         ).join();
     }
 
+    /**
+     * Page of a PDF rendered by Cloudinary. publicId is the temporary image asset to delete afterwards.
+     */
+    public record RenderedPage(String publicId, String url, Integer width, Integer height) {
+    }
+
+    /**
+     * Render one page of a PDF already stored on Cloudinary (raw asset) to an image.
+     * Cloudinary fetches the PDF from sourceUrl itself, so nothing is uploaded from this server;
+     * the caller downloads the rendered image and then deletes the temporary asset (resource type image).
+     */
+    public RenderedPage renderPdfPage(String sourceUrl, int page, int width, String format) {
+        try {
+            Map<String, Object> params = new HashMap<>();
+            params.put("resource_type", RESOURCE_TYPE_IMAGE);
+            params.put("folder", "pdf-thumbnails");
+            params.put("eager", List.of(new EagerTransformation().page(page).width(width).crop("limit").format(format)));
+            Map<?, ?> result = cloudinary.uploader().upload(sourceUrl, params);
+
+            List<?> eager = (List<?>) result.get("eager");
+            if (eager == null || eager.isEmpty()) {
+                throw new FileUploadException("Cloudinary did not render the PDF page");
+            }
+            Map<?, ?> rendered = (Map<?, ?>) eager.get(0);
+            return new RenderedPage(
+                (String) result.get("public_id"),
+                (String) rendered.get("secure_url"),
+                rendered.get("width") instanceof Number n ? n.intValue() : null,
+                rendered.get("height") instanceof Number n ? n.intValue() : null);
+        } catch (IOException e) {
+            log.error("Failed to render PDF page on Cloudinary: {}", e.getMessage(), e);
+            throw new FileUploadException("Failed to render PDF page: " + e.getMessage(), e);
+        }
+    }
+
     /**
      * Delete a file from Cloudinary by public ID
      */
@@ -114,18 +182,32 @@ public class CloudinaryService {
      * Delete multiple files from Cloudinary (Bulk delete)
      */
     public Map<String, Boolean> deleteMultipleFiles(List<String> publicIds) {
+        return deleteMultipleFiles(publicIds, RESOURCE_TYPE_IMAGE);
+    }
+
+    /**
+     * Delete up to MAX_BULK_DELETE files of one resource type in a single Admin API call.
+     * An id Cloudinary reports as not_found counts as removed.
+     */
+    public Map<String, Boolean> deleteMultipleFiles(List<String> publicIds, String resourceType) {
         if (publicIds == null || publicIds.isEmpty()) {
             return Map.of();
         }
+        if (publicIds.size() > MAX_BULK_DELETE) {
+            throw new IllegalArgumentException("At most " + MAX_BULK_DELETE + " public ids per bulk delete");
+        }
 
         try {
             // Sử dụng API deleteResources cho bulk delete
             Map<?, ?> result = cloudinary.api().deleteResources(
                 publicIds,
-                Map.of("invalidate", true) // xóa cache CDN
+                Map.of(
+                    "resource_type", resourceType,
+                    "invalidate", true // xóa cache CDN
+                )
             );
             
-            log.info("Bulk delete result: {}", result);
+            log.info("Bulk delete result ({}): {}", resourceType, result);
             
             // Parse kết quả từ deleted map
             Map<String, Boolean> results = new HashMap<>();
@@ -134,7 +216,8 @@ public class CloudinaryService {
             
             if (deleted != null) {
                 for (String publicId : publicIds) {
-                    results.put(publicId, deleted.containsKey(publicId) && "deleted".equals(deleted.get(publicId)));
+                    String state = deleted.get(publicId);
+                    results.put(publicId, "deleted".equals(state) || "not_found".equals(state));
                 }
             } else {
                 // Nếu không có deleted map, đánh dấu tất cả là false
@@ -151,6 +234,19 @@ public class CloudinaryService {
         }
     }
 
+    /**
+     * Resource type of a stored asset, from its delivery URL (PDFs are uploaded as raw)
+     */
+    public static String resourceTypeOf(String url) {
+        if (url != null && url.contains("/raw/upload/")) {
+            return RESOURCE_TYPE_RAW;
+        }
+        if (url != null && url.contains("/video/upload/")) {
+            return RESOURCE_TYPE_VIDEO;
+        }
+        return RESOURCE_TYPE_IMAGE;
+    }
+
     /**
      * Validate file before upload
      */
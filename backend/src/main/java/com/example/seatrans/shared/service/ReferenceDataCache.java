@@ -0,0 +1,138 @@
+package com.example.seatrans.shared.service;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.seatrans.features.logistics.model.ServiceTypeEntity;
+import com.example.seatrans.features.logistics.repository.ServiceTypeRepository;
+import com.example.seatrans.features.ports.model.Port;
+import com.example.seatrans.features.ports.repository.PortRepository;
+import com.example.seatrans.features.provinces.model.Province;
+import com.example.seatrans.features.provinces.repository.ProvinceRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory snapshot of ports, provinces and service types.
+ * Readers get an immutable, versioned snapshot without touching the database;
+ * service type names are matched case-insensitively, like the MySQL collation the old findByName ran on.
+ * PortService, ProvinceService and ServiceTypeService call refreshAfterCommit() on every write.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReferenceDataCache {
+
+    private final PortRepository portRepository;
+    private final ProvinceRepository provinceRepository;
+    private final ServiceTypeRepository serviceTypeRepository;
+
+    private final AtomicReference<Snapshot> current = new AtomicReference<>();
+
+    /**
+     * Lightweight immutable view of a service type (entities are never shared across threads)
+     */
+    public record ServiceTypeRef(Long id, String name, String displayName, Boolean isActive) {
+        static ServiceTypeRef of(ServiceTypeEntity entity) {
+            return new ServiceTypeRef(entity.getId(), entity.getName(), entity.getDisplayName(), entity.getIsActive());
+        }
+    }
+
+    public record Snapshot(
+            long version,
+            LocalDateTime loadedAt,
+            Map<Long, String> portNames,
+            Map<Long, String> provinceNames,
+            Map<Long, ServiceTypeRef> serviceTypesById,
+            Map<String, ServiceTypeRef> serviceTypesByName) {
+
+        /**
+         * Service type by name, ignoring case
+         */
+        public ServiceTypeRef serviceTypeByName(String name) {
+            return name == null ? null : serviceTypesByName.get(normalizeName(name));
+        }
+    }
+
+    public Snapshot snapshot() {
+        Snapshot snapshot = current.get();
+        return snapshot != null ? snapshot : refresh();
+    }
+
+    public Optional<String> portName(Long id) {
+        return id == null ? Optional.empty() : Optional.ofNullable(snapshot().portNames().get(id));
+    }
+
+    public Optional<String> provinceName(Long id) {
+        return id == null ? Optional.empty() : Optional.ofNullable(snapshot().provinceNames().get(id));
+    }
+
+    public Optional<ServiceTypeRef> serviceType(Long id) {
+        return id == null ? Optional.empty() : Optional.ofNullable(snapshot().serviceTypesById().get(id));
+    }
+
+    public Optional<ServiceTypeRef> serviceTypeByName(String name) {
+        return Optional.ofNullable(snapshot().serviceTypeByName(name));
+    }
+
+    /**
+     * Reload everything and publish a new snapshot
+     */
+    public synchronized Snapshot refresh() {
+        Snapshot previous = current.get();
+        long version = previous != null ? previous.version() + 1 : 1;
+
+        Map<Long, String> ports = portRepository.findAll().stream()
+            .collect(Collectors.toUnmodifiableMap(Port::getId, Port::getName));
+        Map<Long, String> provinces = provinceRepository.findAll().stream()
+            .collect(Collectors.toUnmodifiableMap(Province::getId, Province::getName));
+        Map<Long, ServiceTypeRef> typesById = serviceTypeRepository.findAll().stream()
+            .map(ServiceTypeRef::of)
+            .collect(Collectors.toUnmodifiableMap(ServiceTypeRef::id, Function.identity()));
+        Map<String, ServiceTypeRef> typesByName = typesById.values().stream()
+            .collect(Collectors.toUnmodifiableMap(type -> normalizeName(type.name()), Function.identity(), (a, b) -> a));
+
+        Snapshot snapshot = new Snapshot(version, LocalDateTime.now(), ports, provinces, typesById, typesByName);
+        current.set(snapshot);
+        log.info("Reference data snapshot v{} loaded: {} ports, {} provinces, {} service types",
+            version, ports.size(), provinces.size(), typesById.size());
+        return snapshot;
+    }
+
+    /**
+     * Refresh once the current transaction commits (immediately when there is none)
+     */
+    public void refreshAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    refresh();
+                }
+            });
+        } else {
+            refresh();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        refresh();
+    }
+
+    private static String normalizeName(String name) {
+        return name.trim().toUpperCase(Locale.ROOT);
+    }
+}
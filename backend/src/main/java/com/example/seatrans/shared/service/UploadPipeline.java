@@ -0,0 +1,223 @@
+package com.example.seatrans.shared.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.EnumSet;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.example.seatrans.shared.exception.FileUploadException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Single-pass upload pipeline.
+ * The multipart stream is read exactly once through a fixed buffer: SHA-256 and MD5 are
+ * computed on the fly, the leading bytes are sniffed to check the real file type, and the
+ * data is written to a spool file that Cloudinary (or local storage) then reads from disk.
+ * Heap use per upload is the buffer, whatever the file size.
+ */
+@Component
+@Slf4j
+public class UploadPipeline {
+
+    private static final int BUFFER_SIZE = 8 * 1024;
+    private static final int SNIFF_LENGTH = 12;
+
+    public static final Set<FileKind> PDF_ONLY = EnumSet.of(FileKind.PDF);
+    /** Image types accepted for site images (FileUploadUtil allows jpg/jpeg/png/webp; GIF is not accepted) */
+    public static final Set<FileKind> IMAGES = EnumSet.of(FileKind.JPEG, FileKind.PNG, FileKind.WEBP);
+    public static final Set<FileKind> IMAGES_AND_PDF = EnumSet.allOf(FileKind.class);
+
+    private final Path spoolDir;
+
+    public UploadPipeline(@Value("${app.upload.spool-dir:${java.io.tmpdir}/seatrans-spool}") String spoolDir) {
+        this.spoolDir = Path.of(spoolDir).resolve("pipeline");
+    }
+
+    /**
+     * File types recognised by their magic bytes
+     */
+    public enum FileKind {
+        PDF("application/pdf", "pdf"),
+        JPEG("image/jpeg", "jpg"),
+        PNG("image/png", "png"),
+        GIF("image/gif", "gif"),
+        WEBP("image/webp", "webp");
+
+        private final String contentType;
+        private final String extension;
+
+        FileKind(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String contentType() {
+            return contentType;
+        }
+
+        public String extension() {
+            return extension;
+        }
+
+        static Optional<FileKind> sniff(byte[] head, int length) {
+            if (startsWith(head, length, '%', 'P', 'D', 'F', '-')) {
+                return Optional.of(PDF);
+            }
+            if (startsWith(head, length, 0xFF, 0xD8, 0xFF)) {
+                return Optional.of(JPEG);
+            }
+            if (startsWith(head, length, 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A)) {
+                return Optional.of(PNG);
+            }
+            if (startsWith(head, length, 'G', 'I', 'F', '8')) {
+                return Optional.of(GIF);
+            }
+            if (length >= 12 && startsWith(head, length, 'R', 'I', 'F', 'F')
+                    && head[8] == 'W' && head[9] == 'E' && head[10] == 'B' && head[11] == 'P') {
+                return Optional.of(WEBP);
+            }
+            return Optional.empty();
+        }
+
+        private static boolean startsWith(byte[] head, int length, int... magic) {
+            if (length < magic.length) {
+                return false;
+            }
+            for (int i = 0; i < magic.length; i++) {
+                if ((head[i] & 0xFF) != magic[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * A validated file on local disk with its digests. Closing it deletes the spool file.
+     *
+     * @param sha256 Base64 SHA-256 (format of InquiryDocument.checksum)
+     * @param md5    hex MD5 (content-addressed file names)
+     */
+    public record SpooledUpload(Path path, long size, FileKind kind, String sha256, String md5,
+                                String originalFilename) implements AutoCloseable {
+        @Override
+        public void close() {
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                log.warn("Could not delete spool file {}: {}", path, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Spool to a temp file in the pipeline directory
+     */
+    public SpooledUpload spool(MultipartFile file, long maxBytes, Set<FileKind> allowed) throws IOException {
+        Files.createDirectories(spoolDir);
+        return spool(file, Files.createTempFile(spoolDir, "upload-", ".part"), maxBytes, allowed);
+    }
+
+    /**
+     * Spool to the given path (deleted again when validation fails)
+     * @throws FileUploadException when the file is empty, too large, or its content is not an allowed type
+     */
+    public SpooledUpload spool(MultipartFile file, Path target, long maxBytes, Set<FileKind> allowed) throws IOException {
+        if (file == null || file.isEmpty()) {
+            throw new FileUploadException("File is empty");
+        }
+        if (file.getSize() > maxBytes) {
+            throw new FileUploadException(tooLarge(maxBytes));
+        }
+
+        MessageDigest sha256 = digest("SHA-256");
+        MessageDigest md5 = digest("MD5");
+        byte[] buffer = new byte[BUFFER_SIZE];
+        byte[] head = new byte[SNIFF_LENGTH];
+        int headLength = 0;
+        long size = 0;
+        boolean ok = false;
+        try (InputStream in = file.getInputStream(); OutputStream out = Files.newOutputStream(target)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                if (headLength < SNIFF_LENGTH) {
+                    int n = Math.min(read, SNIFF_LENGTH - headLength);
+                    System.arraycopy(buffer, 0, head, headLength, n);
+                    headLength += n;
+                }
+                size += read;
+                if (size > maxBytes) {
+                    throw new FileUploadException(tooLarge(maxBytes));
+                }
+                sha256.update(buffer, 0, read);
+                md5.update(buffer, 0, read);
+                out.write(buffer, 0, read);
+            }
+            ok = true;
+        } finally {
+            if (!ok) {
+                Files.deleteIfExists(target);
+            }
+        }
+
+        final int sniffed = headLength;
+        FileKind kind = FileKind.sniff(head, sniffed)
+            .filter(allowed::contains)
+            .orElseThrow(() -> {
+                deleteQuietly(target);
+                return new FileUploadException("File content is not an allowed type ("
+                    + allowed.stream().map(FileKind::extension).collect(Collectors.joining(", ")) + ")");
+            });
+
+        return new SpooledUpload(target, size, kind,
+            Base64.getEncoder().encodeToString(sha256.digest()),
+            HexFormat.of().formatHex(md5.digest()),
+            file.getOriginalFilename());
+    }
+
+    /**
+     * Detect the type of a file already on disk from its leading bytes
+     */
+    public Optional<FileKind> sniff(Path file) throws IOException {
+        byte[] head = new byte[SNIFF_LENGTH];
+        int length = 0;
+        try (InputStream in = Files.newInputStream(file)) {
+            length = in.readNBytes(head, 0, SNIFF_LENGTH);
+        }
+        return FileKind.sniff(head, length);
+    }
+
+    private static String tooLarge(long maxBytes) {
+        return String.format("File size exceeds maximum allowed size of %d MB", maxBytes / (1024 * 1024));
+    }
+
+    private static MessageDigest digest(String algorithm) {
+        try {
+            return MessageDigest.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(algorithm + " not available", e);
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Could not delete spool file {}: {}", path, e.getMessage());
+        }
+    }
+}
@@ -5,16 +5,23 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.HexFormat;
 import java.util.Set;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.example.seatrans.shared.service.UploadPipeline;
+import com.example.seatrans.shared.service.UploadPipeline.SpooledUpload;
+
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -29,6 +36,9 @@ public class FileUploadUtil {
     
     @Value("${app.upload.max-file-size:5242880}") // 5MB default
     private long maxFileSize;
+
+    @Autowired
+    private UploadPipeline uploadPipeline;
     
     private static final Set<String> ALLOWED_EXTENSIONS = new HashSet<>(Arrays.asList("jpg", "jpeg", "png", "webp"));
     private static final Set<String> ALLOWED_MIME_TYPES = new HashSet<>(Arrays.asList(
@@ -72,25 +82,15 @@ public class FileUploadUtil {
     }
     
     /**
-     * Calculate MD5 hash of file content
-     */
-    private String calculateFileHash(byte[] fileBytes) throws NoSuchAlgorithmException {
-        MessageDigest md = MessageDigest.getInstance("MD5");
-        byte[] hashBytes = md.digest(fileBytes);
-        StringBuilder sb = new StringBuilder();
-        for (byte b : hashBytes) {
-            sb.append(String.format("%02x", b));
-        }
-        return sb.toString();
-    }
-    
-    /**
-     * Get hash of uploaded file
+     * Get MD5 hash of uploaded file (streamed, never loaded fully into memory)
      */
     public String getFileHash(MultipartFile file) throws IOException {
-        try {
-            byte[] fileBytes = file.getBytes();
-            return calculateFileHash(fileBytes);
+        try (DigestInputStream in = new DigestInputStream(file.getInputStream(), MessageDigest.getInstance("MD5"))) {
+            byte[] buffer = new byte[8192];
+            while (in.read(buffer) != -1) {
+                // digest is updated while reading
+            }
+            return HexFormat.of().formatHex(in.getMessageDigest().digest());
         } catch (NoSuchAlgorithmException e) {
             throw new IOException("Failed to calculate file hash", e);
         }
@@ -98,33 +98,31 @@ public class FileUploadUtil {
     
     /**
      * Save uploaded file and return relative URL
+     * Single pass via UploadPipeline: MD5 (file name), image magic-byte check and spool, then moved into place
      */
     public String saveFile(MultipartFile file, String serviceType, String imageType) throws IOException {
+        SpooledUpload upload = uploadPipeline.spool(file, maxFileSize, UploadPipeline.IMAGES);
         try {
-            // Calculate hash of file content
-            byte[] fileBytes = file.getBytes();
-            String fileHash = calculateFileHash(fileBytes);
-            
             // Create directory structure
-            String fileName = fileHash + "." + getFileExtension(file.getOriginalFilename());
+            // Extension of the detected content, so the stored name always matches the bytes
+            String fileName = upload.md5() + "." + upload.kind().extension();
             String uploadPath = uploadDir + File.separator + serviceType + File.separator + imageType;
-        
-        Path uploadDirectory = Paths.get(uploadPath);
-        if (!Files.exists(uploadDirectory)) {
-            Files.createDirectories(uploadDirectory);
-        }
-        
-        Path filePath = uploadDirectory.resolve(fileName);
-        Files.write(filePath, fileBytes);
-        
-        log.info("File saved successfully: {}", filePath);
-        
-        // Return relative URL for storage (always use forward slashes for URLs)
-        String relativePath = uploadPath + File.separator + fileName;
-        return relativePath.replace("\\", "/");
-        } catch (NoSuchAlgorithmException e) {
-            log.error("Error calculating file hash", e);
-            throw new IOException("Failed to calculate file hash", e);
+
+            Path uploadDirectory = Paths.get(uploadPath);
+            if (!Files.exists(uploadDirectory)) {
+                Files.createDirectories(uploadDirectory);
+            }
+
+            Path filePath = uploadDirectory.resolve(fileName);
+            Files.move(upload.path(), filePath, StandardCopyOption.REPLACE_EXISTING);
+
+            log.info("File saved successfully: {}", filePath);
+
+            // Return relative URL for storage (always use forward slashes for URLs)
+            String relativePath = uploadPath + File.separator + fileName;
+            return relativePath.replace("\\", "/");
+        } finally {
+            upload.close();
         }
     }
     
@@ -144,14 +142,4 @@ public class FileUploadUtil {
         }
         return false;
     }
-    
-    /**
-     * Get file extension
-     */
-    private String getFileExtension(String filename) {
-        if (filename == null || !filename.contains(".")) {
-            return "jpg";
-        }
-        return filename.substring(filename.lastIndexOf(".") + 1).toLowerCase();
-    }
 }
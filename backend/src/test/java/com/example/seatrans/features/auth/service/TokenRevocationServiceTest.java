@@ -0,0 +1,48 @@
+package com.example.seatrans.features.auth.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import com.example.seatrans.features.auth.model.RevokedToken;
+import com.example.seatrans.features.auth.repository.RevokedTokenRepository;
+import com.example.seatrans.shared.security.TokenClaims;
+import com.example.seatrans.shared.security.VerifiedTokenCache;
+
+class TokenRevocationServiceTest {
+
+	private final RevokedTokenRepository revokedTokenRepository = mock(RevokedTokenRepository.class);
+	private final TokenRevocationService service = new TokenRevocationService(revokedTokenRepository,
+		mock(VerifiedTokenCache.class), 604800000L, 10, 0.001);
+
+	private static TokenClaims legacyRefreshClaims() {
+		Instant now = Instant.now();
+		return new TokenClaims(42L, "user@example.com", "ROLE_CUSTOMER", null, null, null,
+			now, now.plusSeconds(600));
+	}
+
+	@Test
+	void legacyRefreshTokenIsRecordedUnderItsHash() {
+		assertThat(service.rotate(legacyRefreshClaims(), "legacy.refresh.token")).isTrue();
+
+		ArgumentCaptor<RevokedToken> saved = ArgumentCaptor.forClass(RevokedToken.class);
+		verify(revokedTokenRepository).saveAndFlush(saved.capture());
+		assertThat(saved.getValue().getTokenId()).hasSize(64).doesNotContain("legacy");
+		assertThat(saved.getValue().getReason()).isEqualTo(RevokedToken.Reason.ROTATED);
+	}
+
+	@Test
+	void legacyRefreshTokenCannotBeReplayed() {
+		when(revokedTokenRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("duplicate"));
+
+		assertThat(service.rotate(legacyRefreshClaims(), "legacy.refresh.token")).isFalse();
+	}
+}
@@ -0,0 +1,115 @@
+package com.example.seatrans.features.fees.formula;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.seatrans.shared.exception.InvalidFormulaException;
+
+class FormulaCompilerTest {
+
+	private final FormulaCompiler compiler = new FormulaCompiler();
+
+	private BigDecimal eval(String formula, Map<String, BigDecimal> values) {
+		return compiler.compile(formula).evaluate(values);
+	}
+
+	private BigDecimal eval(String formula) {
+		return eval(formula, Map.of());
+	}
+
+	@Test
+	void multiplicationBindsTighterThanAddition() {
+		assertThat(eval("2 + 3 * 4")).isEqualByComparingTo("14");
+		assertThat(eval("(2 + 3) * 4")).isEqualByComparingTo("20");
+		assertThat(eval("10 - 4 / 2")).isEqualByComparingTo("8");
+	}
+
+	@Test
+	void sameLevelOperatorsAssociateLeft() {
+		assertThat(eval("10 - 4 - 3")).isEqualByComparingTo("3");
+		assertThat(eval("24 / 4 / 2")).isEqualByComparingTo("3");
+	}
+
+	@Test
+	void unaryMinusBindsTighterThanMultiplication() {
+		assertThat(eval("-2 * 3")).isEqualByComparingTo("-6");
+		assertThat(eval("2 - -3")).isEqualByComparingTo("5");
+	}
+
+	@Test
+	void comparisonAndLogicBindLooserThanArithmetic() {
+		assertThat(eval("1 + 1 == 2")).isEqualByComparingTo("1");
+		assertThat(eval("2 * 3 > 5 && 1 < 0 || 1")).isEqualByComparingTo("1");
+		assertThat(eval("2 * 3 > 5 && 1 < 0")).isEqualByComparingTo("0");
+	}
+
+	@Test
+	void ternaryUsesVariables() {
+		String formula = "grt > 1000 ? grt * 0.5 : 100";
+		assertThat(eval(formula, Map.of("grt", new BigDecimal("4000")))).isEqualByComparingTo("2000");
+		assertThat(eval(formula, Map.of("grt", new BigDecimal("500")))).isEqualByComparingTo("100");
+	}
+
+	@Test
+	void functionsAreEvaluated() {
+		assertThat(eval("max(dwt, 1000)", Map.of("dwt", new BigDecimal("250")))).isEqualByComparingTo("1000");
+		assertThat(eval("ceil(grt / 1000)", Map.of("grt", new BigDecimal("2500")))).isEqualByComparingTo("3");
+	}
+
+	@Test
+	void unknownVariableIsRejectedAtCompileTime() {
+		assertThatThrownBy(() -> compiler.compile("foo * 2"))
+			.isInstanceOf(InvalidFormulaException.class)
+			.hasMessageContaining("Unknown variable 'foo'");
+	}
+
+	@Test
+	void unknownFunctionIsRejectedAtCompileTime() {
+		assertThatThrownBy(() -> compiler.compile("sqrt(grt)"))
+			.isInstanceOf(InvalidFormulaException.class)
+			.hasMessageContaining("Unknown function 'sqrt'");
+	}
+
+	@Test
+	void syntaxErrorsAreRejected() {
+		assertThatThrownBy(() -> compiler.compile("(grt + 1")).isInstanceOf(InvalidFormulaException.class);
+		assertThatThrownBy(() -> compiler.compile("grt +")).isInstanceOf(InvalidFormulaException.class);
+		assertThatThrownBy(() -> compiler.compile("  ")).isInstanceOf(InvalidFormulaException.class);
+	}
+
+	@Test
+	void constantDivisionByZeroIsRejectedAtCompileTime() {
+		assertThatThrownBy(() -> compiler.compile("100 / 0"))
+			.isInstanceOf(InvalidFormulaException.class)
+			.hasMessageContaining("Arithmetic error");
+	}
+
+	@Test
+	void divisionByZeroInputFailsAtEvaluation() {
+		Formula formula = compiler.compile("dwt / grt");
+		assertThatThrownBy(() -> formula.evaluate(Map.of("dwt", BigDecimal.TEN, "grt", BigDecimal.ZERO)))
+			.isInstanceOf(ArithmeticException.class);
+	}
+
+	@Test
+	void missingInputIsReportedByName() {
+		Formula formula = compiler.compile("grt * 0.1");
+		assertThat(formula.variables()).containsExactly("grt");
+		assertThatThrownBy(() -> formula.evaluate(Map.of()))
+			.isInstanceOf(MissingVariableException.class)
+			.extracting(e -> ((MissingVariableException) e).getVariable())
+			.isEqualTo("grt");
+	}
+
+	@Test
+	void compiledFormulasAreCachedButInvalidOnesAreNot() {
+		assertThat(compiler.compile("grt * 2")).isSameAs(compiler.compile(" grt * 2 "));
+		assertThatThrownBy(() -> compiler.compile("bogus")).isInstanceOf(InvalidFormulaException.class);
+		assertThat(compiler.cacheSize()).isEqualTo(1);
+	}
+}
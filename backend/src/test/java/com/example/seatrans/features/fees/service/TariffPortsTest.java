@@ -0,0 +1,38 @@
+package com.example.seatrans.features.fees.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class TariffPortsTest {
+
+	private final Set<String> ports = Set.of(TariffPorts.HO_CHI_MINH, TariffPorts.QUY_NHON);
+
+	@Test
+	void normalizeStripsDiacriticsAndSeparators() {
+		assertThat(TariffPorts.normalize("  Quy Nhơn ")).isEqualTo("QUY NHON");
+		assertThat(TariffPorts.normalize("Hồ Chí Minh")).isEqualTo("HO CHI MINH");
+		assertThat(TariffPorts.normalize("Đà Nẵng")).isEqualTo("DA NANG");
+		assertThat(TariffPorts.normalize("TP.HCM")).isEqualTo("TP HCM");
+		assertThat(TariffPorts.normalize(" ")).isNull();
+	}
+
+	@Test
+	void resolvesPortNamesAndAliases() {
+		assertThat(TariffPorts.resolve("Cảng Quy Nhơn", ports)).isEqualTo(TariffPorts.QUY_NHON);
+		assertThat(TariffPorts.resolve("Qui Nhon", ports)).isEqualTo(TariffPorts.QUY_NHON);
+		assertThat(TariffPorts.resolve("HCM", ports)).isEqualTo(TariffPorts.HO_CHI_MINH);
+		assertThat(TariffPorts.resolve("Cat Lai, Saigon", ports)).isEqualTo(TariffPorts.HO_CHI_MINH);
+	}
+
+	@Test
+	void portWithoutTariffIsNotResolved() {
+		assertThat(TariffPorts.resolve("Hai Phong", ports)).isNull();
+		assertThat(TariffPorts.resolve(null, ports)).isNull();
+		assertThat(TariffPorts.resolve("HCM", Set.of(TariffPorts.QUY_NHON))).isNull();
+		// Whole words only
+		assertThat(TariffPorts.resolve("QUY NHONG", ports)).isNull();
+	}
+}
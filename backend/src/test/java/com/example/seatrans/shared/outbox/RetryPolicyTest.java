@@ -0,0 +1,30 @@
+package com.example.seatrans.shared.outbox;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+
+class RetryPolicyTest {
+
+	private final RetryPolicy policy = new RetryPolicy(Duration.ofMinutes(1), Duration.ofMinutes(10), 5);
+
+	@Test
+	void backoffDoublesUpToTheCap() {
+		assertThat(policy.backoff(1)).isEqualTo(Duration.ofMinutes(1));
+		assertThat(policy.backoff(2)).isEqualTo(Duration.ofMinutes(2));
+		assertThat(policy.backoff(4)).isEqualTo(Duration.ofMinutes(8));
+		assertThat(policy.backoff(5)).isEqualTo(Duration.ofMinutes(10));
+		assertThat(policy.backoff(60)).isEqualTo(Duration.ofMinutes(10));
+	}
+
+	@Test
+	void rowIsParkedOnceAttemptsAreExhausted() {
+		assertThat(policy.nextAttemptAt(4)).isAfter(LocalDateTime.now().plusMinutes(7));
+		assertThat(policy.exhausted(4)).isFalse();
+		assertThat(policy.nextAttemptAt(5)).isNull();
+		assertThat(policy.exhausted(5)).isTrue();
+	}
+}
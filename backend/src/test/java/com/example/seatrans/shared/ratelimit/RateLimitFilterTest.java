@@ -0,0 +1,45 @@
+package com.example.seatrans.shared.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class RateLimitFilterTest {
+
+	// Auth group: one request, no refill within the test
+	private final RateLimitFilter filter = new RateLimitFilter(new InMemoryRateLimitBackend(100), true, "",
+		List.of(), 1, 1, 3600, 30, 10, 60);
+
+	private int post(String contextPath, String requestUri) throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", requestUri);
+		request.setContextPath(contextPath);
+		request.setRemoteAddr("203.0.113.7");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(request, response, new MockFilterChain());
+		return response.getStatus();
+	}
+
+	@Test
+	void secondLoginIsRejected() throws Exception {
+		assertThat(post("", "/api/v1/auth/login")).isEqualTo(200);
+		assertThat(post("", "/api/v1/auth/login")).isEqualTo(429);
+	}
+
+	@Test
+	void encodedPathSharesTheBucket() throws Exception {
+		assertThat(post("", "/api/v1/auth/login")).isEqualTo(200);
+		assertThat(post("", "/api/v1/auth/%6cogin")).isEqualTo(429);
+		assertThat(post("", "/api/v1/auth/login;jsessionid=x")).isEqualTo(429);
+	}
+
+	@Test
+	void pathIsMatchedWithinTheContextPath() throws Exception {
+		assertThat(post("/app", "/app/api/v1/auth/login")).isEqualTo(200);
+		assertThat(post("/app", "/app/api/v1/auth/login")).isEqualTo(429);
+	}
+}
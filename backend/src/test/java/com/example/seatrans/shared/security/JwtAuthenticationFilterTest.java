@@ -0,0 +1,80 @@
+package com.example.seatrans.shared.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.example.seatrans.features.auth.service.TokenRevocationService;
+
+class JwtAuthenticationFilterTest {
+
+	private final TokenProvider tokenProvider = mock(TokenProvider.class);
+	private final TokenRevocationService tokenRevocationService = mock(TokenRevocationService.class);
+	private final JwtAuthenticationFilter filter = new JwtAuthenticationFilter(tokenProvider, tokenRevocationService);
+
+	@AfterEach
+	void clearContext() {
+		SecurityContextHolder.clearContext();
+	}
+
+	private static TokenClaims claims(String tokenType) {
+		Instant now = Instant.now();
+		return new TokenClaims(42L, "user@example.com", "ROLE_CUSTOMER", "jti-1", "family-1", tokenType,
+			now, now.plusSeconds(600));
+	}
+
+	private MockHttpServletResponse filterWith(TokenClaims claims, MockFilterChain chain) throws Exception {
+		when(tokenProvider.parseAndVerify("token")).thenReturn(Optional.of(claims));
+		when(tokenRevocationService.isRevoked(any())).thenReturn(false);
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/users/me");
+		request.addHeader("Authorization", "Bearer token");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(request, response, chain);
+		return response;
+	}
+
+	@Test
+	void refreshTokenIsRejectedAsBearer() throws Exception {
+		MockFilterChain chain = new MockFilterChain();
+
+		MockHttpServletResponse response = filterWith(claims(TokenClaims.TYPE_REFRESH), chain);
+
+		assertThat(response.getStatus()).isEqualTo(401);
+		assertThat(response.getContentAsString()).contains("Refresh token");
+		assertThat(chain.getRequest()).isNull();
+		assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+	}
+
+	@Test
+	void accessTokenAuthenticatesRequest() throws Exception {
+		MockFilterChain chain = new MockFilterChain();
+
+		MockHttpServletResponse response = filterWith(claims(TokenClaims.TYPE_ACCESS), chain);
+
+		assertThat(response.getStatus()).isEqualTo(200);
+		assertThat(chain.getRequest()).isNotNull();
+		assertThat(chain.getRequest().getAttribute("userId")).isEqualTo(42L);
+		assertThat(SecurityContextHolder.getContext().getAuthentication().getName()).isEqualTo("user@example.com");
+	}
+
+	@Test
+	void legacyTokenWithoutTypeIsTreatedAsAccessToken() throws Exception {
+		MockFilterChain chain = new MockFilterChain();
+
+		MockHttpServletResponse response = filterWith(claims(null), chain);
+
+		assertThat(response.getStatus()).isEqualTo(200);
+		assertThat(chain.getRequest()).isNotNull();
+	}
+}
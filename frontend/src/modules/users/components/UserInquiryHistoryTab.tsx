@@ -301,11 +301,21 @@ export function UserInquiryHistoryTab() {
 
   const formatDate = (value: string) => new Date(value).toLocaleString()
 
-  const handleDeleteInquiries = async (ids: number[]) => {
+  const inquiryKey = (inq: Inquiry) => `${inq.serviceType?.name ?? ''}:${inq.id}`
+
+  const handleDeleteInquiries = async (rows: Inquiry[]) => {
     try {
+      // Send (serviceType, id) pairs built from exactly the selected rows: ids repeat across services
+      const items = rows
+        .filter(inq => inq.serviceType?.name)
+        .map(inq => ({ serviceType: inq.serviceType!.name, id: inq.id }))
+      if (items.length === 0) {
+        return
+      }
+
       // Call API to delete inquiries
       const response = await apiClient.delete(`${API_CONFIG.INQUIRIES.BASE}/batch`, {
-        body: JSON.stringify({ ids }),
+        body: JSON.stringify({ items }),
       })
       
       if (!response.ok) {
@@ -313,7 +323,8 @@ export function UserInquiryHistoryTab() {
       }
       
       // Remove deleted inquiries from state
-      setInquiries(prev => prev.filter(inq => !ids.includes(inq.id)))
+      const deletedKeys = new Set(rows.map(inquiryKey))
+      setInquiries(prev => prev.filter(inq => !deletedKeys.has(inquiryKey(inq))))
       setMessage('Successfully deleted selected inquiries')
       setTimeout(() => setMessage(null), 3000)
     } catch (error) {
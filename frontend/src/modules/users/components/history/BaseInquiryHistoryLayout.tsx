@@ -105,9 +105,10 @@ export function BaseInquiryHistoryLayout({
     setDetailInquiry(inquiry)
   }
 
-  const handleDeleteInquiries = async (ids: number[]) => {
+  const handleDeleteInquiries = async (rows: any[]) => {
     try {
-      await deleteInquiries(ids)
+      // One service per page: ids are unambiguous here
+      await deleteInquiries(rows.map(row => row.id))
     } catch (error) {
       console.error('Error deleting inquiries:', error)
     }
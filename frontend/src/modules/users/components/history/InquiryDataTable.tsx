@@ -55,7 +55,8 @@ export interface InquiryDataTableProps<TData extends { id: number }> {
   data: TData[]
   searchKey?: string
   searchPlaceholder?: string
-  onDelete?: (ids: number[]) => Promise<void>
+  /** Receives the selected rows themselves (ids alone are ambiguous across services) */
+  onDelete?: (rows: TData[]) => Promise<void>
 }
 
 export function InquiryDataTable<TData extends { id: number }>({
@@ -149,8 +150,7 @@ export function InquiryDataTable<TData extends { id: number }>({
     
     setIsDeleting(true)
     try {
-      const ids = selectedRows.map(row => row.original.id)
-      await onDelete(ids)
+      await onDelete(selectedRows.map(row => row.original))
       setRowSelection({})
       setShowDeleteDialog(false)
     } catch (error) {